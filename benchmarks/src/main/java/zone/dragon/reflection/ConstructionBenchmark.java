@@ -0,0 +1,243 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures construction, canonicalization, and inspection of individual types
+ *
+ * @author Bryan Harclerode
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConstructionBenchmark {
+
+    Map<String, List<Integer>[][]> nestedType;
+
+    Map<String, List<Integer>>[][][] nestedArrayType;
+
+    private Type reflectedType;
+
+    private Type genericArrayType;
+
+    private Type nestedGenericArrayType;
+
+    private Class<?> componentClass;
+
+    /**
+     * Component classes that change on every call, as they do when reifying or loading types, so that the JIT can't fold the lookup
+     */
+    private Class<?>[] componentClasses;
+
+    private int componentIndex;
+
+    private Type wildcardListType;
+
+    private Type stringListType;
+
+    private String typeName;
+
+    /**
+     * Distinct spellings of {@link #typeName}, so that parsing them misses the cache of parsed names
+     */
+    private String[] uncachedTypeNames;
+
+    private int uncachedIndex;
+
+    private Type renderedType;
+
+    private StringBuilder typeNameBuffer;
+
+    private Type constructedType;
+
+    private ConcurrentTypeMap<Boolean> typeMap;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        reflectedType = ConstructionBenchmark.class.getDeclaredField("nestedType").getGenericType();
+        genericArrayType = ((ParameterizedType) reflectedType).getActualTypeArguments()[1];
+        nestedGenericArrayType = ConstructionBenchmark.class.getDeclaredField("nestedArrayType").getGenericType();
+        componentClass = String[][].class;
+        componentClasses = new Class<?>[]{
+            String.class, Integer.class, int.class, List.class, Map.class, Object[].class, Number.class, double.class
+        };
+        wildcardListType = Types.parameterized(null, List.class, Types.anyExtends(CharSequence.class));
+        stringListType = Types.parameterized(null, ArrayList.class, String.class);
+        typeName = "java.util.Map<java.lang.String, java.util.List<? extends java.lang.Number>>";
+        uncachedTypeNames = new String[8192];
+        for (int i = 0; i < uncachedTypeNames.length; i++) {
+            uncachedTypeNames[i] = typeName.replace(",", "," + spaces(i % 64)) + spaces(i / 64);
+        }
+        renderedType = Types.canonicalize(nestedGenericArrayType);
+        typeNameBuffer = new StringBuilder(256);
+        constructedType = Types.parameterized(null, Map.class, String.class, Types.arrayOf(Types.arrayOf(Types.parameterized(
+            null,
+            List.class,
+            Integer.class
+        ))));
+        typeMap = new ConcurrentTypeMap<>();
+        typeMap.put(constructedType, true);
+    }
+
+    private static String spaces(int count) {
+        StringBuilder spaces = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            spaces.append(' ');
+        }
+        return spaces.toString();
+    }
+
+    @Benchmark
+    public ParameterizedType parameterized() {
+        return Types.parameterized(null, Map.class, String.class, Integer.class);
+    }
+
+    @Benchmark
+    public WildcardType anyExtends() {
+        return Types.anyExtends(Number.class);
+    }
+
+    @Benchmark
+    public WildcardType anySuper() {
+        return Types.anySuper(Integer.class);
+    }
+
+    @Benchmark
+    public Type arrayOfClass() {
+        return Types.arrayOf(String.class);
+    }
+
+    @Benchmark
+    public Type arrayOfPrimitive() {
+        return Types.arrayOf(double.class);
+    }
+
+    @Benchmark
+    public Type arrayOfGenericType() {
+        return Types.arrayOf(reflectedType);
+    }
+
+    @Benchmark
+    public Type arrayOfArrayClass() {
+        return Types.arrayOf(componentClass);
+    }
+
+    @Benchmark
+    public Type arrayOfComputedClass() {
+        return Types.arrayOf(componentClasses[componentIndex++ & (componentClasses.length - 1)]);
+    }
+
+    @Benchmark
+    public Class<?> rawTypeOfClass() {
+        return Types.rawType(componentClass);
+    }
+
+    @Benchmark
+    public Class<?> rawTypeOfGenericArray() {
+        return Types.rawType(genericArrayType);
+    }
+
+    @Benchmark
+    public Class<?> rawTypeOfNestedGenericArray() {
+        return Types.rawType(nestedGenericArrayType);
+    }
+
+    @Benchmark
+    public Type canonicalize() {
+        return Types.canonicalize(reflectedType);
+    }
+
+    @Benchmark
+    public boolean isAssignableFrom() {
+        return Types.isAssignableFrom(Map.class, reflectedType);
+    }
+
+    @Benchmark
+    public boolean isAssignableFromParameterized() {
+        return Types.isAssignableFrom(wildcardListType, stringListType);
+    }
+
+    @Benchmark
+    public Type parse() {
+        return Types.parse(typeName);
+    }
+
+    @Benchmark
+    public Type parseUncached() {
+        uncachedIndex = (uncachedIndex + 1) & (uncachedTypeNames.length - 1);
+        return Types.parse(uncachedTypeNames[uncachedIndex]);
+    }
+
+    @Benchmark
+    public Type parseByHand() {
+        return Types.parameterized(null, Map.class, String.class, Types.parameterized(null, List.class, Types.anyExtends(Number.class)));
+    }
+
+    @Benchmark
+    public StringBuilder appendTypeName() {
+        typeNameBuffer.setLength(0);
+        return Types.appendTypeName(renderedType, typeNameBuffer);
+    }
+
+    @Benchmark
+    public String reflectedTypeName() {
+        return nestedGenericArrayType.getTypeName();
+    }
+
+    @Benchmark
+    public String typeNameToString() {
+        return Types.appendTypeName(renderedType, new StringBuilder()).toString();
+    }
+
+    @Benchmark
+    public boolean typesEquals() {
+        return Types.equals(constructedType, reflectedType);
+    }
+
+    @Benchmark
+    public int typesHashCode() {
+        return Types.hashCode(reflectedType);
+    }
+
+    @Benchmark
+    public Boolean typeMapGetReflected() {
+        return typeMap.get(reflectedType);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.io.File;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares finding the most specific handler type with a {@link TypeDispatchTable} against scanning every handler type
+ *
+ * @author Bryan Harclerode
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DispatchBenchmark {
+
+    private static final Class<?>[] HANDLED_CLASSES = {
+        String.class, Integer.class, Long.class, Double.class, Float.class, Short.class, Byte.class, Character.class, Boolean.class,
+        BigInteger.class, BigDecimal.class, Instant.class, Duration.class, UUID.class,
+        File.class, Date.class
+    };
+
+    private Type[] handlerTypes;
+
+    private TypeDispatchTable<Type> table;
+
+    private Class<?> payloadClass;
+
+    @Setup
+    public void setup() {
+        handlerTypes = new Type[HANDLED_CLASSES.length * 2 + 1];
+        for (int i = 0; i < HANDLED_CLASSES.length; i++) {
+            handlerTypes[i * 2] = Types.parameterized(null, Comparable.class, HANDLED_CLASSES[i]);
+            handlerTypes[i * 2 + 1] = Types.parameterized(null, Comparable.class, Types.anySuper(HANDLED_CLASSES[i]));
+        }
+        handlerTypes[handlerTypes.length - 1] = Object.class;
+        table = new TypeDispatchTable<>();
+        for (Type handlerType : handlerTypes) {
+            table.register(handlerType, handlerType);
+        }
+        payloadClass = Date.class;
+    }
+
+    @Benchmark
+    public Type lookup() {
+        return table.lookup(payloadClass);
+    }
+
+    @Benchmark
+    public Type linearScan() {
+        Type bestMatch = null;
+        for (Type handlerType : handlerTypes) {
+            if (Types.isAssignableFrom(handlerType, payloadClass) && (bestMatch == null || Types.isAssignableFrom(bestMatch, handlerType))) {
+                bestMatch = handlerType;
+            }
+        }
+        return bestMatch;
+    }
+}
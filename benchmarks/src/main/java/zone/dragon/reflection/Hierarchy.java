@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+
+/**
+ * Class hierarchies used as benchmark fixtures; Each hierarchy has a leaf class that binds the type variables of a generic root, and a
+ * member type declared by the root in terms of its own type variables.
+ *
+ * @author Bryan Harclerode
+ */
+@Getter
+public enum Hierarchy {
+    /**
+     * A chain of ten generic classes, each passing its type variable up to its superclass
+     */
+    DEEP_CHAIN(DeepLeaf.class, field(Level0.class, "value"), Level0.class),
+    /**
+     * Eight generic interfaces that each reach the same root interface through two intermediate interfaces
+     */
+    WIDE_DIAMOND(DiamondLeaf.class, returnType(Node.class, "value"), Node.class),
+    /**
+     * A single generic superclass with a member type that nests type variables several levels deep
+     */
+    NESTED_GENERICS(NestedLeaf.class, field(NestedBase.class, "value"), NestedBase.class);
+
+    /**
+     * Leaf class that binds all type variables of the hierarchy
+     */
+    private final Class<?> contextClass;
+
+    /**
+     * Type of a member declared by {@link #getRootClass()}, in terms of its type variables
+     */
+    private final Type memberType;
+
+    /**
+     * Generic root of the hierarchy
+     */
+    private final Class<?> rootClass;
+
+    Hierarchy(Class<?> contextClass, Type memberType, Class<?> rootClass) {
+        this.contextClass = contextClass;
+        this.memberType = memberType;
+        this.rootClass = rootClass;
+    }
+
+    @SneakyThrows
+    private static Type field(Class<?> declaringClass, String name) {
+        return declaringClass.getDeclaredField(name).getGenericType();
+    }
+
+    @SneakyThrows
+    private static Type returnType(Class<?> declaringClass, String name) {
+        return declaringClass.getDeclaredMethod(name).getGenericReturnType();
+    }
+
+    static class Level0<T> {
+        Map<T, List<T>> value;
+    }
+
+    static class Level1<T> extends Level0<T> {}
+
+    static class Level2<T> extends Level1<T> {}
+
+    static class Level3<T> extends Level2<T> {}
+
+    static class Level4<T> extends Level3<T> {}
+
+    static class Level5<T> extends Level4<T> {}
+
+    static class Level6<T> extends Level5<T> {}
+
+    static class Level7<T> extends Level6<T> {}
+
+    static class Level8<T> extends Level7<T> {}
+
+    static class Level9<T> extends Level8<T> {}
+
+    static class DeepLeaf extends Level9<String> {}
+
+    interface Node<T> {
+        default Map<T, List<T>> value() {
+            return null;
+        }
+    }
+
+    interface Left<T> extends Node<T> {}
+
+    interface Right<T> extends Node<T> {}
+
+    interface Branch0<T> extends Left<T>, Right<T> {}
+
+    interface Branch1<T> extends Left<T>, Right<T> {}
+
+    interface Branch2<T> extends Left<T>, Right<T> {}
+
+    interface Branch3<T> extends Left<T>, Right<T> {}
+
+    interface Branch4<T> extends Left<T>, Right<T> {}
+
+    interface Branch5<T> extends Left<T>, Right<T> {}
+
+    interface Branch6<T> extends Left<T>, Right<T> {}
+
+    interface Branch7<T> extends Left<T>, Right<T> {}
+
+    static class DiamondLeaf
+        implements Branch0<String>, Branch1<String>, Branch2<String>, Branch3<String>, Branch4<String>, Branch5<String>, Branch6<String>,
+        Branch7<String> {}
+
+    static class NestedBase<K, V> {
+        Map<String, List<Map<K, V[]>>> value;
+    }
+
+    static class NestedLeaf extends NestedBase<Integer, Long> {}
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Map;
+
+/**
+ * Recursive implementations of {@link Types#rawType(Type)}, {@link Types#reifyType(Type, Map)}, and {@link Types#isReified(Type)} as they
+ * were before they were moved onto {@link TypeVisitor visitors}, kept as a baseline for {@link VisitorBenchmark}
+ *
+ * @author Bryan Harclerode
+ */
+final class RecursiveTypes {
+
+    private RecursiveTypes() {}
+
+    static Class<?> rawType(Type type) {
+        if (type == null) {
+            return Object.class;
+        }
+        switch (TypeKind.of(type)) {
+            case CLASS:
+                return (Class) type;
+            case PARAMETERIZED:
+                return rawType(((ParameterizedType) type).getRawType());
+            case WILDCARD:
+                return rawType(firstBound(((WildcardType) type).getUpperBounds()));
+            case GENERIC_ARRAY:
+                return Types.arrayClass(rawType(((GenericArrayType) type).getGenericComponentType()));
+            case TYPE_VARIABLE:
+                return rawType(firstBound(((TypeVariable) type).getBounds()));
+            default:
+                return Object.class;
+        }
+    }
+
+    private static Type firstBound(Type[] bounds) {
+        return bounds == null || bounds.length == 0 ? null : bounds[0];
+    }
+
+    static Type reifyType(Type type, Map<? extends TypeVariable<?>, Type> typeVariables, ExpandingVariable expandingVariables) {
+        if (isReified(type)) {
+            return type;
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type[] boundTypes = parameterizedType.getActualTypeArguments();
+            Type[] newBoundTypes = boundTypes;
+            for (int i = 0; i < boundTypes.length; i++) {
+                Type newBoundType = reifyType(boundTypes[i], typeVariables, expandingVariables);
+                if (newBoundType != boundTypes[i]) {
+                    if (newBoundTypes == boundTypes) {
+                        newBoundTypes = boundTypes.clone();
+                    }
+                    newBoundTypes[i] = newBoundType;
+                }
+            }
+            return Types.parameterized(
+                reifyType(parameterizedType.getOwnerType(), typeVariables, expandingVariables),
+                reifyType(parameterizedType.getRawType(), typeVariables, expandingVariables),
+                newBoundTypes
+            );
+        } else if (type instanceof TypeVariable) {
+            for (ExpandingVariable expanding = expandingVariables; expanding != null; expanding = expanding.next) {
+                if (expanding.variable.equals(type)) {
+                    return rawType(((TypeVariable) type).getBounds()[0]);
+                }
+            }
+            Type resolvedType = typeVariables.get(type);
+            if (resolvedType == null) {
+                resolvedType = ((TypeVariable) type).getBounds()[0];
+            }
+            if (isReified(resolvedType)) {
+                return resolvedType;
+            }
+            return reifyType(resolvedType, typeVariables, new ExpandingVariable(type, expandingVariables));
+        } else if (type instanceof GenericArrayType) {
+            Type componentType = ((GenericArrayType) type).getGenericComponentType();
+            return Types.arrayOf(reifyType(componentType, typeVariables, expandingVariables));
+        } else if (type instanceof WildcardType) {
+            Type[] upperBounds = ((WildcardType) type).getUpperBounds();
+            if (upperBounds != null && upperBounds.length > 0) {
+                return reifyType(upperBounds[0], typeVariables, expandingVariables);
+            } else {
+                return Object.class;
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Checks if a type is reified without consulting the results cached by the library's own type implementations
+     */
+    static boolean isReified(Type type) {
+        if (type instanceof Class) {
+            return true;
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            if (!isReified(parameterizedType.getOwnerType()) || !isReified(parameterizedType.getRawType())) {
+                return false;
+            }
+            for (Type typeArgument : parameterizedType.getActualTypeArguments()) {
+                if (!isReified(typeArgument)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (type instanceof GenericArrayType) {
+            Type componentType = ((GenericArrayType) type).getGenericComponentType();
+            return !(componentType instanceof Class) && isReified(componentType);
+        }
+        return !(type instanceof TypeVariable) && !(type instanceof WildcardType);
+    }
+
+    /**
+     * Entry in the stack of type variables whose bindings or bounds are being reified
+     */
+    static final class ExpandingVariable {
+        private final Type variable;
+
+        private final ExpandingVariable next;
+
+        ExpandingVariable(Type variable, ExpandingVariable next) {
+            this.variable = variable;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures type variable resolution and reification over each of the benchmark {@link Hierarchy hierarchies}
+ *
+ * @author Bryan Harclerode
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResolutionBenchmark {
+
+    @Param
+    private Hierarchy hierarchy;
+
+    private Class<?> contextClass;
+
+    private Class<?> rootClass;
+
+    private Type memberType;
+
+    private ParameterizedType parameterizedRoot;
+
+    private Map<TypeVariable<? extends Class<?>>, Type> typeVariables;
+
+    private Map<TypeVariable<? extends Class<?>>, Type> unmemoizedTypeVariables;
+
+    private TypeResolver typeResolver;
+
+    @Setup
+    public void setup() {
+        contextClass = hierarchy.getContextClass();
+        rootClass = hierarchy.getRootClass();
+        memberType = hierarchy.getMemberType();
+        typeVariables = Types.resolveTypeVariables(contextClass);
+        unmemoizedTypeVariables = new HashMap<>(typeVariables);
+        typeResolver = new TypeResolver(contextClass);
+        Type[] typeArguments = new Type[rootClass.getTypeParameters().length];
+        for (int i = 0; i < typeArguments.length; i++) {
+            typeArguments[i] = String.class;
+        }
+        parameterizedRoot = Types.parameterized(rootClass.getDeclaringClass(), rootClass, typeArguments);
+    }
+
+    @Benchmark
+    public Map<TypeVariable<? extends Class<?>>, Type> resolveTypeVariables() {
+        return Types.resolveTypeVariables(contextClass);
+    }
+
+    @Benchmark
+    public Map<TypeVariable<? extends Class<?>>, Type> resolveTypeVariablesOfParameterizedType() {
+        return Types.resolveTypeVariables(parameterizedRoot);
+    }
+
+    @Benchmark
+    public Type resolveTypeVariable() {
+        return Types.resolveTypeVariable(contextClass, rootClass, 0);
+    }
+
+    @Benchmark
+    public Type reifyType() {
+        return Types.reifyType(memberType, typeVariables);
+    }
+
+    @Benchmark
+    public Type reifyTypeWithoutMemo() {
+        return Types.reifyType(memberType, unmemoizedTypeVariables);
+    }
+
+    @Benchmark
+    public Type resolveReifiedType() {
+        return Types.resolveReifiedType(contextClass, memberType, Map.class, 1);
+    }
+
+    @Benchmark
+    public Type[] resolveReifiedTypeTwice() {
+        return new Type[]{
+            Types.resolveReifiedType(contextClass, memberType, Map.class, 0),
+            Types.resolveReifiedType(contextClass, memberType, Map.class, 1)
+        };
+    }
+
+    @Benchmark
+    public Type[] resolveReifiedTypeArguments() {
+        return Types.resolveReifiedTypeArguments(contextClass, memberType, Map.class);
+    }
+
+    @Benchmark
+    public Type typeResolverResolve() {
+        return typeResolver.resolve(memberType, Map.class, 1);
+    }
+
+    @Benchmark
+    public Class<?> rawType() {
+        return Types.rawType(memberType);
+    }
+
+    @Benchmark
+    public Type resolveReifiedTypeWithMetrics(MetricsInstalled metrics) {
+        return Types.resolveReifiedType(contextClass, memberType, Map.class, 1);
+    }
+
+    @Benchmark
+    public Class<?> rawTypeWithMetrics(MetricsInstalled metrics) {
+        return Types.rawType(memberType);
+    }
+
+    /**
+     * Installs {@link InMemoryTypeMetrics} for the benchmarks that measure the cost of recording metrics
+     */
+    @State(Scope.Benchmark)
+    public static class MetricsInstalled {
+        @Setup
+        public void install() {
+            Types.setMetrics(new InMemoryTypeMetrics());
+        }
+
+        @TearDown
+        public void uninstall() {
+            Types.setMetrics(TypeMetrics.NONE);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the uncached hierarchy walks that build a {@link SupertypeIndex}, which is what every class pays on its first resolution, and
+ * that back {@link Types#supertypes(Type)}; These are compared against decoding the same index from a {@link TypeSnapshot}.
+ *
+ * @author Bryan Harclerode
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SupertypeIndexBenchmark {
+
+    @Param
+    private Hierarchy hierarchy;
+
+    private TypeSnapshot snapshot;
+
+    @Setup
+    public void setup() throws IOException {
+        Path file = Files.createTempFile("hierarchy", ".snapshot");
+        try {
+            TypeSnapshot.write(Collections.singletonList(hierarchy.getContextClass()), file);
+            snapshot = TypeSnapshot.load(file, hierarchy.getContextClass().getClassLoader());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Benchmark
+    public SupertypeIndex build() {
+        return SupertypeIndex.build(hierarchy.getContextClass());
+    }
+
+    @Benchmark
+    public SupertypeIndex decodeSnapshot() {
+        return snapshot.decode(hierarchy.getContextClass());
+    }
+
+    @Benchmark
+    public Optional<Type> findFirstGenericSupertype() {
+        return Types.supertypes(hierarchy.getContextClass()).filter(ParameterizedType.class::isInstance).findFirst();
+    }
+
+    @Benchmark
+    public Optional<Type> findRootSupertype() {
+        Class<?> rootClass = hierarchy.getRootClass();
+        return Types.supertypes(hierarchy.getContextClass()).filter(supertype -> Types.rawType(supertype) == rootClass).findFirst();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@code hashCode()}, {@code toString()}, and hash map lookups of the library's {@link Type} implementations, which cache their
+ * hash codes and names, against the JDK's reflected implementations, which recompute them on every call.
+ *
+ * @author Bryan Harclerode
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TypeImplBenchmark {
+
+    Map<String, List<Map<Integer, Long[]>>> nestedType;
+
+    private Type reflectedType;
+
+    private Type libraryType;
+
+    private Map<Type, String> reflectedKeys;
+
+    private Map<Type, String> libraryKeys;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        reflectedType = TypeImplBenchmark.class.getDeclaredField("nestedType").getGenericType();
+        libraryType = Types.canonicalize(reflectedType);
+        reflectedKeys = new HashMap<>();
+        reflectedKeys.put(reflectedType, "reflected");
+        libraryKeys = new HashMap<>();
+        libraryKeys.put(libraryType, "library");
+    }
+
+    @Benchmark
+    public int reflectedHashCode() {
+        return reflectedType.hashCode();
+    }
+
+    @Benchmark
+    public int libraryHashCode() {
+        return libraryType.hashCode();
+    }
+
+    @Benchmark
+    public String reflectedToString() {
+        return reflectedType.toString();
+    }
+
+    @Benchmark
+    public String libraryToString() {
+        return libraryType.toString();
+    }
+
+    @Benchmark
+    public String reflectedMapLookup() {
+        return reflectedKeys.get(reflectedType);
+    }
+
+    @Benchmark
+    public String libraryMapLookup() {
+        return libraryKeys.get(libraryType);
+    }
+}
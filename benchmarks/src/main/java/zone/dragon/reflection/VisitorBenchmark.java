@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link Types#rawType(Type)}, {@link Types#reifyType(Type, Map)}, and {@link Types#isReified(Type)}, which walk types with a
+ * {@link TypeVisitor}, against the {@link RecursiveTypes recursive implementations} they replaced; Reification is measured against a
+ * plain map, so that every call reifies the type instead of being served from a memo.
+ *
+ * @author Bryan Harclerode
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VisitorBenchmark {
+
+    @Param
+    private Hierarchy hierarchy;
+
+    private Type memberType;
+
+    private Map<TypeVariable<? extends Class<?>>, Type> typeVariables;
+
+    @Setup
+    public void setup() {
+        memberType = hierarchy.getMemberType();
+        typeVariables = new HashMap<>(Types.resolveTypeVariables(hierarchy.getContextClass()));
+    }
+
+    @Benchmark
+    public Class<?> rawType() {
+        return Types.rawType(memberType);
+    }
+
+    @Benchmark
+    public Class<?> recursiveRawType() {
+        return RecursiveTypes.rawType(memberType);
+    }
+
+    @Benchmark
+    public Type reifyType() {
+        return Types.reifyType(memberType, typeVariables);
+    }
+
+    @Benchmark
+    public Type recursiveReifyType() {
+        return RecursiveTypes.reifyType(memberType, typeVariables, null);
+    }
+
+    @Benchmark
+    public boolean isReified() {
+        return Types.isReified(memberType);
+    }
+
+    @Benchmark
+    public boolean recursiveIsReified() {
+        return RecursiveTypes.isReified(memberType);
+    }
+}
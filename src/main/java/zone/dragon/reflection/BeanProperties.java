@@ -0,0 +1,321 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The properties of a class or parameterized type, discovered from its getters, setters, and fields, with each property's type reified in
+ * the context of the type; This replaces {@code java.beans.Introspector}, which ignores generics, with a model that is built on {@link
+ * MemberAccessors} and therefore reads and writes properties through method handles.
+ * <p>
+ * A getter is a method named {@code getName} with no parameters that does not return {@code void}, or a method named {@code isName} that
+ * returns {@code boolean}; A setter is a {@code void} method named {@code setName} with one parameter, and if the property also has a
+ * getter, the erased type of that parameter must be assignable from the erased type returned by the getter, so that a getter overridden
+ * with a covariant return type keeps the setter it inherits; When several setters match, the one with the most specific parameter type is
+ * used. Without a getter, overloaded setters are ambiguous and are ignored, as {@code Introspector} does. Public instance fields that are
+ * not transient are properties in their own right, while any other instance field that is not transient is only used to access a property
+ * of the same name that lacks a getter or setter. Methods declared by {@link Object} are ignored. Property names are derived from method
+ * names the same way as {@code Introspector.decapitalize}.
+ * <p>
+ * The properties of each class are discovered once and cached with the class itself, and the properties of retainable parameterized types
+ * are cached in a bounded cache. Instances are immutable and safe to share between threads.
+ *
+ * @author Bryan Harclerode
+ */
+@Getter
+@ToString(of = "type")
+public final class BeanProperties {
+
+    /**
+     * Maximum number of parameterized types whose properties are cached
+     */
+    private static final int TYPE_CACHE_SIZE = 1024;
+
+    /**
+     * Properties of each class; These are stored with the class itself so that they never prevent a class loader from being unloaded.
+     */
+    private static final ClassValue<BeanProperties> CLASS_PROPERTIES = new ClassValue<BeanProperties>() {
+        @Override
+        protected BeanProperties computeValue(Class<?> type) {
+            return build(type);
+        }
+    };
+
+    /**
+     * Properties of parameterized types; Only types which are {@link Types#isRetainable(Type) retainable} are cached here.
+     */
+    private static final BoundedCache<TypeKey, BeanProperties> TYPE_PROPERTIES = new BoundedCache<>(
+        TypeMetrics.Cache.BEAN_PROPERTIES,
+        TYPE_CACHE_SIZE
+    );
+
+    /**
+     * Class or parameterized type whose properties were discovered
+     */
+    private final Type type;
+
+    /**
+     * Properties of the type, ordered by name
+     */
+    private final List<Property> properties;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Property> propertiesByName;
+
+    private BeanProperties(Type type, List<Property> properties) {
+        this.type = type;
+        this.properties = Collections.unmodifiableList(properties);
+        Map<String, Property> propertiesByName = new HashMap<>();
+        for (Property property : properties) {
+            propertiesByName.put(property.getName(), property);
+        }
+        this.propertiesByName = propertiesByName;
+    }
+
+    /**
+     * Looks up the properties of a class or parameterized type
+     *
+     * @param type
+     *     Class or parameterized type whose properties should be discovered; The types of the properties are reified with the type
+     *     arguments of {@code type} and of its supertypes
+     *
+     * @return The properties of {@code type}
+     *
+     * @throws NullPointerException
+     *     If {@code type} is {@code null}
+     * @throws IllegalArgumentException
+     *     If {@code type} is not a {@link Class} or {@link ParameterizedType}
+     */
+    public static BeanProperties of(@NonNull Type type) {
+        if (type instanceof Class) {
+            return CLASS_PROPERTIES.get((Class<?>) type);
+        } else if (type instanceof ParameterizedType) {
+            if (Types.isRetainable(type)) {
+                return TYPE_PROPERTIES.get(TypeKey.of(type), key -> build(key.getType()));
+            }
+            return build(type);
+        }
+        throw new IllegalArgumentException("Properties of " + type.getTypeName() + " can't be discovered");
+    }
+
+    /**
+     * Finds a property by name
+     *
+     * @param name
+     *     Name of the property
+     *
+     * @return The property named {@code name}, or {@code null} if there is no such property
+     *
+     * @throws NullPointerException
+     *     If {@code name} is {@code null}
+     */
+    public Property property(@NonNull String name) {
+        return propertiesByName.get(name);
+    }
+
+    private static BeanProperties build(Type type) {
+        MemberAccessors accessors = MemberAccessors.of(type);
+        Map<String, MemberAccessors.MethodAccessor> getters = new HashMap<>();
+        Map<String, List<MemberAccessors.MethodAccessor>> setters = new HashMap<>();
+        for (MemberAccessors.MethodAccessor accessor : accessors.getMethods()) {
+            Method method = accessor.getMethod();
+            if (Modifier.isStatic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            String name = method.getName();
+            int parameterCount = method.getParameterCount();
+            if (parameterCount == 0 && name.startsWith("get") && name.length() > 3 && method.getReturnType() != void.class) {
+                getters.putIfAbsent(decapitalize(name.substring(3)), accessor);
+            } else if (parameterCount == 0 && name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class) {
+                getters.put(decapitalize(name.substring(2)), accessor);
+            } else if (parameterCount == 1 && name.startsWith("set") && name.length() > 3 && method.getReturnType() == void.class) {
+                setters.computeIfAbsent(decapitalize(name.substring(3)), key -> new ArrayList<>()).add(accessor);
+            }
+        }
+        Map<String, MemberAccessors.FieldAccessor> fields = new HashMap<>();
+        for (MemberAccessors.FieldAccessor accessor : accessors.getFields()) {
+            if (!Modifier.isTransient(accessor.getField().getModifiers())) {
+                fields.putIfAbsent(accessor.getField().getName(), accessor);
+            }
+        }
+        TreeMap<String, Property> properties = new TreeMap<>();
+        for (Map.Entry<String, MemberAccessors.MethodAccessor> getter : getters.entrySet()) {
+            String name = getter.getKey();
+            MemberAccessors.MethodAccessor setter = matchSetter(setters.get(name), getter.getValue().getMethod().getReturnType());
+            properties.put(name, new Property(name, getter.getValue().getReturnType(), getter.getValue(), setter, fields.get(name)));
+        }
+        for (Map.Entry<String, List<MemberAccessors.MethodAccessor>> setter : setters.entrySet()) {
+            String name = setter.getKey();
+            if (!properties.containsKey(name) && setter.getValue().size() == 1) {
+                MemberAccessors.MethodAccessor accessor = setter.getValue().get(0);
+                properties.put(name, new Property(name, accessor.getParameterTypes()[0], null, accessor, fields.get(name)));
+            }
+        }
+        for (Map.Entry<String, MemberAccessors.FieldAccessor> field : fields.entrySet()) {
+            String name = field.getKey();
+            if (!properties.containsKey(name) && Modifier.isPublic(field.getValue().getField().getModifiers())) {
+                properties.put(name, new Property(name, field.getValue().getType(), null, null, field.getValue()));
+            }
+        }
+        return new BeanProperties(type, new ArrayList<>(properties.values()));
+    }
+
+    private static MemberAccessors.MethodAccessor matchSetter(List<MemberAccessors.MethodAccessor> setters, Class<?> getterType) {
+        MemberAccessors.MethodAccessor match = null;
+        Class<?> matchType = null;
+        if (setters != null) {
+            for (MemberAccessors.MethodAccessor setter : setters) {
+                Class<?> parameterType = setter.getMethod().getParameterTypes()[0];
+                if (parameterType.isAssignableFrom(getterType) && (matchType == null || matchType.isAssignableFrom(parameterType))) {
+                    match = setter;
+                    matchType = parameterType;
+                }
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Derives a property name from the remainder of a method name with the rules of {@code Introspector.decapitalize}, which is not called
+     * so that this library doesn't depend on the {@code java.desktop} module
+     */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * A property that is read with a getter or field, and written with a setter or non-final field
+     */
+    @Getter
+    @ToString(of = {"name", "type"})
+    public static final class Property {
+
+        /**
+         * Name of the property
+         */
+        private final String name;
+
+        /**
+         * Generic type of the property, reified in the context of the type that has the property; This is the type returned by the
+         * getter, or the type of the setter's parameter if there is no getter, or else the type of the field.
+         */
+        private final Type type;
+
+        /**
+         * Getter of the property, or {@code null} if there is none
+         */
+        private final MemberAccessors.MethodAccessor getter;
+
+        /**
+         * Setter of the property, or {@code null} if there is none
+         */
+        private final MemberAccessors.MethodAccessor setter;
+
+        /**
+         * Field with the same name as the property, or {@code null} if there is none
+         */
+        private final MemberAccessors.FieldAccessor field;
+
+        private Property(
+            String name,
+            Type type,
+            MemberAccessors.MethodAccessor getter,
+            MemberAccessors.MethodAccessor setter,
+            MemberAccessors.FieldAccessor field
+        ) {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+            this.field = field;
+        }
+
+        /**
+         * @return {@code true} if the property can be read with {@link #get(Object)}
+         */
+        public boolean isReadable() {
+            return getter != null || field != null;
+        }
+
+        /**
+         * @return {@code true} if the property can be written with {@link #set(Object, Object)}
+         */
+        public boolean isWritable() {
+            return setter != null || field != null && field.isWritable();
+        }
+
+        /**
+         * Reads the property with its getter, or with its field if it has no getter
+         *
+         * @param target
+         *     Instance to read the property of
+         *
+         * @return The value of the property, boxed if it is primitive
+         *
+         * @throws UnsupportedOperationException
+         *     If the property is not readable
+         */
+        public Object get(Object target) {
+            if (getter != null) {
+                return getter.invoke(target);
+            } else if (field != null) {
+                return field.get(target);
+            }
+            throw new UnsupportedOperationException("Property " + name + " is not readable");
+        }
+
+        /**
+         * Writes the property with its setter, or with its field if it has no setter
+         *
+         * @param target
+         *     Instance to write the property of
+         * @param value
+         *     Value to write, boxed if the property is primitive
+         *
+         * @throws UnsupportedOperationException
+         *     If the property is not writable
+         */
+        public void set(Object target, Object value) {
+            if (setter != null) {
+                setter.invoke(target, value);
+            } else if (field != null && field.isWritable()) {
+                field.set(target, value);
+            } else {
+                throw new UnsupportedOperationException("Property " + name + " is not writable");
+            }
+        }
+    }
+}
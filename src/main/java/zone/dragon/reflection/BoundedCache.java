@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import lombok.NonNull;
+
+/**
+ * A concurrent cache that holds at most a fixed number of entries; When the cache is full, an arbitrary entry is evicted to make room for
+ * each new entry. Lookups and evictions are reported to the {@link Types#getMetrics() installed metrics}.
+ *
+ * @param <K>
+ *     Type of the cache keys
+ * @param <V>
+ *     Type of the cached values
+ *
+ * @author Bryan Harclerode
+ */
+final class BoundedCache<K, V> {
+
+    private final TypeMetrics.Cache cache;
+
+    private final int maximumSize;
+
+    private final ConcurrentMap<K, V> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Position of the last eviction; Each eviction resumes from here, instead of rescanning the buckets emptied by earlier evictions.
+     */
+    private Iterator<K> evictionCursor;
+
+    /**
+     * @param cache
+     *     Cache that lookups and evictions are reported as
+     * @param maximumSize
+     *     Maximum number of entries retained by the cache
+     *
+     * @throws IllegalArgumentException
+     *     If {@code maximumSize} is less than 1
+     */
+    BoundedCache(@NonNull TypeMetrics.Cache cache, int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1");
+        }
+        this.cache = cache;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Looks up the value cached for {@code key}, computing and caching it with {@code loader} if it is not present; The loader may be
+     * invoked more than once for the same key by concurrent callers, but only one value will be retained.
+     *
+     * @param key
+     *     Key to look up
+     * @param loader
+     *     Function used to compute the value if it is not cached
+     *
+     * @return The cached value for {@code key}
+     *
+     * @throws NullPointerException
+     *     If {@code key} or {@code loader} is {@code null}, or {@code loader} returns {@code null}
+     */
+    V get(@NonNull K key, @NonNull Function<? super K, ? extends V> loader) {
+        V value = entries.get(key);
+        if (value != null) {
+            Types.getMetrics().recordHit(cache);
+            return value;
+        }
+        Types.getMetrics().recordMiss(cache);
+        value = loader.apply(key);
+        if (value == null) {
+            throw new NullPointerException("loader returned null for " + key);
+        }
+        while (entries.size() >= maximumSize) {
+            evict();
+        }
+        V existing = entries.putIfAbsent(key, value);
+        return existing != null ? existing : value;
+    }
+
+    /**
+     * Looks up the value cached for {@code key}
+     *
+     * @param key
+     *     Key to look up
+     *
+     * @return The cached value for {@code key}, or {@code null} if it is not cached
+     *
+     * @throws NullPointerException
+     *     If {@code key} is {@code null}
+     */
+    V getIfPresent(@NonNull K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            Types.getMetrics().recordHit(cache);
+        } else {
+            Types.getMetrics().recordMiss(cache);
+        }
+        return value;
+    }
+
+    /**
+     * Caches a value, replacing any value that is already cached for {@code key}
+     *
+     * @param key
+     *     Key to cache the value under
+     * @param value
+     *     Value to cache
+     *
+     * @throws NullPointerException
+     *     If {@code key} or {@code value} is {@code null}
+     */
+    void put(@NonNull K key, @NonNull V value) {
+        while (entries.size() >= maximumSize && !entries.containsKey(key)) {
+            evict();
+        }
+        entries.put(key, value);
+    }
+
+    /**
+     * @return The number of entries currently held by the cache
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all entries from the cache
+     */
+    void clear() {
+        entries.clear();
+    }
+
+    private synchronized void evict() {
+        Iterator<K> keys = evictionCursor;
+        if (keys == null || !keys.hasNext()) {
+            keys = entries.keySet().iterator();
+            evictionCursor = keys;
+        }
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            Types.getMetrics().recordEviction(cache);
+        }
+    }
+}
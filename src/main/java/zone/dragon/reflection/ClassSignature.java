@@ -0,0 +1,884 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.MalformedParameterizedTypeException;
+import java.lang.reflect.Member;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The generic declaration of a class, read directly from its class file instead of through reflection; Reading a signature does not load
+ * or initialize the class or any class it refers to, which makes it suitable for answering generic questions about a large number of
+ * classes, such as while scanning a class path.
+ * <p>
+ * Signatures use the same model of {@link ParameterizedType parameterized types}, {@link WildcardType wildcards}, and {@link
+ * GenericArrayType generic arrays} as {@link Types}, except that classes are represented by {@link ClassReference}s, which are only loaded
+ * on request, and type variables only look up their declarations on request. Primitive types and arrays of primitives are represented by
+ * their classes, and member classes of non-generic classes have no owner type, since the class file doesn't name it. {@link #load(Type)}
+ * converts a type from a signature into the equivalent reflected type.
+ *
+ * @author Bryan Harclerode
+ */
+@Getter
+public final class ClassSignature {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_INTERFACE = 0x0200;
+
+    private static final Type[] EMPTY = new Type[0];
+
+    /**
+     * Reads the signature of a class from the class file that its class loader would load it from
+     *
+     * @param className
+     *     Binary name of the class, as returned by {@link Class#getName()}
+     * @param classLoader
+     *     Class loader that defines the class, or {@code null} for the bootstrap class loader
+     *
+     * @return The signature of {@code className}
+     *
+     * @throws IOException
+     *     If the class file could not be found or read
+     * @throws IllegalArgumentException
+     *     If the class file is malformed
+     * @throws NullPointerException
+     *     If {@code className} is {@code null}
+     */
+    public static ClassSignature read(@NonNull String className, ClassLoader classLoader) throws IOException {
+        String resource = className.replace('.', '/') + ".class";
+        try (InputStream in = classLoader != null ? classLoader.getResourceAsStream(resource) : ClassLoader.getSystemResourceAsStream(
+            resource)) {
+            if (in == null) {
+                throw new FileNotFoundException("No class file for " + className);
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(in.available(), 1024));
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                bytes.write(buffer, 0, read);
+            }
+            return read(ByteBuffer.wrap(bytes.toByteArray()), classLoader);
+        }
+    }
+
+    /**
+     * Reads the signature of a class from its class file; Only the constant pool and the class attributes are decoded, and the position of
+     * {@code classFile} is not changed.
+     *
+     * @param classFile
+     *     Contents of the class file, starting at its current position
+     * @param classLoader
+     *     Class loader that {@link ClassReference}s in the signature are loaded from, or {@code null} for the bootstrap class loader
+     *
+     * @return The signature of the class
+     *
+     * @throws IllegalArgumentException
+     *     If {@code classFile} is not a valid class file, or its {@code Signature} attribute is malformed
+     * @throws NullPointerException
+     *     If {@code classFile} is {@code null}
+     */
+    public static ClassSignature read(@NonNull ByteBuffer classFile, ClassLoader classLoader) {
+        try {
+            return new ClassFileReader(classFile.slice(), classLoader).read();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated class file", e);
+        }
+    }
+
+    /**
+     * Converts a type read from a signature into the equivalent reflected type, by loading every {@link ClassReference} and replacing
+     * every type variable with the one declared by its loaded class; Types that don't contain anything read from a signature are returned
+     * as they are.
+     *
+     * @param type
+     *     Type to convert
+     *
+     * @return The reflected equivalent of {@code type}
+     *
+     * @throws TypeNotPresentException
+     *     If a class referred to by {@code type} can't be loaded
+     * @throws MalformedParameterizedTypeException
+     *     If the declaring class of a type variable no longer declares that variable
+     * @throws NullPointerException
+     *     If {@code type} is {@code null}
+     */
+    public static Type load(@NonNull Type type) {
+        if (type instanceof ClassReference) {
+            return ((ClassReference) type).load();
+        } else if (type instanceof SignatureTypeVariable) {
+            return ((SignatureTypeVariable) type).load();
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type ownerType = parameterizedType.getOwnerType();
+            Type rawType = load(parameterizedType.getRawType());
+            // Like core reflection, member classes of non-generic classes are owned by their declaring class
+            if (ownerType == null && rawType instanceof Class) {
+                ownerType = ((Class<?>) rawType).getDeclaringClass();
+            }
+            return Types.parameterized(
+                ownerType != null ? load(ownerType) : null,
+                rawType,
+                load(parameterizedType.getActualTypeArguments())
+            );
+        } else if (type instanceof WildcardType) {
+            WildcardType wildcardType = (WildcardType) type;
+            return Types.wildcard(load(wildcardType.getUpperBounds()), load(wildcardType.getLowerBounds()));
+        } else if (type instanceof GenericArrayType) {
+            return Types.arrayOf(load(((GenericArrayType) type).getGenericComponentType()));
+        }
+        return type;
+    }
+
+    private static Type[] load(Type[] types) {
+        Type[] loaded = new Type[types.length];
+        for (int i = 0; i < types.length; i++) {
+            loaded[i] = load(types[i]);
+        }
+        return loaded;
+    }
+
+    /**
+     * Binary name of the class, as returned by {@link Class#getName()}
+     */
+    private final String name;
+
+    /**
+     * Class loader that {@link ClassReference}s in this signature are loaded from, or {@code null} for the bootstrap class loader
+     */
+    private final ClassLoader classLoader;
+
+    /**
+     * {@code true} if the class is an interface or annotation type
+     */
+    private final boolean isInterface;
+
+    private final TypeVariable<?>[] typeParameters;
+
+    /**
+     * The direct superclass, as returned by {@link Class#getGenericSuperclass()}; {@code null} for interfaces and {@link Object}.
+     */
+    private final Type genericSuperclass;
+
+    private final Type[] genericInterfaces;
+
+    private ClassSignature(
+        String name, ClassLoader classLoader, boolean isInterface, TypeVariable<?>[] typeParameters, Type genericSuperclass,
+        Type[] genericInterfaces
+    ) {
+        this.name = name;
+        this.classLoader = classLoader;
+        this.isInterface = isInterface;
+        this.typeParameters = typeParameters;
+        this.genericSuperclass = genericSuperclass;
+        this.genericInterfaces = genericInterfaces;
+    }
+
+    /**
+     * @return A new array with the type variables declared by the class, as returned by {@link Class#getTypeParameters()}
+     */
+    public TypeVariable<?>[] getTypeParameters() {
+        return typeParameters.clone();
+    }
+
+    /**
+     * @return A new array with the direct superinterfaces of the class, as returned by {@link Class#getGenericInterfaces()}
+     */
+    public Type[] getGenericInterfaces() {
+        return genericInterfaces.clone();
+    }
+
+    /**
+     * Resolves the type arguments of a generic supertype by reading the signatures of the supertypes between this class and {@code
+     * supertypeName}; None of those classes are loaded. This is the class file equivalent of {@link Types#resolveTypeArguments(Type,
+     * Class)}.
+     *
+     * @param supertypeName
+     *     Binary name of the supertype whose type arguments should be resolved
+     *
+     * @return A new array with the type bound to each type variable of {@code supertypeName}, in terms of the {@link #getTypeParameters()
+     * type parameters} of this class; If {@code supertypeName} is this class, then its type parameters are returned, and if it is
+     * extended or implemented as a raw type, then an empty array is returned. If {@code supertypeName} is not a supertype of this class,
+     * then {@code null} is returned.
+     *
+     * @throws IOException
+     *     If the class file of a supertype could not be found or read
+     * @throws IllegalArgumentException
+     *     If the class file of a supertype is malformed
+     * @throws NullPointerException
+     *     If {@code supertypeName} is {@code null}
+     */
+    public Type[] resolveTypeArguments(@NonNull String supertypeName) throws IOException {
+        if (supertypeName.equals(name)) {
+            return typeParameters.clone();
+        }
+        Set<String> visited = new HashSet<>();
+        Queue<Type> pending = new ArrayDeque<>();
+        addSupertypes(pending, this, typeParameters);
+        while (!pending.isEmpty()) {
+            Type supertype = pending.remove();
+            ClassReference rawType = (ClassReference) (supertype instanceof ParameterizedType
+                                                       ? ((ParameterizedType) supertype).getRawType()
+                                                       : supertype);
+            Type[] arguments = supertype instanceof ParameterizedType ? ((ParameterizedType) supertype).getActualTypeArguments() : EMPTY;
+            if (rawType.getName().equals(supertypeName)) {
+                return arguments.clone();
+            } else if (!rawType.getName().equals("java.lang.Object") && visited.add(rawType.getName())) {
+                addSupertypes(pending, rawType.signature(), arguments);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Queues the direct supertypes of a class, with the type variables of the class replaced by its type arguments; If a generic class is
+     * used as a raw type, then its supertypes are erased as well.
+     */
+    private static void addSupertypes(Queue<Type> pending, ClassSignature signature, Type[] arguments) {
+        if (signature.genericSuperclass != null) {
+            pending.add(substitute(signature.genericSuperclass, signature.typeParameters, arguments));
+        }
+        for (Type genericInterface : signature.genericInterfaces) {
+            pending.add(substitute(genericInterface, signature.typeParameters, arguments));
+        }
+    }
+
+    private static Type substitute(Type supertype, TypeVariable<?>[] variables, Type[] arguments) {
+        if (arguments.length != variables.length) {
+            return supertype instanceof ParameterizedType ? ((ParameterizedType) supertype).getRawType() : supertype;
+        }
+        return SupertypeIndex.substitute(supertype, variables, arguments);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder(isInterface ? "interface " : "class ").append(name);
+        if (typeParameters.length > 0) {
+            buf.append('<');
+            for (int i = 0; i < typeParameters.length; i++) {
+                buf.append(i > 0 ? "," : "").append(typeParameters[i].getName());
+            }
+            buf.append('>');
+        }
+        if (genericSuperclass != null) {
+            buf.append(" extends ").append(genericSuperclass.getTypeName());
+        }
+        for (int i = 0; i < genericInterfaces.length; i++) {
+            buf.append(i > 0 ? ", " : isInterface ? " extends " : " implements ").append(genericInterfaces[i].getTypeName());
+        }
+        return buf.toString();
+    }
+
+    /**
+     * A reference to a class by name, which is only loaded when {@link #load()} is called
+     */
+    @Getter
+    public static final class ClassReference implements Type {
+
+        /**
+         * Binary name of the class, as returned by {@link Class#getName()}
+         */
+        private final String name;
+
+        /**
+         * Class loader that the class is loaded from, or {@code null} for the bootstrap class loader
+         */
+        private final ClassLoader classLoader;
+
+        private volatile Class<?> loadedClass;
+
+        ClassReference(String name, ClassLoader classLoader) {
+            this.name = name;
+            this.classLoader = classLoader;
+        }
+
+        /**
+         * Loads the referenced class without initializing it
+         *
+         * @return The referenced class
+         *
+         * @throws TypeNotPresentException
+         *     If the class can't be found
+         */
+        public Class<?> load() {
+            Class<?> loadedClass = this.loadedClass;
+            if (loadedClass == null) {
+                try {
+                    loadedClass = Class.forName(name, false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    throw new TypeNotPresentException(name, e);
+                }
+                this.loadedClass = loadedClass;
+            }
+            return loadedClass;
+        }
+
+        /**
+         * Reads the signature of the referenced class without loading it
+         *
+         * @return The signature of the referenced class
+         *
+         * @throws IOException
+         *     If the class file could not be found or read
+         * @throws IllegalArgumentException
+         *     If the referenced class is an array, or its class file is malformed
+         */
+        public ClassSignature signature() throws IOException {
+            if (name.startsWith("[")) {
+                throw new IllegalArgumentException("Array class " + name + " does not have a class file");
+            }
+            return ClassSignature.read(name, classLoader);
+        }
+
+        @Override
+        public String getTypeName() {
+            if (!name.startsWith("[")) {
+                return name;
+            }
+            // Array classes are named by their descriptor, such as [[Ljava.lang.String;
+            int dimensions = name.lastIndexOf('[') + 1;
+            StringBuilder buf = new StringBuilder(name.substring(dimensions + 1, name.length() - 1));
+            for (int i = 0; i < dimensions; i++) {
+                buf.append("[]");
+            }
+            return buf.toString();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (!(o instanceof ClassReference)) {
+                return false;
+            }
+            ClassReference other = (ClassReference) o;
+            return name.equals(other.name) && classLoader == other.classLoader;
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getTypeName();
+        }
+    }
+
+    /**
+     * A type variable read from a signature; Its declaration is only loaded by {@link #getGenericDeclaration()}.
+     */
+    private static final class SignatureTypeVariable implements TypeVariable<GenericDeclaration> {
+
+        private final String name;
+
+        /**
+         * Class whose signature refers to this type variable
+         */
+        private final ClassReference scope;
+
+        /**
+         * {@code true} if this variable is declared by {@link #scope}, or {@code false} if it is declared by an enclosing class or method;
+         * This and the bounds are only assigned while the signature is being read.
+         */
+        private boolean isDeclaredByScope;
+
+        private Type[] bounds;
+
+        SignatureTypeVariable(String name, ClassReference scope) {
+            this.name = name;
+            this.scope = scope;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Type[] getBounds() {
+            return bounds.clone();
+        }
+
+        /**
+         * @return The class or method that declares this variable, which is loaded if it hasn't been already
+         */
+        @Override
+        public GenericDeclaration getGenericDeclaration() {
+            return load().getGenericDeclaration();
+        }
+
+        /**
+         * Finds the reflected variable, searching the enclosing classes and methods of its scope in the same way that core reflection
+         * does for variables declared outside of the class whose signature refers to them
+         */
+        TypeVariable<?> load() {
+            GenericDeclaration declaration = scope.load();
+            while (declaration != null) {
+                for (TypeVariable<?> typeParameter : declaration.getTypeParameters()) {
+                    if (typeParameter.getName().equals(name)) {
+                        return typeParameter;
+                    }
+                }
+                if (isDeclaredByScope) {
+                    break;
+                } else if (declaration instanceof Class) {
+                    Class<?> enclosedClass = (Class<?>) declaration;
+                    declaration = enclosedClass.getEnclosingMethod();
+                    if (declaration == null) {
+                        declaration = enclosedClass.getEnclosingConstructor();
+                    }
+                    if (declaration == null) {
+                        declaration = enclosedClass.getEnclosingClass();
+                    }
+                } else {
+                    declaration = ((Member) declaration).getDeclaringClass();
+                }
+            }
+            throw new MalformedParameterizedTypeException();
+        }
+
+        @Override
+        public AnnotatedType[] getAnnotatedBounds() {
+            return new AnnotatedType[0];
+        }
+
+        @Override
+        public <T extends Annotation> T getAnnotation(Class<T> annotationClass) {
+            return null;
+        }
+
+        @Override
+        public Annotation[] getAnnotations() {
+            return new Annotation[0];
+        }
+
+        @Override
+        public Annotation[] getDeclaredAnnotations() {
+            return new Annotation[0];
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (!(o instanceof SignatureTypeVariable)) {
+                return false;
+            }
+            SignatureTypeVariable other = (SignatureTypeVariable) o;
+            return name.equals(other.name) && scope.equals(other.scope) && isDeclaredByScope == other.isDeclaredByScope;
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode() ^ scope.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Decodes the parts of a class file that make up its signature
+     */
+    private static final class ClassFileReader {
+
+        private final ByteBuffer buffer;
+
+        private final ClassLoader classLoader;
+
+        /**
+         * Offset of each entry in the constant pool, after its tag
+         */
+        private int[] constants;
+
+        /**
+         * Type variables referred to by the signature, by name
+         */
+        private final Map<String, SignatureTypeVariable> variables = new LinkedHashMap<>();
+
+        private ClassReference thisClass;
+
+        /**
+         * Contents of the {@code Signature} attribute, or {@code null} if there is none; Class names are converted to binary names as they
+         * are read.
+         */
+        private char[] signature;
+
+        private int position;
+
+        ClassFileReader(ByteBuffer buffer, ClassLoader classLoader) {
+            this.buffer = buffer;
+            this.classLoader = classLoader;
+        }
+
+        ClassSignature read() {
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("Not a class file");
+            }
+            readConstantPool();
+            int accessFlags = u2();
+            thisClass = reference(classConstant(u2()));
+            // The raw supertypes are only decoded if there is no signature to replace them
+            int superIndex = u2();
+            int interfacesOffset = position;
+            position += 2 + 2 * u2();
+            skipMembers();
+            skipMembers();
+            for (int i = u2(); i > 0; i--) {
+                String attributeName = utf8(u2());
+                int length = buffer.getInt(position);
+                position += 4;
+                if (attributeName.equals("Signature")) {
+                    signature = utf8Chars(buffer.getShort(position) & 0xFFFF);
+                }
+                position += length;
+            }
+            boolean isInterface = (accessFlags & ACC_INTERFACE) != 0;
+            TypeVariable<?>[] typeParameters = new TypeVariable<?>[0];
+            Type superclass;
+            Type[] interfaces;
+            if (signature == null) {
+                superclass = superIndex != 0 ? reference(classConstant(superIndex)) : null;
+                position = interfacesOffset;
+                interfaces = new Type[u2()];
+                for (int i = 0; i < interfaces.length; i++) {
+                    interfaces[i] = reference(classConstant(u2()));
+                }
+            } else {
+                position = 0;
+                typeParameters = typeParameters();
+                superclass = classTypeSignature();
+                List<Type> genericInterfaces = new ArrayList<>();
+                while (position < signature.length) {
+                    genericInterfaces.add(classTypeSignature());
+                }
+                interfaces = genericInterfaces.toArray(EMPTY);
+                // Nothing is known about variables declared by an enclosing class or method
+                for (SignatureTypeVariable variable : variables.values()) {
+                    if (variable.bounds == null) {
+                        variable.bounds = new Type[]{Object.class};
+                    }
+                }
+            }
+            // Interfaces are recorded as extending Object, but reflection reports no superclass
+            if (isInterface) {
+                superclass = null;
+            }
+            return new ClassSignature(thisClass.getName(), classLoader, isInterface, typeParameters, superclass, interfaces);
+        }
+
+        private void readConstantPool() {
+            position = 8;
+            constants = new int[u2()];
+            for (int i = 1; i < constants.length; i++) {
+                int tag = buffer.get(position++);
+                constants[i] = position;
+                switch (tag) {
+                    case 1: // Utf8
+                        position += 2 + u2();
+                        break;
+                    case 7: // Class
+                    case 8: // String
+                    case 16: // MethodType
+                    case 19: // Module
+                    case 20: // Package
+                        position += 2;
+                        break;
+                    case 15: // MethodHandle
+                        position += 3;
+                        break;
+                    case 3: // Integer
+                    case 4: // Float
+                    case 9: // Fieldref
+                    case 10: // Methodref
+                    case 11: // InterfaceMethodref
+                    case 12: // NameAndType
+                    case 17: // Dynamic
+                    case 18: // InvokeDynamic
+                        position += 4;
+                        break;
+                    case 5: // Long
+                    case 6: // Double
+                        position += 8;
+                        i++;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown constant pool tag " + tag + " at index " + i);
+                }
+            }
+        }
+
+        private void skipMembers() {
+            for (int i = u2(); i > 0; i--) {
+                position += 6;
+                for (int j = u2(); j > 0; j--) {
+                    position += 2;
+                    position += 4 + buffer.getInt(position);
+                }
+            }
+        }
+
+        private int u2() {
+            int value = buffer.getShort(position) & 0xFFFF;
+            position += 2;
+            return value;
+        }
+
+        /**
+         * Decodes the binary name of a class constant
+         */
+        private String classConstant(int index) {
+            return utf8(buffer.getShort(constants[index]) & 0xFFFF).replace('/', '.');
+        }
+
+        private String utf8(int index) {
+            return new String(utf8Chars(index));
+        }
+
+        /**
+         * Decodes a modified UTF-8 constant, as described by {@link java.io.DataInput#readUTF()}
+         */
+        private char[] utf8Chars(int index) {
+            int offset = constants[index];
+            int end = offset + 2 + (buffer.getShort(offset) & 0xFFFF);
+            char[] chars = new char[end - offset - 2];
+            int length = 0;
+            for (int i = offset + 2; i < end; ) {
+                int b = buffer.get(i++) & 0xFF;
+                if (b < 0x80) {
+                    chars[length++] = (char) b;
+                } else if ((b & 0xE0) == 0xC0) {
+                    chars[length++] = (char) (((b & 0x1F) << 6) | (buffer.get(i++) & 0x3F));
+                } else {
+                    chars[length++] = (char) (((b & 0x0F) << 12) | ((buffer.get(i++) & 0x3F) << 6) | (buffer.get(i++) & 0x3F));
+                }
+            }
+            return length == chars.length ? chars : Arrays.copyOf(chars, length);
+        }
+
+        private ClassReference reference(String name) {
+            return new ClassReference(name, classLoader);
+        }
+
+        private char peek() {
+            if (position >= signature.length) {
+                throw malformed();
+            }
+            return signature[position];
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw malformed();
+            }
+            position++;
+        }
+
+        private String identifier(char terminator) {
+            int start = position;
+            while (peek() != terminator) {
+                position++;
+            }
+            return new String(signature, start, position - start);
+        }
+
+        /**
+         * Reads one segment of a class name, converting it from its internal form to its binary name
+         */
+        private String className() {
+            int start = position;
+            for (char c = peek(); c != '<' && c != '.' && c != ';'; c = peek()) {
+                if (c == '/') {
+                    signature[position] = '.';
+                }
+                position++;
+            }
+            return new String(signature, start, position - start);
+        }
+
+        private IllegalArgumentException malformed() {
+            return new IllegalArgumentException("Malformed signature " + new String(signature) + " at index " + position);
+        }
+
+        private SignatureTypeVariable variable(String name) {
+            return variables.computeIfAbsent(name, key -> new SignatureTypeVariable(key, thisClass));
+        }
+
+        /**
+         * Reads the optional formal type parameters at the start of a class signature; Bounds may refer to any of the parameters, so each
+         * parameter is created before its bounds are read.
+         */
+        private TypeVariable<?>[] typeParameters() {
+            if (peek() != '<') {
+                return new TypeVariable<?>[0];
+            }
+            position++;
+            List<SignatureTypeVariable> typeParameters = new ArrayList<>();
+            while (peek() != '>') {
+                // The bounds of an earlier parameter may already have referred to this one
+                SignatureTypeVariable typeParameter = variable(identifier(':'));
+                typeParameter.isDeclaredByScope = true;
+                typeParameters.add(typeParameter);
+                List<Type> bounds = new ArrayList<>();
+                expect(':');
+                // The class bound is omitted when the only bounds are interfaces
+                if (peek() != ':') {
+                    bounds.add(referenceTypeSignature());
+                }
+                while (peek() == ':') {
+                    position++;
+                    bounds.add(referenceTypeSignature());
+                }
+                typeParameter.bounds = bounds.toArray(EMPTY);
+            }
+            position++;
+            return typeParameters.toArray(new TypeVariable<?>[0]);
+        }
+
+        private Type referenceTypeSignature() {
+            switch (peek()) {
+                case 'L':
+                    return classTypeSignature();
+                case 'T':
+                    position++;
+                    SignatureTypeVariable variable = variable(identifier(';'));
+                    position++;
+                    return variable;
+                case '[':
+                    position++;
+                    Type componentType = javaTypeSignature();
+                    if (componentType instanceof ClassReference) {
+                        String componentName = ((ClassReference) componentType).getName();
+                        return reference(componentName.startsWith("[") ? '[' + componentName : "[L" + componentName + ';');
+                    }
+                    return Types.arrayOf(componentType);
+                default:
+                    throw malformed();
+            }
+        }
+
+        private Type javaTypeSignature() {
+            char c = peek();
+            Class<?> primitive = primitive(c);
+            if (primitive != null) {
+                position++;
+                return primitive;
+            }
+            return referenceTypeSignature();
+        }
+
+        private static Class<?> primitive(char descriptor) {
+            switch (descriptor) {
+                case 'Z':
+                    return boolean.class;
+                case 'B':
+                    return byte.class;
+                case 'C':
+                    return char.class;
+                case 'S':
+                    return short.class;
+                case 'I':
+                    return int.class;
+                case 'J':
+                    return long.class;
+                case 'F':
+                    return float.class;
+                case 'D':
+                    return double.class;
+                default:
+                    return null;
+            }
+        }
+
+        /**
+         * Reads a class type, such as {@code Ljava/util/Map<TK;TV;>;} or {@code Lpkg/Outer<TT;>.Inner<TU;>;}; Member classes of a
+         * non-generic class are named with {@code $} and have no owner type, since the class file doesn't identify which part of the
+         * name is the enclosing class.
+         */
+        private Type classTypeSignature() {
+            expect('L');
+            String name = className();
+            Type type = null;
+            while (true) {
+                Type[] arguments = peek() == '<' ? typeArguments() : EMPTY;
+                ClassReference rawType = reference(name);
+                type = arguments.length > 0 || type != null ? Types.parameterized(type, rawType, arguments) : rawType;
+                if (peek() == ';') {
+                    position++;
+                    return type;
+                }
+                expect('.');
+                name = name + '$' + className();
+            }
+        }
+
+        private Type[] typeArguments() {
+            expect('<');
+            List<Type> arguments = new ArrayList<>();
+            while (peek() != '>') {
+                switch (peek()) {
+                    case '*':
+                        position++;
+                        arguments.add(Types.wildcard(new Type[]{Object.class}, EMPTY));
+                        break;
+                    case '+':
+                        position++;
+                        arguments.add(Types.wildcard(new Type[]{referenceTypeSignature()}, EMPTY));
+                        break;
+                    case '-':
+                        position++;
+                        arguments.add(Types.wildcard(new Type[]{Object.class}, new Type[]{referenceTypeSignature()}));
+                        break;
+                    default:
+                        arguments.add(referenceTypeSignature());
+                        break;
+                }
+            }
+            position++;
+            return arguments.toArray(EMPTY);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import lombok.NonNull;
+
+/**
+ * Concurrent map keyed by types, which matches keys with {@link Types#equals(Type, Type)} instead of their own {@code equals}; A type
+ * reflected from a member and an equal type built with {@link Types} find the same entry, so caches of values computed per type do not
+ * hold duplicates or miss depending on where the type came from. Like {@link ConcurrentHashMap}, this map does not allow {@code null} keys
+ * or values.
+ *
+ * @param <V>
+ *     Type of the values in the map
+ *
+ * @author Bryan Harclerode
+ * @see TypeKey
+ */
+public final class ConcurrentTypeMap<V> extends AbstractMap<Type, V> implements ConcurrentMap<Type, V> {
+
+    private final ConcurrentHashMap<TypeKey, V> entries = new ConcurrentHashMap<>();
+
+    private Set<Entry<Type, V>> entrySet;
+
+    /**
+     * Wraps a key passed to one of the lookup methods, which accept any object
+     *
+     * @return The key for {@code key}, or {@code null} if it is not a type
+     */
+    private static TypeKey keyOf(Object key) {
+        return key instanceof Type ? TypeKey.of((Type) key) : null;
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(@NonNull Object key) {
+        TypeKey typeKey = keyOf(key);
+        return typeKey != null && entries.containsKey(typeKey);
+    }
+
+    @Override
+    public boolean containsValue(@NonNull Object value) {
+        return entries.containsValue(value);
+    }
+
+    @Override
+    public V get(@NonNull Object key) {
+        TypeKey typeKey = keyOf(key);
+        return typeKey != null ? entries.get(typeKey) : null;
+    }
+
+    @Override
+    public V put(@NonNull Type key, @NonNull V value) {
+        return entries.put(TypeKey.of(key), value);
+    }
+
+    @Override
+    public V putIfAbsent(@NonNull Type key, @NonNull V value) {
+        return entries.putIfAbsent(TypeKey.of(key), value);
+    }
+
+    @Override
+    public V computeIfAbsent(@NonNull Type key, @NonNull Function<? super Type, ? extends V> mappingFunction) {
+        return entries.computeIfAbsent(TypeKey.of(key), typeKey -> mappingFunction.apply(typeKey.getType()));
+    }
+
+    @Override
+    public V remove(@NonNull Object key) {
+        TypeKey typeKey = keyOf(key);
+        return typeKey != null ? entries.remove(typeKey) : null;
+    }
+
+    @Override
+    public boolean remove(@NonNull Object key, Object value) {
+        TypeKey typeKey = keyOf(key);
+        return typeKey != null && value != null && entries.remove(typeKey, value);
+    }
+
+    @Override
+    public boolean replace(@NonNull Type key, @NonNull V oldValue, @NonNull V newValue) {
+        return entries.replace(TypeKey.of(key), oldValue, newValue);
+    }
+
+    @Override
+    public V replace(@NonNull Type key, @NonNull V value) {
+        return entries.replace(TypeKey.of(key), value);
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Returns a view of the entries in the map; Each entry's key is the first of the equal types that was put into the map, and setting
+     * the value of an entry writes through to the map.
+     */
+    @Override
+    public Set<Entry<Type, V>> entrySet() {
+        Set<Entry<Type, V>> entrySet = this.entrySet;
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+            this.entrySet = entrySet;
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<Type, V>> {
+
+        @Override
+        public Iterator<Entry<Type, V>> iterator() {
+            Iterator<Entry<TypeKey, V>> iterator = entries.entrySet().iterator();
+            return new Iterator<Entry<Type, V>>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Entry<Type, V> next() {
+                    Entry<TypeKey, V> entry = iterator.next();
+                    return new TypeEntry(entry.getKey(), entry.getValue());
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+
+        @Override
+        public void clear() {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Entry that writes through to the map; It implements {@link Entry} directly rather than extending {@link SimpleEntry}, which is
+     * serializable, since an entry of this map can't be serialized without the map itself.
+     */
+    private final class TypeEntry implements Entry<Type, V> {
+
+        private final TypeKey key;
+
+        private V value;
+
+        TypeEntry(TypeKey key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public Type getKey() {
+            return key.getType();
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(@NonNull V value) {
+            this.value = value;
+            return entries.put(key, value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            return Objects.equals(getKey(), other.getKey()) && Objects.equals(value, other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ value.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + value;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Metrics that accumulate every measurement into {@link LongAdder} counters, which can be read at any time as a {@link #snapshot()
+ * snapshot}; Latencies are counted in a histogram with a bucket for each power of two nanoseconds. This is meant to be polled and bridged
+ * into an application's own metrics registry.
+ *
+ * @author Bryan Harclerode
+ */
+public final class InMemoryTypeMetrics implements TypeMetrics {
+
+    /**
+     * Number of latency buckets; The last bucket counts every call that took {@code 2^(BUCKETS - 2)} nanoseconds or longer.
+     */
+    static final int BUCKETS = 40;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private static final Cache[] CACHES = Cache.values();
+
+    private final LongAdder[][] latencies = new LongAdder[OPERATIONS.length][BUCKETS];
+
+    private final LongAdder[] totalNanos = new LongAdder[OPERATIONS.length];
+
+    private final LongAdder[] hits = new LongAdder[CACHES.length];
+
+    private final LongAdder[] misses = new LongAdder[CACHES.length];
+
+    private final LongAdder[] evictions = new LongAdder[CACHES.length];
+
+    public InMemoryTypeMetrics() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            for (int j = 0; j < BUCKETS; j++) {
+                latencies[i][j] = new LongAdder();
+            }
+            totalNanos[i] = new LongAdder();
+        }
+        for (int i = 0; i < CACHES.length; i++) {
+            hits[i] = new LongAdder();
+            misses[i] = new LongAdder();
+            evictions[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Finds the histogram bucket for a latency; Bucket {@code 0} counts calls that took no measurable time, and bucket {@code i} counts
+     * calls that took at least {@code 2^(i - 1)} and less than {@code 2^i} nanoseconds.
+     */
+    static int bucketOf(long durationNanos) {
+        return durationNanos <= 0 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(durationNanos), BUCKETS - 1);
+    }
+
+    @Override
+    public void recordCall(@NonNull Operation operation, long durationNanos) {
+        latencies[operation.ordinal()][bucketOf(durationNanos)].increment();
+        totalNanos[operation.ordinal()].add(durationNanos);
+    }
+
+    @Override
+    public void recordHit(@NonNull Cache cache) {
+        hits[cache.ordinal()].increment();
+    }
+
+    @Override
+    public void recordMiss(@NonNull Cache cache) {
+        misses[cache.ordinal()].increment();
+    }
+
+    @Override
+    public void recordEviction(@NonNull Cache cache) {
+        evictions[cache.ordinal()].increment();
+    }
+
+    /**
+     * Reads the current value of every counter; Measurements that are recorded while the snapshot is taken may be only partially included.
+     *
+     * @return A snapshot of all counters
+     */
+    public Snapshot snapshot() {
+        Map<Operation, OperationStats> operations = new EnumMap<>(Operation.class);
+        for (Operation operation : OPERATIONS) {
+            long[] buckets = new long[BUCKETS];
+            long calls = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = latencies[operation.ordinal()][i].sum();
+                calls += buckets[i];
+            }
+            operations.put(operation, new OperationStats(calls, totalNanos[operation.ordinal()].sum(), buckets));
+        }
+        Map<Cache, CacheStats> caches = new EnumMap<>(Cache.class);
+        for (Cache cache : CACHES) {
+            caches.put(cache, new CacheStats(hits[cache.ordinal()].sum(), misses[cache.ordinal()].sum(), evictions[cache.ordinal()].sum()));
+        }
+        return new Snapshot(Collections.unmodifiableMap(operations), Collections.unmodifiableMap(caches));
+    }
+
+    /**
+     * Resets every counter to zero; Measurements that are recorded concurrently may or may not be discarded.
+     */
+    public void reset() {
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            for (LongAdder bucket : latencies[i]) {
+                bucket.reset();
+            }
+            totalNanos[i].reset();
+        }
+        for (int i = 0; i < CACHES.length; i++) {
+            hits[i].reset();
+            misses[i].reset();
+            evictions[i].reset();
+        }
+    }
+
+    /**
+     * Counters of all operations and caches at a point in time
+     */
+    @Value
+    public static class Snapshot {
+        /**
+         * Statistics of every measured operation
+         */
+        Map<Operation, OperationStats> operations;
+
+        /**
+         * Statistics of every measured cache
+         */
+        Map<Cache, CacheStats> caches;
+
+        /**
+         * @param operation
+         *     Operation to look up
+         *
+         * @return The statistics of {@code operation}
+         */
+        public OperationStats getOperation(@NonNull Operation operation) {
+            return operations.get(operation);
+        }
+
+        /**
+         * @param cache
+         *     Cache to look up
+         *
+         * @return The statistics of {@code cache}
+         */
+        public CacheStats getCache(@NonNull Cache cache) {
+            return caches.get(cache);
+        }
+    }
+
+    /**
+     * Calls and latency histogram of an operation
+     */
+    @Value
+    public static class OperationStats {
+        /**
+         * Number of completed calls
+         */
+        long calls;
+
+        /**
+         * Sum of the latencies of all calls, in nanoseconds
+         */
+        long totalNanos;
+
+        long[] buckets;
+
+        /**
+         * @return The number of calls in each latency bucket; Bucket {@code i} counts calls that took less than {@link #bucketLimit(int)
+         * bucketLimit(i)} nanoseconds, and at least the limit of the previous bucket.
+         */
+        public long[] getBuckets() {
+            return buckets.clone();
+        }
+
+        /**
+         * @param bucket
+         *     Index of a latency bucket
+         *
+         * @return The exclusive upper limit of the bucket, in nanoseconds, or {@link Long#MAX_VALUE} for the last bucket
+         */
+        public static long bucketLimit(int bucket) {
+            return bucket < BUCKETS - 1 ? 1L << bucket : Long.MAX_VALUE;
+        }
+
+        /**
+         * Estimates a percentile of the latency from the histogram
+         *
+         * @param percentile
+         *     Percentile to estimate, between {@code 0} and {@code 100}
+         *
+         * @return The upper limit of the bucket that contains the percentile, in nanoseconds, or {@code 0} if there have been no calls
+         *
+         * @throws IllegalArgumentException
+         *     If {@code percentile} is not between {@code 0} and {@code 100}
+         */
+        public long percentileNanos(double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("percentile must be between 0 and 100");
+            }
+            long rank = (long) Math.ceil(calls * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0) {
+                    return bucketLimit(i);
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Hits, misses, and evictions of a cache
+     */
+    @Value
+    public static class CacheStats {
+        long hits;
+
+        long misses;
+
+        long evictions;
+
+        /**
+         * @return The fraction of lookups that were hits, or {@code 0} if there have been no lookups
+         */
+        public double getHitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+}
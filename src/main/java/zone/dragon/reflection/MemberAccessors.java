@@ -0,0 +1,630 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The fields, methods, and constructors of a class or parameterized type, each paired with a {@link MethodHandle} that accesses it and
+ * with its generic types reified in the context of the type; This lets a codec fetch both the type of a member and a fast accessor for it
+ * in a single lookup, instead of resolving the type with {@link Types#resolveReifiedType(Type, Type, Class, int)} and then accessing the
+ * member through {@link Field#get(Object)} or {@link Method#invoke(Object, Object...)}.
+ * <p>
+ * The accessors of each class are created once and cached with the class itself, and the accessors of a retainable parameterized type are
+ * cached in a bounded cache and share the method handles of their raw class, so repeated lookups are constant time. Members that can't be
+ * made accessible to this library, such as the private members of a class in a module that is not open to it, are omitted. Instances are
+ * immutable and safe to share between threads.
+ *
+ * @author Bryan Harclerode
+ */
+@Getter
+@ToString(of = "type")
+public final class MemberAccessors {
+
+    /**
+     * Maximum number of parameterized types whose accessors are cached
+     */
+    private static final int TYPE_CACHE_SIZE = 1024;
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Accessors for each class; These are stored with the class itself so that they never prevent a class loader from being unloaded.
+     */
+    private static final ClassValue<MemberAccessors> CLASS_ACCESSORS = new ClassValue<MemberAccessors>() {
+        @Override
+        protected MemberAccessors computeValue(Class<?> type) {
+            return build(type);
+        }
+    };
+
+    /**
+     * Accessors for parameterized types; Only types which are {@link Types#isRetainable(Type) retainable} are cached here.
+     */
+    private static final BoundedCache<TypeKey, MemberAccessors> TYPE_ACCESSORS = new BoundedCache<>(
+        TypeMetrics.Cache.MEMBER_ACCESSORS,
+        TYPE_CACHE_SIZE
+    );
+
+    /**
+     * Class or parameterized type whose members are accessed
+     */
+    private final Type type;
+
+    /**
+     * Instance fields declared by the type and its superclasses, with the fields of subclasses ordered before those of their superclasses
+     */
+    private final List<FieldAccessor> fields;
+
+    /**
+     * Methods declared or inherited by the type, excluding methods that are overridden or hidden by another method in the list, and bridge
+     * and synthetic methods
+     */
+    private final List<MethodAccessor> methods;
+
+    /**
+     * Constructors declared by the type; This is empty for interfaces, abstract classes, and enums.
+     */
+    private final List<ConstructorAccessor> constructors;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, FieldAccessor> fieldsByName;
+
+    private MemberAccessors(Type type, List<FieldAccessor> fields, List<MethodAccessor> methods, List<ConstructorAccessor> constructors) {
+        this.type = type;
+        this.fields = Collections.unmodifiableList(fields);
+        this.methods = Collections.unmodifiableList(methods);
+        this.constructors = Collections.unmodifiableList(constructors);
+        Map<String, FieldAccessor> fieldsByName = new HashMap<>();
+        for (FieldAccessor field : fields) {
+            fieldsByName.putIfAbsent(field.getField().getName(), field);
+        }
+        this.fieldsByName = fieldsByName;
+    }
+
+    /**
+     * Looks up the accessors for the members of a class or parameterized type
+     *
+     * @param type
+     *     Class or parameterized type whose members should be accessed; The types of the members are reified with the type arguments of
+     *     {@code type} and of its supertypes
+     *
+     * @return The accessors for the members of {@code type}
+     *
+     * @throws NullPointerException
+     *     If {@code type} is {@code null}
+     * @throws IllegalArgumentException
+     *     If {@code type} is not a {@link Class} or {@link ParameterizedType}
+     */
+    public static MemberAccessors of(@NonNull Type type) {
+        if (type instanceof Class) {
+            return CLASS_ACCESSORS.get((Class<?>) type);
+        } else if (type instanceof ParameterizedType) {
+            if (Types.isRetainable(type)) {
+                return TYPE_ACCESSORS.get(TypeKey.of(type), key -> reify(key.getType()));
+            }
+            return reify(type);
+        }
+        throw new IllegalArgumentException("Members of " + type.getTypeName() + " can't be accessed");
+    }
+
+    /**
+     * Finds a field by name
+     *
+     * @param name
+     *     Name of the field
+     *
+     * @return The accessor for the field named {@code name} that is declared by the most specific class, or {@code null} if there is no
+     * accessible instance field with that name
+     *
+     * @throws NullPointerException
+     *     If {@code name} is {@code null}
+     */
+    public FieldAccessor field(@NonNull String name) {
+        return fieldsByName.get(name);
+    }
+
+    /**
+     * Finds a method by its name and erased parameter types
+     *
+     * @param name
+     *     Name of the method
+     * @param parameterTypes
+     *     Erased parameter types of the method
+     *
+     * @return The accessor for the matching method, or {@code null} if there is no accessible method with that signature
+     *
+     * @throws NullPointerException
+     *     If {@code name} or {@code parameterTypes} is {@code null}
+     */
+    public MethodAccessor method(@NonNull String name, @NonNull Class<?>... parameterTypes) {
+        for (MethodAccessor method : methods) {
+            if (method.getMethod().getName().equals(name) && Arrays.equals(method.getMethod().getParameterTypes(), parameterTypes)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds a constructor by its erased parameter types
+     *
+     * @param parameterTypes
+     *     Erased parameter types of the constructor
+     *
+     * @return The accessor for the matching constructor, or {@code null} if there is no accessible constructor with that signature
+     *
+     * @throws NullPointerException
+     *     If {@code parameterTypes} is {@code null}
+     */
+    public ConstructorAccessor constructor(@NonNull Class<?>... parameterTypes) {
+        for (ConstructorAccessor constructor : constructors) {
+            if (Arrays.equals(constructor.getConstructor().getParameterTypes(), parameterTypes)) {
+                return constructor;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates the accessors for a class, including the method handles shared with its parameterizations
+     */
+    private static MemberAccessors build(Class<?> type) {
+        TypeResolver resolver = new TypeResolver(type);
+        List<FieldAccessor> fields = new ArrayList<>();
+        Map<MethodKey, MethodAccessor> methods = new LinkedHashMap<>();
+        for (Class<?> declaringClass = type; declaringClass != null; declaringClass = declaringClass.getSuperclass()) {
+            for (Field field : declaringClass.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    FieldAccessor accessor = FieldAccessor.create(field, resolver);
+                    if (accessor != null) {
+                        fields.add(accessor);
+                    }
+                }
+            }
+            addMethods(declaringClass.getDeclaredMethods(), resolver, methods);
+        }
+        addMethods(type.getMethods(), resolver, methods);
+        List<ConstructorAccessor> constructors = new ArrayList<>();
+        if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers()) && !type.isEnum()) {
+            for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+                if (!constructor.isSynthetic()) {
+                    ConstructorAccessor accessor = ConstructorAccessor.create(constructor, resolver);
+                    if (accessor != null) {
+                        constructors.add(accessor);
+                    }
+                }
+            }
+        }
+        return new MemberAccessors(type, fields, new ArrayList<>(methods.values()), constructors);
+    }
+
+    private static void addMethods(Method[] declaredMethods, TypeResolver resolver, Map<MethodKey, MethodAccessor> methods) {
+        for (Method method : declaredMethods) {
+            if (!method.isBridge() && !method.isSynthetic()) {
+                MethodKey key = new MethodKey(method.getName(), method.getParameterTypes());
+                if (!methods.containsKey(key)) {
+                    MethodAccessor accessor = MethodAccessor.create(method, resolver);
+                    if (accessor != null) {
+                        methods.put(key, accessor);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the accessors for a parameterized type, reusing the method handles of its raw class
+     */
+    private static MemberAccessors reify(Type type) {
+        MemberAccessors rawAccessors = CLASS_ACCESSORS.get(Types.erase(type));
+        TypeResolver resolver = new TypeResolver(type);
+        List<FieldAccessor> fields = new ArrayList<>(rawAccessors.fields.size());
+        for (FieldAccessor field : rawAccessors.fields) {
+            fields.add(field.reify(resolver));
+        }
+        List<MethodAccessor> methods = new ArrayList<>(rawAccessors.methods.size());
+        for (MethodAccessor method : rawAccessors.methods) {
+            methods.add(method.reify(resolver));
+        }
+        List<ConstructorAccessor> constructors = new ArrayList<>(rawAccessors.constructors.size());
+        for (ConstructorAccessor constructor : rawAccessors.constructors) {
+            constructors.add(constructor.reify(resolver));
+        }
+        return new MemberAccessors(type, fields, methods, constructors);
+    }
+
+    /**
+     * Suppresses access checks for a member if possible
+     *
+     * @return {@code true} if the member can be unreflected, either because access checks were suppressed or because it is a public member
+     * of a public class
+     */
+    private static <M extends AccessibleObject & Member> boolean makeAccessible(M member) {
+        try {
+            member.setAccessible(true);
+            return true;
+        } catch (RuntimeException e) {
+            return Modifier.isPublic(member.getModifiers()) && Modifier.isPublic(member.getDeclaringClass().getModifiers());
+        }
+    }
+
+    private static Type[] reify(Type[] types, TypeResolver resolver) {
+        Type[] reifiedTypes = new Type[types.length];
+        for (int i = 0; i < types.length; i++) {
+            reifiedTypes[i] = resolver.reify(types[i]);
+        }
+        return reifiedTypes;
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new UndeclaredThrowableException(t);
+    }
+
+    /**
+     * Key under which a method is overridden or hidden by another method with the same name and erased parameter types
+     */
+    private static final class MethodKey {
+        private final String name;
+
+        private final Class<?>[] parameterTypes;
+
+        private final int hashCode;
+
+        MethodKey(String name, Class<?>[] parameterTypes) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.hashCode = name.hashCode() * 31 + Arrays.hashCode(parameterTypes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof MethodKey)) {
+                return false;
+            }
+            MethodKey key = (MethodKey) other;
+            return name.equals(key.name) && Arrays.equals(parameterTypes, key.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Reads and writes an instance field
+     */
+    @Getter
+    @ToString(of = {"field", "type"})
+    public static final class FieldAccessor {
+
+        /**
+         * Field that is accessed
+         */
+        private final Field field;
+
+        /**
+         * Generic type of the field, reified in the context of the accessed type
+         */
+        private final Type type;
+
+        /**
+         * Handle of type {@code (Object)Object} that reads the field from an instance
+         */
+        private final MethodHandle getter;
+
+        /**
+         * Handle of type {@code (Object,Object)void} that writes the field of an instance, or {@code null} if the field is final
+         */
+        private final MethodHandle setter;
+
+        private FieldAccessor(Field field, Type type, MethodHandle getter, MethodHandle setter) {
+            this.field = field;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        private static FieldAccessor create(Field field, TypeResolver resolver) {
+            if (!makeAccessible(field)) {
+                return null;
+            }
+            try {
+                MethodHandle getter = LOOKUP.unreflectGetter(field).asType(GETTER_TYPE);
+                MethodHandle setter = null;
+                if (!Modifier.isFinal(field.getModifiers())) {
+                    setter = LOOKUP.unreflectSetter(field).asType(SETTER_TYPE);
+                }
+                return new FieldAccessor(field, resolver.reify(field.getGenericType()), getter, setter);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        private FieldAccessor reify(TypeResolver resolver) {
+            return new FieldAccessor(field, resolver.reify(field.getGenericType()), getter, setter);
+        }
+
+        /**
+         * @return {@code true} if the field can be written with {@link #set(Object, Object)}
+         */
+        public boolean isWritable() {
+            return setter != null;
+        }
+
+        /**
+         * Reads the field
+         *
+         * @param target
+         *     Instance to read the field from
+         *
+         * @return The value of the field, boxed if it is primitive
+         *
+         * @throws NullPointerException
+         *     If {@code target} is {@code null}
+         * @throws ClassCastException
+         *     If {@code target} is not an instance of the class that declares the field
+         */
+        public Object get(Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        /**
+         * Writes the field
+         *
+         * @param target
+         *     Instance to write the field of
+         * @param value
+         *     Value to write, boxed if the field is primitive
+         *
+         * @throws NullPointerException
+         *     If {@code target} is {@code null}, or {@code value} is {@code null} and the field is primitive
+         * @throws ClassCastException
+         *     If {@code target} is not an instance of the class that declares the field, or {@code value} can't be assigned to the field
+         * @throws UnsupportedOperationException
+         *     If the field is final
+         */
+        public void set(Object target, Object value) {
+            if (setter == null) {
+                throw new UnsupportedOperationException("Field " + field + " is final");
+            }
+            try {
+                setter.invokeExact(target, value);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    /**
+     * Invokes an instance or static method
+     */
+    @Getter
+    @ToString(of = "method")
+    public static final class MethodAccessor {
+
+        /**
+         * Method that is invoked
+         */
+        private final Method method;
+
+        /**
+         * Generic return type of the method, reified in the context of the accessed type
+         */
+        private final Type returnType;
+
+        @Getter(AccessLevel.NONE)
+        private final Type[] parameterTypes;
+
+        /**
+         * Handle of type {@code (Object,Object[])Object} that invokes the method on an instance with an array of arguments, and returns
+         * {@code null} if the method is {@code void}; The instance is ignored if the method is static.
+         */
+        private final MethodHandle invoker;
+
+        private MethodAccessor(Method method, Type returnType, Type[] parameterTypes, MethodHandle invoker) {
+            this.method = method;
+            this.returnType = returnType;
+            this.parameterTypes = parameterTypes;
+            this.invoker = invoker;
+        }
+
+        private static MethodAccessor create(Method method, TypeResolver resolver) {
+            if (!makeAccessible(method)) {
+                return null;
+            }
+            try {
+                int parameterCount = method.getParameterCount();
+                MethodHandle handle = LOOKUP.unreflect(method);
+                if (Modifier.isStatic(method.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+                MethodHandle invoker = handle.asType(MethodType.genericMethodType(parameterCount + 1))
+                                             .asSpreader(Object[].class, parameterCount);
+                return new MethodAccessor(
+                    method,
+                    resolver.reify(method.getGenericReturnType()),
+                    MemberAccessors.reify(method.getGenericParameterTypes(), resolver),
+                    invoker
+                );
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        private MethodAccessor reify(TypeResolver resolver) {
+            return new MethodAccessor(
+                method,
+                resolver.reify(method.getGenericReturnType()),
+                MemberAccessors.reify(method.getGenericParameterTypes(), resolver),
+                invoker
+            );
+        }
+
+        /**
+         * @return The generic parameter types of the method, reified in the context of the accessed type
+         */
+        public Type[] getParameterTypes() {
+            return parameterTypes.clone();
+        }
+
+        /**
+         * Invokes the method
+         *
+         * @param target
+         *     Instance to invoke the method on; This is ignored if the method is static
+         * @param arguments
+         *     Arguments to pass to the method, boxed if they are primitive
+         *
+         * @return The value returned by the method, boxed if it is primitive, or {@code null} if the method is {@code void}
+         *
+         * @throws NullPointerException
+         *     If the method is not static and {@code target} is {@code null}
+         * @throws ClassCastException
+         *     If {@code target} or any argument can't be passed to the method
+         * @throws IllegalArgumentException
+         *     If the number of arguments is not the same as the number of parameters of the method
+         * @throws UndeclaredThrowableException
+         *     If the method throws a checked exception
+         */
+        public Object invoke(Object target, Object... arguments) {
+            try {
+                return (Object) invoker.invokeExact(target, arguments);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+
+    /**
+     * Creates new instances with a constructor
+     */
+    @Getter
+    @ToString(of = "constructor")
+    public static final class ConstructorAccessor {
+
+        /**
+         * Constructor that is invoked
+         */
+        private final Constructor<?> constructor;
+
+        @Getter(AccessLevel.NONE)
+        private final Type[] parameterTypes;
+
+        /**
+         * Handle of type {@code (Object[])Object} that invokes the constructor with an array of arguments
+         */
+        private final MethodHandle invoker;
+
+        private ConstructorAccessor(Constructor<?> constructor, Type[] parameterTypes, MethodHandle invoker) {
+            this.constructor = constructor;
+            this.parameterTypes = parameterTypes;
+            this.invoker = invoker;
+        }
+
+        private static ConstructorAccessor create(Constructor<?> constructor, TypeResolver resolver) {
+            if (!makeAccessible(constructor)) {
+                return null;
+            }
+            try {
+                int parameterCount = constructor.getParameterCount();
+                MethodHandle invoker = LOOKUP.unreflectConstructor(constructor)
+                                             .asType(MethodType.genericMethodType(parameterCount))
+                                             .asSpreader(Object[].class, parameterCount);
+                return new ConstructorAccessor(
+                    constructor,
+                    MemberAccessors.reify(constructor.getGenericParameterTypes(), resolver),
+                    invoker
+                );
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        private ConstructorAccessor reify(TypeResolver resolver) {
+            return new ConstructorAccessor(constructor, MemberAccessors.reify(constructor.getGenericParameterTypes(), resolver), invoker);
+        }
+
+        /**
+         * @return The generic parameter types of the constructor, reified in the context of the accessed type
+         */
+        public Type[] getParameterTypes() {
+            return parameterTypes.clone();
+        }
+
+        /**
+         * Creates a new instance
+         *
+         * @param arguments
+         *     Arguments to pass to the constructor, boxed if they are primitive
+         *
+         * @return The new instance
+         *
+         * @throws ClassCastException
+         *     If any argument can't be passed to the constructor
+         * @throws IllegalArgumentException
+         *     If the number of arguments is not the same as the number of parameters of the constructor
+         * @throws UndeclaredThrowableException
+         *     If the constructor throws a checked exception
+         */
+        public Object newInstance(Object... arguments) {
+            try {
+                return (Object) invoker.invokeExact(arguments);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+import lombok.Value;
+
+/**
+ * Decides whether one generic type is a subtype of another, following the subtyping rules of the JLS (&sect;4.10) for parameterized
+ * types, type variables, wildcards, and arrays; Answers for {@link Types#isRetainable(Type) retainable} types are memoized, so repeated
+ * checks of the same pair are a single lookup.
+ *
+ * @author Bryan Harclerode
+ */
+final class SubtypeChecker {
+
+    /**
+     * Maximum number of answered pairs that are remembered
+     */
+    private static final int SUBTYPE_CACHE_SIZE = 4096;
+
+    private static final BoundedCache<TypePair, Boolean> ANSWERS = new BoundedCache<>(TypeMetrics.Cache.SUBTYPE, SUBTYPE_CACHE_SIZE);
+
+    private SubtypeChecker() {}
+
+    /**
+     * Checks if a type is a subtype of another; See {@link Types#isAssignableFrom(Type, Type)}
+     *
+     * @param superType
+     *     The assignable type
+     * @param subType
+     *     The type to be assigned
+     *
+     * @return {@code true} if {@code subType} is a subtype of {@code superType}
+     */
+    static boolean isSubtype(Type superType, Type subType) {
+        if (superType instanceof Class && subType instanceof Class) {
+            return ((Class<?>) superType).isAssignableFrom((Class<?>) subType);
+        }
+        TypePair pair = new TypePair(superType, subType);
+        Boolean answer = ANSWERS.getIfPresent(pair);
+        if (answer == null) {
+            answer = check(superType, subType);
+            if (Types.isRetainable(superType) && Types.isRetainable(subType)) {
+                ANSWERS.put(pair, answer);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Checks if a type is a subtype of another, without consulting the memo
+     */
+    private static boolean check(Type superType, Type subType) {
+        if (Types.equals(superType, subType)) {
+            return true;
+        }
+        switch (TypeKind.of(subType)) {
+            case TYPE_VARIABLE:
+                if (isSubtypeOfAny(superType, ((TypeVariable<?>) subType).getBounds())) {
+                    return true;
+                }
+                break;
+            case WILDCARD:
+                return isSubtypeOfAny(superType, upperBounds((WildcardType) subType));
+            default:
+                break;
+        }
+        switch (TypeKind.of(superType)) {
+            case CLASS:
+                return isSubtypeOfClass((Class<?>) superType, subType);
+            case PARAMETERIZED:
+                return isSubtypeOfParameterized((ParameterizedType) superType, subType);
+            case GENERIC_ARRAY:
+                return isSubtypeOfArray(((GenericArrayType) superType).getGenericComponentType(), subType);
+            case WILDCARD:
+                Type[] lowerBounds = Types.sharedLowerBounds((WildcardType) superType);
+                if (lowerBounds.length > 0) {
+                    return isSubtypeOfAny(lowerBounds, subType);
+                }
+                return isSubtypeOfAll(upperBounds((WildcardType) superType), subType);
+            default:
+                // Type variables are only supertypes of themselves and of type variables bounded by them, which were both handled above
+                return false;
+        }
+    }
+
+    private static boolean isSubtypeOfClass(Class<?> superType, Type subType) {
+        switch (TypeKind.of(subType)) {
+            case CLASS:
+                return superType.isAssignableFrom((Class<?>) subType);
+            case PARAMETERIZED:
+                return superType.isAssignableFrom(Types.erase(subType));
+            case GENERIC_ARRAY:
+                if (superType.isArray()) {
+                    return !superType.getComponentType().isPrimitive() && check(
+                        superType.getComponentType(),
+                        ((GenericArrayType) subType).getGenericComponentType()
+                    );
+                }
+                return superType.isAssignableFrom(Object[].class);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isSubtypeOfParameterized(ParameterizedType superType, Type subType) {
+        TypeKind subKind = TypeKind.of(subType);
+        if (subKind != TypeKind.CLASS && subKind != TypeKind.PARAMETERIZED) {
+            return false;
+        }
+        Class<?> rawSuperType = Types.erase(superType);
+        if (!rawSuperType.isAssignableFrom(Types.erase(subType))) {
+            return false;
+        }
+        Type[] superArguments = Types.sharedTypeArguments(superType);
+        if (subKind == TypeKind.CLASS && ((Class<?>) subType).getTypeParameters().length > 0) {
+            // The supertypes of a raw type are all raw, so it can only be assigned without an unchecked conversion if every argument is ?
+            return isUnbounded(superArguments);
+        }
+        Type[] subArguments = SupertypeIndex.of(subType).typeArguments(rawSuperType);
+        if (subArguments == null || subArguments.length != superArguments.length) {
+            return false;
+        }
+        for (int i = 0; i < superArguments.length; i++) {
+            if (!contains(superArguments[i], subArguments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSubtypeOfArray(Type superComponentType, Type subType) {
+        switch (TypeKind.of(subType)) {
+            case CLASS:
+                Class<?> subComponentType = ((Class<?>) subType).getComponentType();
+                return subComponentType != null && !subComponentType.isPrimitive() && check(superComponentType, subComponentType);
+            case GENERIC_ARRAY:
+                return check(superComponentType, ((GenericArrayType) subType).getGenericComponentType());
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks if a type argument is contained by another type argument (JLS &sect;4.5.1)
+     */
+    private static boolean contains(Type superArgument, Type subArgument) {
+        if (!(superArgument instanceof WildcardType)) {
+            return Types.equals(superArgument, subArgument);
+        }
+        WildcardType superWildcard = (WildcardType) superArgument;
+        Type[] superLowerBounds = Types.sharedLowerBounds(superWildcard);
+        if (subArgument instanceof WildcardType) {
+            WildcardType subWildcard = (WildcardType) subArgument;
+            Type[] subLowerBounds = Types.sharedLowerBounds(subWildcard);
+            if (superLowerBounds.length > 0) {
+                // ? super S is contained by ? super L if L <: S
+                return subLowerBounds.length > 0 && isSubtypeOfAny(subLowerBounds, superLowerBounds[0]);
+            }
+            if (subLowerBounds.length > 0) {
+                // ? super S is only contained by ? extends Object
+                return isUnbounded(superWildcard);
+            }
+            for (Type superUpperBound : upperBounds(superWildcard)) {
+                if (!isSubtypeOfAny(superUpperBound, upperBounds(subWildcard))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (superLowerBounds.length > 0) {
+            return check(subArgument, superLowerBounds[0]);
+        }
+        return isSubtypeOfAll(upperBounds(superWildcard), subArgument);
+    }
+
+    /**
+     * @return {@code true} if at least one of {@code subTypes} is a subtype of {@code superType}
+     */
+    private static boolean isSubtypeOfAny(Type superType, Type[] subTypes) {
+        for (Type subType : subTypes) {
+            if (check(superType, subType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} if {@code subType} is a subtype of at least one of {@code superTypes}
+     */
+    private static boolean isSubtypeOfAny(Type[] superTypes, Type subType) {
+        for (Type superType : superTypes) {
+            if (check(superType, subType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} if {@code subType} is a subtype of every one of {@code superTypes}
+     */
+    private static boolean isSubtypeOfAll(Type[] superTypes, Type subType) {
+        for (Type superType : superTypes) {
+            if (!check(superType, subType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The upper bounds of {@code wildcard}, treating a wildcard without any upper bounds as bounded by {@link Object}
+     */
+    private static Type[] upperBounds(WildcardType wildcard) {
+        Type[] upperBounds = Types.sharedUpperBounds(wildcard);
+        return upperBounds.length > 0 ? upperBounds : new Type[]{Object.class};
+    }
+
+    private static boolean isUnbounded(Type[] typeArguments) {
+        for (Type typeArgument : typeArguments) {
+            if (!(typeArgument instanceof WildcardType) || !isUnbounded((WildcardType) typeArgument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUnbounded(WildcardType wildcard) {
+        if (Types.sharedLowerBounds(wildcard).length > 0) {
+            return false;
+        }
+        for (Type upperBound : Types.sharedUpperBounds(wildcard)) {
+            if (upperBound != Object.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pair of types, compared with {@link Types#equals(Type, Type)} so that answers are shared between equal types from different sources
+     */
+    @Value
+    private static class TypePair {
+        Type superType;
+
+        Type subType;
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (!(o instanceof TypePair)) {
+                return false;
+            }
+            TypePair other = (TypePair) o;
+            return Types.equals(superType, other.superType) && Types.equals(subType, other.subType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Types.hashCode(superType) + Types.hashCode(subType);
+        }
+    }
+}
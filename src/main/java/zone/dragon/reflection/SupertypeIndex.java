@@ -0,0 +1,281 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Index of the generic supertypes of a class or parameterized type; For every generic superclass and interface, the index records the
+ * actual type arguments with all type variables of intermediate supertypes already substituted, so that they are expressed purely in
+ * terms of concrete types and the type variables of the indexed class itself. The index of a parameterized type also includes its own raw
+ * type, and has the actual type arguments of the parameterized type substituted throughout.
+ *
+ * @author Bryan Harclerode
+ */
+final class SupertypeIndex {
+
+    /**
+     * Maximum number of {@link ParameterizedType} roots whose indexes are cached
+     */
+    private static final int PARAMETERIZED_TYPE_CACHE_SIZE = 1024;
+
+    private static final SupertypeIndex EMPTY = new SupertypeIndex(Collections.emptyMap(), Types.class.getClassLoader());
+
+    /**
+     * Indexes for each class; These are stored with the class itself so that they never prevent a class loader from being unloaded. An
+     * {@link TypeSnapshot#install() installed snapshot} is consulted before walking the hierarchy of a class.
+     */
+    private static final ClassValue<SupertypeIndex> INDEXES = new ClassValue<SupertypeIndex>() {
+        @Override
+        protected SupertypeIndex computeValue(Class<?> type) {
+            Types.getMetrics().recordMiss(TypeMetrics.Cache.SUPERTYPE_INDEX);
+            COMPUTED.get()[0] = true;
+            SupertypeIndex index = TypeSnapshot.lookup(type);
+            return index != null ? index : build(type);
+        }
+    };
+
+    /**
+     * Whether {@link #INDEXES} computed an index during the current thread's lookup; This is only tracked while metrics are installed, so
+     * that a lookup which did not compute an index can be recorded as a hit.
+     */
+    private static final ThreadLocal<boolean[]> COMPUTED = ThreadLocal.withInitial(() -> new boolean[1]);
+
+    /**
+     * Indexes for parameterized types; Only types which are {@link Types#isRetainable(Type) retainable} are cached here.
+     */
+    private static final BoundedCache<TypeKey, SupertypeIndex> PARAMETERIZED_INDEXES = new BoundedCache<>(
+        TypeMetrics.Cache.PARAMETERIZED_SUPERTYPE_INDEX,
+        PARAMETERIZED_TYPE_CACHE_SIZE
+    );
+
+    /**
+     * Looks up the index for a type; Classes and parameterized types are indexed, while any other type has an empty index.
+     *
+     * @param type
+     *     Type to look up
+     *
+     * @return The supertype index for {@code type}
+     */
+    static SupertypeIndex of(Type type) {
+        if (type instanceof Class) {
+            return ofClass((Class<?>) type);
+        } else if (type instanceof ParameterizedType) {
+            if (Types.isRetainable(type)) {
+                return PARAMETERIZED_INDEXES.get(TypeKey.of(type), key -> build((ParameterizedType) key.getType()));
+            }
+            return build((ParameterizedType) type);
+        }
+        return EMPTY;
+    }
+
+    private static SupertypeIndex ofClass(Class<?> type) {
+        TypeMetrics metrics = Types.getMetrics();
+        if (metrics == TypeMetrics.NONE) {
+            return INDEXES.get(type);
+        }
+        // Building an index may look up others, so the flag of an enclosing lookup is restored afterwards
+        boolean[] computed = COMPUTED.get();
+        boolean enclosingComputed = computed[0];
+        computed[0] = false;
+        SupertypeIndex index = INDEXES.get(type);
+        if (!computed[0]) {
+            metrics.recordHit(TypeMetrics.Cache.SUPERTYPE_INDEX);
+        }
+        computed[0] = enclosingComputed;
+        return index;
+    }
+
+    /**
+     * Replaces type variables in a type with the corresponding arguments; Unlike {@link Types#reifyType(Type, Map)}, this preserves
+     * wildcards and any type variables that are not being substituted.
+     *
+     * @param type
+     *     Type in which to substitute variables
+     * @param variables
+     *     Type variables to replace
+     * @param arguments
+     *     Replacement for each of {@code variables}
+     *
+     * @return {@code type} with each of {@code variables} replaced; If nothing was substituted, {@code type} itself is returned
+     */
+    static Type substitute(Type type, TypeVariable<?>[] variables, Type[] arguments) {
+        if (type instanceof TypeVariable) {
+            for (int i = 0; i < variables.length; i++) {
+                if (variables[i].equals(type)) {
+                    return arguments[i];
+                }
+            }
+            return type;
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type ownerType = parameterizedType.getOwnerType();
+            Type newOwnerType = substitute(ownerType, variables, arguments);
+            Type[] typeArguments = Types.sharedTypeArguments(parameterizedType);
+            Type[] newTypeArguments = substitute(typeArguments, variables, arguments);
+            if (newOwnerType == ownerType && newTypeArguments == typeArguments) {
+                return type;
+            }
+            return Types.parameterized(newOwnerType, parameterizedType.getRawType(), newTypeArguments);
+        } else if (type instanceof GenericArrayType) {
+            Type componentType = ((GenericArrayType) type).getGenericComponentType();
+            Type newComponentType = substitute(componentType, variables, arguments);
+            return newComponentType == componentType ? type : Types.arrayOf(newComponentType);
+        } else if (type instanceof WildcardType) {
+            Type[] upperBounds = Types.sharedUpperBounds((WildcardType) type);
+            Type[] lowerBounds = Types.sharedLowerBounds((WildcardType) type);
+            Type[] newUpperBounds = substitute(upperBounds, variables, arguments);
+            Type[] newLowerBounds = substitute(lowerBounds, variables, arguments);
+            if (newUpperBounds == upperBounds && newLowerBounds == lowerBounds) {
+                return type;
+            }
+            return newLowerBounds.length > 0 ? Types.anySuper(newLowerBounds) : Types.anyExtends(newUpperBounds);
+        }
+        return type;
+    }
+
+    private static Type[] substitute(Type[] types, TypeVariable<?>[] variables, Type[] arguments) {
+        Type[] newTypes = types;
+        for (int i = 0; i < types.length; i++) {
+            Type newType = substitute(types[i], variables, arguments);
+            if (newType != types[i]) {
+                if (newTypes == types) {
+                    newTypes = types.clone();
+                }
+                newTypes[i] = newType;
+            }
+        }
+        return newTypes;
+    }
+
+    /**
+     * Builds a new index for a class, bypassing the cache; The hierarchy is walked breadth-first, and each distinct supertype is visited
+     * exactly once no matter how many paths lead to it, so the cost is linear in the number of distinct supertypes.
+     *
+     * @param type
+     *     Class to index
+     *
+     * @return A new supertype index for {@code type}
+     */
+    static SupertypeIndex build(Class<?> type) {
+        Object event = TypeEvents.beginResolution();
+        Map<Class<?>, Type[]> typeArguments = new HashMap<>();
+        SupertypeIterator supertypes = new SupertypeIterator(type);
+        int visited = 0;
+        while (supertypes.hasNext()) {
+            Type supertype = supertypes.next();
+            visited++;
+            if (supertype instanceof ParameterizedType) {
+                typeArguments.put(Types.erase(supertype), ((ParameterizedType) supertype).getActualTypeArguments());
+            }
+        }
+        SupertypeIndex index = of(typeArguments, type.getClassLoader());
+        TypeEvents.commitResolution(event, type, visited, index.typeVariables.size());
+        return index;
+    }
+
+    /**
+     * Creates an index from type arguments that have already been resolved
+     *
+     * @param typeArguments
+     *     Actual type arguments of each generic supertype; This map must not be modified after it is passed to this method
+     * @param classLoader
+     *     Class loader of the indexed class
+     *
+     * @return An index of {@code typeArguments}
+     */
+    static SupertypeIndex of(Map<Class<?>, Type[]> typeArguments, ClassLoader classLoader) {
+        return typeArguments.isEmpty() ? EMPTY : new SupertypeIndex(typeArguments, classLoader);
+    }
+
+    private final Map<Class<?>, Type[]> typeArguments;
+
+    private final TypeVariableMap typeVariables;
+
+    private SupertypeIndex(Map<Class<?>, Type[]> typeArguments, ClassLoader classLoader) {
+        this.typeArguments = typeArguments;
+        Map<TypeVariable<? extends Class<?>>, Type> typeVariables = new HashMap<>();
+        typeArguments.forEach((rawClass, arguments) -> {
+            TypeVariable<? extends Class<?>>[] typeParameters = rawClass.getTypeParameters();
+            for (int i = 0; i < typeParameters.length; i++) {
+                typeVariables.put(typeParameters[i], arguments[i]);
+            }
+        });
+        this.typeVariables = new TypeVariableMap(typeVariables, classLoader);
+    }
+
+    /**
+     * Looks up the actual type arguments of a generic supertype; The returned array must not be modified.
+     *
+     * @param supertype
+     *     Generic superclass or interface to look up
+     *
+     * @return The actual type arguments for {@code supertype}, or {@code null} if {@code supertype} is not a generic supertype of the
+     * indexed class
+     */
+    Type[] typeArguments(Class<?> supertype) {
+        return typeArguments.get(supertype);
+    }
+
+    /**
+     * @return An immutable map of every generic supertype to its actual type arguments; The arrays must not be modified.
+     */
+    Map<Class<?>, Type[]> typeArguments() {
+        return Collections.unmodifiableMap(typeArguments);
+    }
+
+    /**
+     * @return An immutable map of the type variables of every generic supertype to their actual type arguments
+     */
+    TypeVariableMap typeVariables() {
+        return typeVariables;
+    }
+
+    /**
+     * Builds a new index for a parameterized type, bypassing the cache; The index for its raw type is reused, with the actual type
+     * arguments substituted for the raw type's type variables.
+     *
+     * @param type
+     *     Parameterized type to index
+     *
+     * @return A new supertype index for {@code type}
+     */
+    static SupertypeIndex build(ParameterizedType type) {
+        Object event = TypeEvents.beginResolution();
+        Class<?> rawClass = Types.erase(type);
+        TypeVariable<?>[] typeParameters = rawClass.getTypeParameters();
+        Type[] actualTypeArguments = type.getActualTypeArguments();
+        Map<Class<?>, Type[]> rawTypeArguments = INDEXES.get(rawClass).typeArguments;
+        Map<Class<?>, Type[]> typeArguments = new HashMap<>(rawTypeArguments.size() * 4 / 3 + 2);
+        rawTypeArguments.forEach((supertype, supertypeArguments) -> typeArguments.put(
+            supertype,
+            substitute(supertypeArguments, typeParameters, actualTypeArguments)
+        ));
+        typeArguments.put(rawClass, actualTypeArguments);
+        SupertypeIndex index = new SupertypeIndex(typeArguments, rawClass.getClassLoader());
+        TypeEvents.commitResolution(event, type, typeArguments.size(), index.typeVariables.size());
+        return index;
+    }
+}
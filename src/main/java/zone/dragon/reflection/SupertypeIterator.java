@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Lazily walks the supertypes of a class or parameterized type in breadth-first order; Each distinct superclass or interface is returned
+ * exactly once no matter how many paths lead to it, with the type arguments of every type between it and the root already substituted.
+ * The direct supertypes of a type are only looked up once the iterator reaches that type, so a walk that is abandoned early does no
+ * further work.
+ *
+ * @author Bryan Harclerode
+ */
+final class SupertypeIterator implements Iterator<Type> {
+
+    private final Set<Class<?>> visitedClasses = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Deque<Type> remainingTypes = new ArrayDeque<>();
+
+    /**
+     * @param type
+     *     Root of the walk, which is not itself returned; If this is neither a class nor a parameterized type, then it has no supertypes.
+     */
+    SupertypeIterator(Type type) {
+        if (type instanceof Class) {
+            visitedClasses.add((Class<?>) type);
+            addSupertypes((Class<?>) type, null, null);
+        } else if (type instanceof ParameterizedType) {
+            Class<?> rawClass = Types.erase(type);
+            visitedClasses.add(rawClass);
+            addSupertypes(rawClass, rawClass.getTypeParameters(), Types.sharedTypeArguments((ParameterizedType) type));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !remainingTypes.isEmpty();
+    }
+
+    @Override
+    public Type next() {
+        Type supertype = remainingTypes.poll();
+        if (supertype == null) {
+            throw new NoSuchElementException();
+        }
+        if (supertype instanceof ParameterizedType) {
+            Class<?> rawClass = Types.erase(supertype);
+            addSupertypes(rawClass, rawClass.getTypeParameters(), Types.sharedTypeArguments((ParameterizedType) supertype));
+        } else if (supertype instanceof Class) {
+            addSupertypes((Class<?>) supertype, null, null);
+        }
+        return supertype;
+    }
+
+    /**
+     * Queues each direct supertype of {@code type} that has not been seen yet, substituting {@code type}'s type arguments
+     */
+    private void addSupertypes(Class<?> type, TypeVariable<?>[] typeParameters, Type[] actualTypeArguments) {
+        Type genericSuperclass = type.getGenericSuperclass();
+        if (genericSuperclass != null) {
+            addSupertype(genericSuperclass, typeParameters, actualTypeArguments);
+        }
+        for (Type genericInterface : type.getGenericInterfaces()) {
+            addSupertype(genericInterface, typeParameters, actualTypeArguments);
+        }
+    }
+
+    private void addSupertype(Type supertype, TypeVariable<?>[] typeParameters, Type[] actualTypeArguments) {
+        if (visitedClasses.add(Types.erase(supertype))) {
+            Type substitutedType = typeParameters != null
+                                   ? SupertypeIndex.substitute(supertype, typeParameters, actualTypeArguments)
+                                   : supertype;
+            remainingTypes.add(substitutedType);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Maps registered types to values, and finds the value registered for the most specific type that a given type is {@link
+ * Types#isAssignableFrom(Type, Type) assignable} to; This replaces scanning a list of generic handler signatures for every dispatch. The
+ * result for each class is cached with the class itself, and the result for other retainable types is cached in a bounded cache, so
+ * repeated lookups are constant time. Registering or unregistering a type discards all cached results; The results for classes are held by
+ * a single {@link ClassValue} per table and tagged with the generation of the registrations they were computed from, so a stale result is
+ * recomputed on its next lookup rather than leaving a value behind on every class for each change.
+ * <p>
+ * If more than one registered type matches and none of them is more specific than all of the others, the match that was registered first
+ * among the most specific ones is chosen; That is, the earliest registration that no other matching registration is more specific than.
+ * This class is safe to use from multiple threads; Lookups never block, while registrations are serialized and should be rare compared to
+ * lookups.
+ *
+ * @param <V>
+ *     Type of the registered values
+ *
+ * @author Bryan Harclerode
+ */
+public final class TypeDispatchTable<V> {
+
+    /**
+     * Maximum number of non-class types whose results are cached
+     */
+    private static final int TYPE_CACHE_SIZE = 1024;
+
+    /**
+     * Result of looking up each class, which is recomputed whenever it was computed from an older snapshot
+     */
+    private final ClassValue<ClassSlot<V>> classMatches = new ClassValue<ClassSlot<V>>() {
+        @Override
+        protected ClassSlot<V> computeValue(Class<?> type) {
+            return new ClassSlot<>();
+        }
+    };
+
+    private volatile Snapshot<V> snapshot = new Snapshot<>(noRegistrations(), 0);
+
+    /**
+     * Registers a value for a type, replacing any value that was already registered for an equal type
+     *
+     * @param type
+     *     Type to register
+     * @param value
+     *     Value to return for lookups that match {@code type}
+     *
+     * @return The value previously registered for {@code type}, or {@code null} if there was none
+     *
+     * @throws NullPointerException
+     *     If {@code type} or {@code value} is {@code null}
+     */
+    public synchronized V register(@NonNull Type type, @NonNull V value) {
+        Registration<V>[] registrations = snapshot.getRegistrations();
+        int index = indexOf(registrations, type);
+        Registration<V>[] newRegistrations;
+        if (index < 0) {
+            newRegistrations = Arrays.copyOf(registrations, registrations.length + 1);
+            index = registrations.length;
+        } else {
+            newRegistrations = registrations.clone();
+        }
+        newRegistrations[index] = new Registration<>(type, value);
+        snapshot = new Snapshot<>(newRegistrations, snapshot.getGeneration() + 1);
+        return index < registrations.length ? registrations[index].getValue() : null;
+    }
+
+    /**
+     * Removes the registration for a type
+     *
+     * @param type
+     *     Type to unregister
+     *
+     * @return The value that was registered for {@code type}, or {@code null} if there was none
+     *
+     * @throws NullPointerException
+     *     If {@code type} is {@code null}
+     */
+    public synchronized V unregister(@NonNull Type type) {
+        Registration<V>[] registrations = snapshot.getRegistrations();
+        int index = indexOf(registrations, type);
+        if (index < 0) {
+            return null;
+        }
+        Registration<V>[] newRegistrations = Arrays.copyOf(registrations, registrations.length - 1);
+        System.arraycopy(registrations, index + 1, newRegistrations, index, newRegistrations.length - index);
+        snapshot = new Snapshot<>(newRegistrations, snapshot.getGeneration() + 1);
+        return registrations[index].getValue();
+    }
+
+    /**
+     * Finds the value registered for the most specific type that a class is assignable to
+     *
+     * @param type
+     *     Class to look up
+     *
+     * @return The value for the most specific match, or {@code null} if {@code type} is not assignable to any registered type
+     *
+     * @throws NullPointerException
+     *     If {@code type} is {@code null}
+     */
+    public V lookup(@NonNull Class<?> type) {
+        Snapshot<V> snapshot = this.snapshot;
+        ClassSlot<V> slot = classMatches.get(type);
+        ClassMatch<V> match = slot.match;
+        if (match == null || match.getGeneration() != snapshot.getGeneration()) {
+            match = new ClassMatch<>(snapshot.getGeneration(), snapshot.match(type));
+            slot.match = match;
+        }
+        return match.getRegistration().getValue();
+    }
+
+    /**
+     * Finds the value registered for the most specific type that a type is assignable to
+     *
+     * @param type
+     *     Type to look up
+     *
+     * @return The value for the most specific match, or {@code null} if {@code type} is not assignable to any registered type
+     *
+     * @throws NullPointerException
+     *     If {@code type} is {@code null}
+     */
+    public V lookup(@NonNull Type type) {
+        if (type instanceof Class) {
+            return lookup((Class<?>) type);
+        }
+        Snapshot<V> snapshot = this.snapshot;
+        TypeKey key = TypeKey.of(type);
+        Registration<V> match = snapshot.getTypeMatches().getIfPresent(key);
+        if (match == null) {
+            match = snapshot.match(type);
+            if (Types.isRetainable(type)) {
+                snapshot.getTypeMatches().put(key, match);
+            }
+        }
+        return match.getValue();
+    }
+
+    /**
+     * @return The number of registered types
+     */
+    public int size() {
+        return snapshot.getRegistrations().length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> Registration<V>[] noRegistrations() {
+        return (Registration<V>[]) new Registration<?>[0];
+    }
+
+    private static int indexOf(Registration<?>[] registrations, Type type) {
+        for (int i = 0; i < registrations.length; i++) {
+            if (Types.equals(registrations[i].getType(), type)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Value
+    private static class Registration<V> {
+        /**
+         * Placeholder for lookups without any match, since neither cache can hold {@code null}
+         */
+        private static final Registration<?> NONE = new Registration<>(null, null);
+
+        Type type;
+
+        V value;
+    }
+
+    /**
+     * Most specific registration for a class, and the generation of the snapshot it was found in
+     */
+    @Value
+    private static class ClassMatch<V> {
+        int generation;
+
+        Registration<V> registration;
+    }
+
+    /**
+     * Holder for the latest result of looking up a class; Racing lookups may overwrite each other's result, which is harmless since a
+     * result from an older generation is simply recomputed.
+     */
+    private static final class ClassSlot<V> {
+        private volatile ClassMatch<V> match;
+    }
+
+    /**
+     * Immutable set of registrations, together with the cached results of looking up other types; A new snapshot with the next generation
+     * is created for every change, which discards the cache of the previous one and invalidates the results held by each {@link ClassSlot}.
+     */
+    @Value
+    private static class Snapshot<V> {
+        Registration<V>[] registrations;
+
+        int generation;
+
+        BoundedCache<TypeKey, Registration<V>> typeMatches = new BoundedCache<>(TypeMetrics.Cache.TYPE_DISPATCH, TYPE_CACHE_SIZE);
+
+        /**
+         * Finds the earliest registration that {@code type} is assignable to and that no other match is more specific than, bypassing the
+         * caches
+         */
+        @SuppressWarnings("unchecked")
+        Registration<V> match(Type type) {
+            List<Registration<V>> matches = new ArrayList<>();
+            for (Registration<V> registration : registrations) {
+                if (Types.isAssignableFrom(registration.getType(), type)) {
+                    matches.add(registration);
+                }
+            }
+            for (Registration<V> candidate : matches) {
+                if (isMostSpecific(candidate, matches)) {
+                    return candidate;
+                }
+            }
+            return (Registration<V>) Registration.NONE;
+        }
+
+        private static <V> boolean isMostSpecific(Registration<V> candidate, List<Registration<V>> matches) {
+            for (Registration<V> other : matches) {
+                if (isMoreSpecific(other, candidate)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isMoreSpecific(Registration<?> registration, Registration<?> other) {
+            return Types.isAssignableFrom(other.getType(), registration.getType())
+                   && !Types.isAssignableFrom(registration.getType(), other.getType());
+        }
+    }
+}
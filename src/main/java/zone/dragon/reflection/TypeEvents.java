@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder events for the expensive, uncached work done by {@link Types}; The events are disabled by default, and must be enabled in
+ * a recording's settings, such as with {@code Recording.enable("zone.dragon.reflection.TypeResolution")}. While they are disabled, or on a
+ * runtime without Flight Recorder, beginning and committing an event does nothing and allocates nothing.
+ * <p>
+ * Only {@link Recorder} refers to the {@code jdk.jfr} API, and it is never loaded unless that API is present, so this class and its callers
+ * link on any Java 8 runtime; Compiling the library still requires a JDK that includes {@code jdk.jfr}, which is 8u262 or later.
+ *
+ * @author Bryan Harclerode
+ */
+final class TypeEvents {
+
+    /**
+     * Whether the Flight Recorder API is present; {@link Recorder} is never loaded if it is not.
+     */
+    private static final boolean AVAILABLE = isAvailable();
+
+    private TypeEvents() {}
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, TypeEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Starts timing the resolution of a type hierarchy
+     *
+     * @return The event to commit once the hierarchy is resolved, or {@code null} if the event is not enabled
+     */
+    static Object beginResolution() {
+        return AVAILABLE ? Recorder.beginResolution() : null;
+    }
+
+    /**
+     * Records the resolution of a type hierarchy
+     *
+     * @param event
+     *     Event returned by {@link #beginResolution()}
+     * @param type
+     *     Class or parameterized type whose hierarchy was resolved
+     * @param supertypes
+     *     Number of supertypes visited
+     * @param bindings
+     *     Number of type variable bindings produced
+     */
+    static void commitResolution(Object event, Type type, int supertypes, int bindings) {
+        if (event != null) {
+            Recorder.commitResolution(event, type, supertypes, bindings);
+        }
+    }
+
+    /**
+     * Starts timing the reification of a type
+     *
+     * @return The event to commit once the type is reified, or {@code null} if the event is not enabled
+     */
+    static Object beginReification() {
+        return AVAILABLE ? Recorder.beginReification() : null;
+    }
+
+    /**
+     * Records the reification of a type
+     *
+     * @param event
+     *     Event returned by {@link #beginReification()}
+     * @param type
+     *     Type that was reified
+     * @param reifiedType
+     *     Result of reifying {@code type}
+     * @param bindings
+     *     Number of type variable bindings that {@code type} was reified against
+     */
+    static void commitReification(Object event, Type type, Type reifiedType, int bindings) {
+        if (event != null) {
+            Recorder.commitReification(event, type, reifiedType, bindings);
+        }
+    }
+
+    /**
+     * Creates and commits the events; A shared instance of each event is only ever asked whether its type is enabled, so that nothing is
+     * allocated until a recording enables it.
+     */
+    private static final class Recorder {
+        private static final ResolutionEvent RESOLUTION = new ResolutionEvent();
+
+        private static final ReificationEvent REIFICATION = new ReificationEvent();
+
+        static Object beginResolution() {
+            if (!RESOLUTION.isEnabled()) {
+                return null;
+            }
+            ResolutionEvent event = new ResolutionEvent();
+            event.begin();
+            return event;
+        }
+
+        static void commitResolution(Object event, Type type, int supertypes, int bindings) {
+            ResolutionEvent resolution = (ResolutionEvent) event;
+            if (resolution.shouldCommit()) {
+                resolution.type = type.getTypeName();
+                resolution.supertypes = supertypes;
+                resolution.bindings = bindings;
+                resolution.commit();
+            }
+        }
+
+        static Object beginReification() {
+            if (!REIFICATION.isEnabled()) {
+                return null;
+            }
+            ReificationEvent event = new ReificationEvent();
+            event.begin();
+            return event;
+        }
+
+        static void commitReification(Object event, Type type, Type reifiedType, int bindings) {
+            ReificationEvent reification = (ReificationEvent) event;
+            if (reification.shouldCommit()) {
+                reification.type = type.getTypeName();
+                reification.reifiedType = reifiedType.getTypeName();
+                reification.bindings = bindings;
+                reification.commit();
+            }
+        }
+    }
+
+    @Name("zone.dragon.reflection.TypeResolution")
+    @Label("Type Resolution")
+    @Category({"Reflection", "Types"})
+    @Description("Resolution of the type variable bindings of every supertype of a class or parameterized type")
+    @Enabled(false)
+    static final class ResolutionEvent extends Event {
+
+        @Label("Type")
+        String type;
+
+        @Label("Supertypes")
+        @Description("Number of supertypes visited")
+        int supertypes;
+
+        @Label("Bindings")
+        @Description("Number of type variable bindings produced")
+        int bindings;
+    }
+
+    @Name("zone.dragon.reflection.TypeReification")
+    @Label("Type Reification")
+    @Category({"Reflection", "Types"})
+    @Description("Substitution of type variable bindings into a type that was not already memoized")
+    @Enabled(false)
+    static final class ReificationEvent extends Event {
+
+        @Label("Type")
+        String type;
+
+        @Label("Reified Type")
+        String reifiedType;
+
+        @Label("Bindings")
+        @Description("Number of type variable bindings available to the reification")
+        int bindings;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Wraps a type for use as a key in hash-based collections, comparing with {@link Types#equals(Type, Type)} instead of the type's own
+ * {@code equals}; Keys for the same type are equal even when one came from core reflection and the other was built by {@link Types}, so
+ * caches keyed by {@code TypeKey} hit no matter which path produced the type being looked up.
+ *
+ * @author Bryan Harclerode
+ * @see ConcurrentTypeMap
+ */
+@Getter
+public final class TypeKey {
+
+    /**
+     * The wrapped type
+     */
+    private final Type type;
+
+    @Getter(AccessLevel.NONE)
+    private final int hashCode;
+
+    private TypeKey(Type type) {
+        this.type = type;
+        this.hashCode = Types.hashCode(type);
+    }
+
+    /**
+     * Creates a key for a type
+     *
+     * @param type
+     *     Type to wrap
+     *
+     * @return A key that is equal to the key of any structurally equal type
+     *
+     * @throws NullPointerException
+     *     If {@code type} is {@code null}
+     */
+    public static TypeKey of(@NonNull Type type) {
+        return new TypeKey(type);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        } else if (!(o instanceof TypeKey)) {
+            return false;
+        }
+        TypeKey other = (TypeKey) o;
+        return hashCode == other.hashCode && Types.equals(type, other.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return type.getTypeName();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.List;
+
+/**
+ * The kinds of {@link Type} that are distinguished when walking a type; The implementation classes of this library and of core reflection
+ * are recognized by identity, and the kind of any other implementation class is only computed once. This avoids chains of {@code
+ * instanceof} checks against interfaces, where each failed check has to scan every interface of the tested class.
+ *
+ * @author Bryan Harclerode
+ */
+enum TypeKind {
+    CLASS,
+    PARAMETERIZED,
+    WILDCARD,
+    GENERIC_ARRAY,
+    TYPE_VARIABLE,
+    /**
+     * An implementation of {@link Type} that does not implement any of the known subinterfaces
+     */
+    OTHER;
+
+    private static final ClassValue<TypeKind> KINDS = new ClassValue<TypeKind>() {
+        @Override
+        protected TypeKind computeValue(Class<?> type) {
+            if (Class.class.isAssignableFrom(type)) {
+                return CLASS;
+            } else if (ParameterizedType.class.isAssignableFrom(type)) {
+                return PARAMETERIZED;
+            } else if (WildcardType.class.isAssignableFrom(type)) {
+                return WILDCARD;
+            } else if (GenericArrayType.class.isAssignableFrom(type)) {
+                return GENERIC_ARRAY;
+            } else if (TypeVariable.class.isAssignableFrom(type)) {
+                return TYPE_VARIABLE;
+            }
+            return OTHER;
+        }
+    };
+
+    /**
+     * Implementation classes that are checked by identity before falling back to {@link #KINDS}
+     */
+    private static final Class<?>[] KNOWN_IMPLEMENTATIONS;
+
+    /**
+     * Kind of each class in {@link #KNOWN_IMPLEMENTATIONS}
+     */
+    private static final TypeKind[] KNOWN_KINDS;
+
+    /**
+     * Number of leading classes in {@link #KNOWN_IMPLEMENTATIONS} that are core reflection implementations
+     */
+    private static final int CORE_IMPLEMENTATION_COUNT = 4;
+
+    static {
+        // Comparable<List<? extends T>[]> contains a core reflection implementation of each kind of type
+        ParameterizedType reflectedType = (ParameterizedType) Sample.class.getGenericInterfaces()[0];
+        GenericArrayType reflectedArray = (GenericArrayType) reflectedType.getActualTypeArguments()[0];
+        ParameterizedType reflectedList = (ParameterizedType) reflectedArray.getGenericComponentType();
+        WildcardType reflectedWildcard = (WildcardType) reflectedList.getActualTypeArguments()[0];
+        Type[] samples = {
+            reflectedType,
+            reflectedArray,
+            reflectedWildcard,
+            reflectedWildcard.getUpperBounds()[0],
+            Types.parameterized(null, List.class, String.class),
+            Types.arrayOf(reflectedList),
+            Types.anyExtends(Object.class)
+        };
+        KNOWN_IMPLEMENTATIONS = new Class<?>[samples.length];
+        KNOWN_KINDS = new TypeKind[samples.length];
+        for (int i = 0; i < samples.length; i++) {
+            KNOWN_IMPLEMENTATIONS[i] = samples[i].getClass();
+            KNOWN_KINDS[i] = KINDS.get(KNOWN_IMPLEMENTATIONS[i]);
+        }
+    }
+
+    /**
+     * Looks up the kind of a type
+     *
+     * @param type
+     *     Type to inspect
+     *
+     * @return The kind of {@code type}
+     */
+    static TypeKind of(Type type) {
+        Class<?> implementation = type.getClass();
+        if (implementation == Class.class) {
+            return CLASS;
+        }
+        for (int i = 0; i < KNOWN_IMPLEMENTATIONS.length; i++) {
+            if (KNOWN_IMPLEMENTATIONS[i] == implementation) {
+                return KNOWN_KINDS[i];
+            }
+        }
+        return KINDS.get(implementation);
+    }
+
+    /**
+     * Checks if a type is a class, or one of the core reflection or library implementations of the other kinds, whose own {@code
+     * hashCode} is structural
+     *
+     * @param type
+     *     Type to inspect
+     *
+     * @return {@code true} if {@code type} is a known implementation
+     */
+    static boolean isKnownImplementation(Type type) {
+        Class<?> implementation = type.getClass();
+        if (implementation == Class.class) {
+            return true;
+        }
+        for (Class<?> knownImplementation : KNOWN_IMPLEMENTATIONS) {
+            if (knownImplementation == implementation) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a type is a class or one of the core reflection implementations of the other kinds, whose own {@code equals} agrees with
+     * {@link Types#equals(Type, Type)} when compared against another instance of the same implementation; Reflected types always have
+     * their owners and bounds filled in, while the library's implementations compare those strictly to stay symmetric with core reflection.
+     *
+     * @param type
+     *     Type to inspect
+     *
+     * @return {@code true} if {@code type} is a core implementation
+     */
+    static boolean isCoreImplementation(Type type) {
+        Class<?> implementation = type.getClass();
+        if (implementation == Class.class) {
+            return true;
+        }
+        for (int i = 0; i < CORE_IMPLEMENTATION_COUNT; i++) {
+            if (KNOWN_IMPLEMENTATIONS[i] == implementation) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private interface Sample<T> extends Comparable<List<? extends T>[]> {}
+}
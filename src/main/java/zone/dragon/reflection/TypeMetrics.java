@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Receives measurements of the operations and caches of this library, so that they can be bridged to a metrics registry; An
+ * implementation is installed with {@link Types#setMetrics(TypeMetrics)}, and must be thread-safe and cheap, since it is called on
+ * every measured operation and cache lookup. Every method does nothing by default. {@link InMemoryTypeMetrics} accumulates the
+ * measurements into counters that can be read as a snapshot.
+ *
+ * @author Bryan Harclerode
+ */
+public interface TypeMetrics {
+
+    /**
+     * Metrics that discard all measurements; This is installed by default, in which case operations are not timed at all.
+     */
+    TypeMetrics NONE = new TypeMetrics() {};
+
+    /**
+     * Records a completed call to one of the measured operations; Calls made by this library to implement other operations are not
+     * recorded.
+     *
+     * @param operation
+     *     Operation that was called
+     * @param durationNanos
+     *     Time taken by the call, in nanoseconds
+     */
+    default void recordCall(Operation operation, long durationNanos) {}
+
+    /**
+     * Records a lookup that was answered by a cache
+     *
+     * @param cache
+     *     Cache that was consulted
+     */
+    default void recordHit(Cache cache) {}
+
+    /**
+     * Records a lookup that was not answered by a cache, and had to be computed
+     *
+     * @param cache
+     *     Cache that was consulted
+     */
+    default void recordMiss(Cache cache) {}
+
+    /**
+     * Records an entry that was evicted from a cache to make room for another
+     *
+     * @param cache
+     *     Cache that was full
+     */
+    default void recordEviction(Cache cache) {}
+
+    /**
+     * Operations whose calls and latency are measured
+     */
+    enum Operation {
+        /**
+         * {@link Types#rawType(Type)}
+         */
+        RAW_TYPE,
+        /**
+         * {@link Types#reifyType(Type, Map)}
+         */
+        REIFY_TYPE,
+        /**
+         * {@link Types#resolveTypeVariable(Type, Class, int)}
+         */
+        RESOLVE_TYPE_VARIABLE,
+        /**
+         * {@link Types#resolveReifiedType(Type, Type, Class, int)}
+         */
+        RESOLVE_REIFIED_TYPE
+    }
+
+    /**
+     * Caches whose hits, misses, and evictions are measured
+     */
+    enum Cache {
+        /**
+         * Supertype indexes of classes
+         */
+        SUPERTYPE_INDEX,
+        /**
+         * Supertype indexes of parameterized types
+         */
+        PARAMETERIZED_SUPERTYPE_INDEX,
+        /**
+         * Types memoized by {@link Types#reifyType(Type, Map)}, across all type variable maps
+         */
+        REIFIED_TYPE,
+        /**
+         * Answers memoized by {@link Types#isAssignableFrom(Type, Type)}
+         */
+        SUBTYPE,
+        /**
+         * Matches memoized by {@link TypeDispatchTable#lookup(Type)}, across all tables
+         */
+        TYPE_DISPATCH,
+        /**
+         * Types memoized by {@link Types#parse(String, ClassLoader)}
+         */
+        PARSED_TYPE,
+        /**
+         * Classes loaded by {@link Types#parse(String, ClassLoader)}
+         */
+        PARSED_CLASS,
+        /**
+         * Member accessors of parameterized types memoized by {@link MemberAccessors#of(Type)}; Classes are not counted, since their
+         * accessors are held by a {@link ClassValue}.
+         */
+        MEMBER_ACCESSORS,
+        /**
+         * Properties of parameterized types memoized by {@link BeanProperties#of(Type)}; Classes are not counted, since their properties
+         * are held by a {@link ClassValue}.
+         */
+        BEAN_PROPERTIES
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.io.IOException;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+
+/**
+ * Renders type names directly into a caller's buffer, without building an intermediate string for each nested type; Names are rendered in
+ * the same format as {@link Type#getTypeName()} on the core reflection implementations.
+ *
+ * @author Bryan Harclerode
+ */
+final class TypeNames {
+
+    private TypeNames() {}
+
+    /**
+     * Renders the name of a type; See {@link Types#appendTypeName(Type, Appendable, boolean)}
+     *
+     * @param type
+     *     Type to render
+     * @param out
+     *     Buffer to render into
+     * @param simpleNames
+     *     {@code true} to render classes by their simple names
+     *
+     * @throws IOException
+     *     If {@code out} throws an exception
+     */
+    static void append(Type type, Appendable out, boolean simpleNames) throws IOException {
+        switch (TypeKind.of(type)) {
+            case CLASS:
+                appendClass((Class<?>) type, out, simpleNames);
+                break;
+            case PARAMETERIZED:
+                appendParameterized((ParameterizedType) type, out, simpleNames);
+                break;
+            case WILDCARD:
+                WildcardType wildcardType = (WildcardType) type;
+                Type[] lowerBounds = Types.sharedLowerBounds(wildcardType);
+                Type[] upperBounds = Types.sharedUpperBounds(wildcardType);
+                out.append('?');
+                if (lowerBounds.length > 0) {
+                    out.append(" super ");
+                    appendAll(lowerBounds, " & ", out, simpleNames);
+                } else if (upperBounds.length > 0 && !(upperBounds.length == 1 && upperBounds[0] == Object.class)) {
+                    out.append(" extends ");
+                    appendAll(upperBounds, " & ", out, simpleNames);
+                }
+                break;
+            case GENERIC_ARRAY:
+                append(((GenericArrayType) type).getGenericComponentType(), out, simpleNames);
+                out.append("[]");
+                break;
+            case TYPE_VARIABLE:
+                out.append(((TypeVariable<?>) type).getName());
+                break;
+            default:
+                out.append(type.toString());
+                break;
+        }
+    }
+
+    private static void appendClass(Class<?> type, Appendable out, boolean simpleNames) throws IOException {
+        int dimensions = 0;
+        while (type.isArray()) {
+            type = type.getComponentType();
+            dimensions++;
+        }
+        out.append(simpleNames ? type.getSimpleName() : type.getName());
+        for (int i = 0; i < dimensions; i++) {
+            out.append("[]");
+        }
+    }
+
+    /**
+     * Renders a parameterized type; Member classes are appended to their owner type with a {@code $}, or with a {@code .} in simple name
+     * mode, and are only prefixed by an owner that is a class in full name mode.
+     */
+    private static void appendParameterized(ParameterizedType type, Appendable out, boolean simpleNames) throws IOException {
+        Type ownerType = type.getOwnerType();
+        Type rawType = type.getRawType();
+        if (!(rawType instanceof Class)) {
+            append(rawType, out, simpleNames);
+        } else if (ownerType == null || (simpleNames && ownerType instanceof Class)) {
+            appendClass((Class<?>) rawType, out, simpleNames);
+        } else {
+            append(ownerType, out, simpleNames);
+            out.append(simpleNames ? '.' : '$');
+            Class<?> ownerClass = Types.erase(ownerType);
+            String rawName = ((Class<?>) rawType).getName();
+            // Strip the owner's name from the binary name of the member class
+            if (rawName.startsWith(ownerClass.getName()) && rawName.length() > ownerClass.getName().length() + 1) {
+                out.append(rawName, ownerClass.getName().length() + 1, rawName.length());
+            } else {
+                out.append(((Class<?>) rawType).getSimpleName());
+            }
+        }
+        Type[] typeArguments = Types.sharedTypeArguments(type);
+        if (typeArguments.length > 0) {
+            out.append('<');
+            appendAll(typeArguments, ", ", out, simpleNames);
+            out.append('>');
+        }
+    }
+
+    private static void appendAll(Type[] types, String separator, Appendable out, boolean simpleNames) throws IOException {
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) {
+                out.append(separator);
+            }
+            append(types[i], out, simpleNames);
+        }
+    }
+}
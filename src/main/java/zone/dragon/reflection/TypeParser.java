@@ -0,0 +1,308 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Parses type names, in the format produced by {@link Type#getTypeName()}, back into types; Parsed types are cached per class loader as
+ * long as they are {@link Types#isRetainable(Type) retainable}, and so are the classes that names resolve to, so repeatedly parsing the
+ * same names neither allocates nor loads classes.
+ *
+ * @author Bryan Harclerode
+ */
+final class TypeParser {
+
+    /**
+     * Maximum number of parsed type names that are remembered for each class loader
+     */
+    private static final int TYPE_CACHE_SIZE = 1024;
+
+    /**
+     * Maximum number of resolved class names that are remembered for each class loader
+     */
+    private static final int CLASS_CACHE_SIZE = 4096;
+
+    private static final Type[] EMPTY = new Type[0];
+
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        for (Class<?> primitive : new Class<?>[]{
+            boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class, void.class
+        }) {
+            PRIMITIVES.put(primitive.getName(), primitive);
+        }
+    }
+
+    /**
+     * Caches for the class loader of this library, which are used without going through {@link #LOADER_CACHES}
+     */
+    private static final LoaderCache LIBRARY_CACHE = new LoaderCache();
+
+    /**
+     * Caches for any other class loaders; A cache never strongly refers to classes that would pin its class loader, so class loaders can
+     * still be collected.
+     */
+    private static final Map<ClassLoader, LoaderCache> LOADER_CACHES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private TypeParser() {}
+
+    /**
+     * Parses a type name; See {@link Types#parse(String, ClassLoader)}
+     *
+     * @param typeName
+     *     Type name to parse
+     * @param classLoader
+     *     Class loader used to load the named classes, or {@code null} for the bootstrap class loader
+     *
+     * @return The parsed type
+     */
+    static Type parse(String typeName, ClassLoader classLoader) {
+        LoaderCache cache = classLoader == Types.class.getClassLoader() ? LIBRARY_CACHE : LOADER_CACHES.computeIfAbsent(
+            classLoader,
+            key -> new LoaderCache()
+        );
+        Type type = cache.types.getIfPresent(typeName);
+        if (type == null) {
+            Parser parser = new Parser(typeName, classLoader, cache);
+            type = parser.type(true);
+            parser.skipSpaces();
+            if (parser.position < typeName.length()) {
+                throw parser.malformed();
+            }
+            if (Types.isRetainable(type)) {
+                cache.types.put(typeName, type);
+            }
+        }
+        return type;
+    }
+
+    /**
+     * Parsed types and resolved classes for a single class loader
+     */
+    private static final class LoaderCache {
+
+        /**
+         * Parsed types; Only types that can't pin any class loader are cached.
+         */
+        final BoundedCache<String, Type> types = new BoundedCache<>(TypeMetrics.Cache.PARSED_TYPE, TYPE_CACHE_SIZE);
+
+        /**
+         * Resolved classes by name; The classes are only weakly referenced, since they may belong to the class loader that owns this cache.
+         */
+        final BoundedCache<String, WeakReference<Class<?>>> classes = new BoundedCache<>(TypeMetrics.Cache.PARSED_CLASS, CLASS_CACHE_SIZE);
+    }
+
+    /**
+     * Recursive descent parser over a single type name
+     */
+    private static final class Parser {
+
+        private final String typeName;
+
+        private final ClassLoader classLoader;
+
+        private final LoaderCache cache;
+
+        private int position;
+
+        Parser(String typeName, ClassLoader classLoader, LoaderCache cache) {
+            this.typeName = typeName;
+            this.classLoader = classLoader;
+            this.cache = cache;
+        }
+
+        /**
+         * Parses a type, such as {@code java.util.Map<K, V>[]}, or, if {@code allowWildcard} is set, a wildcard such as {@code ? extends
+         * java.lang.Number}
+         */
+        Type type(boolean allowWildcard) {
+            skipSpaces();
+            if (allowWildcard && at('?')) {
+                position++;
+                return wildcard();
+            }
+            Type type = classType();
+            skipSpaces();
+            while (at('[')) {
+                position++;
+                expect(']');
+                type = Types.arrayOf(type);
+                skipSpaces();
+            }
+            return type;
+        }
+
+        private Type wildcard() {
+            skipSpaces();
+            if (keyword("extends")) {
+                return Types.anyExtends(bounds());
+            } else if (keyword("super")) {
+                return Types.wildcard(new Type[]{Object.class}, bounds());
+            }
+            return Types.wildcard(new Type[]{Object.class}, EMPTY);
+        }
+
+        private Type[] bounds() {
+            Type bound = type(false);
+            skipSpaces();
+            if (!at('&')) {
+                return new Type[]{bound};
+            }
+            List<Type> bounds = new ArrayList<>();
+            bounds.add(bound);
+            while (at('&')) {
+                position++;
+                bounds.add(type(false));
+                skipSpaces();
+            }
+            return bounds.toArray(EMPTY);
+        }
+
+        /**
+         * Parses a class or parameterized type, including any member classes of a parameterized owner, such as {@code
+         * pkg.Outer<T>$Inner<U>}
+         */
+        private Type classType() {
+            skipKind();
+            Class<?> rawType = loadClass(name());
+            Type type = rawType;
+            while (true) {
+                skipSpaces();
+                if (!at('<')) {
+                    return type;
+                }
+                position++;
+                // Like core reflection, a member class of a non-generic class is owned by its declaring class
+                type = Types.parameterized(type != rawType ? type : rawType.getDeclaringClass(), rawType, typeArguments());
+                if (!at('$') && !at('.')) {
+                    return type;
+                }
+                position++;
+                skipKind();
+                String memberName = name();
+                // Member classes are either named by their simple name, or by their full binary name
+                rawType = loadClass(memberName.startsWith(rawType.getName() + '$') ? memberName : rawType.getName() + '$' + memberName);
+                if (!at('<')) {
+                    return Types.parameterized(type, rawType);
+                }
+            }
+        }
+
+        private Type[] typeArguments() {
+            List<Type> arguments = new ArrayList<>(2);
+            arguments.add(type(true));
+            skipSpaces();
+            while (at(',')) {
+                position++;
+                arguments.add(type(true));
+                skipSpaces();
+            }
+            expect('>');
+            return arguments.toArray(EMPTY);
+        }
+
+        /**
+         * Reads a qualified name, which ends at the first character that can't be part of a Java identifier, a {@code .}, or a {@code $}
+         */
+        private String name() {
+            int start = position;
+            while (position < typeName.length()) {
+                char c = typeName.charAt(position);
+                if (c != '.' && !Character.isJavaIdentifierPart(c)) {
+                    break;
+                }
+                position++;
+            }
+            if (position == start) {
+                throw malformed();
+            }
+            return typeName.substring(start, position);
+        }
+
+        /**
+         * Skips the {@code class} or {@code interface} prefix that {@link Class#toString()} adds to names
+         */
+        private void skipKind() {
+            if (!keyword("class")) {
+                keyword("interface");
+            }
+        }
+
+        /**
+         * Consumes a keyword followed by a space, if it is next
+         */
+        private boolean keyword(String keyword) {
+            int end = position + keyword.length();
+            if (end < typeName.length() && typeName.charAt(end) == ' ' && typeName.startsWith(keyword, position)) {
+                position = end;
+                skipSpaces();
+                return true;
+            }
+            return false;
+        }
+
+        private Class<?> loadClass(String name) {
+            WeakReference<Class<?>> cached = cache.classes.getIfPresent(name);
+            Class<?> loadedClass = cached != null ? cached.get() : null;
+            if (loadedClass == null) {
+                loadedClass = PRIMITIVES.get(name);
+                if (loadedClass != null) {
+                    return loadedClass;
+                }
+                try {
+                    loadedClass = Class.forName(name, false, classLoader);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    throw new IllegalArgumentException("Unknown class " + name + " in type name " + typeName, e);
+                }
+                cache.classes.put(name, new WeakReference<>(loadedClass));
+            }
+            return loadedClass;
+        }
+
+        private boolean at(char c) {
+            return position < typeName.length() && typeName.charAt(position) == c;
+        }
+
+        private void expect(char c) {
+            if (!at(c)) {
+                throw malformed();
+            }
+            position++;
+        }
+
+        void skipSpaces() {
+            while (at(' ')) {
+                position++;
+            }
+        }
+
+        IllegalArgumentException malformed() {
+            return new IllegalArgumentException("Malformed type name " + typeName + " at index " + position);
+        }
+    }
+}
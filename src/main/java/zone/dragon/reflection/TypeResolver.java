@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * Resolves types encountered within a fixed context type, such as the types of the fields and methods of a class; The type variable
+ * bindings of the context are computed once when the resolver is created, so each resolution only pays for reifying the member type.
+ * Instances are immutable and safe to share between threads.
+ *
+ * @author Bryan Harclerode
+ */
+@Getter
+@ToString(of = "contextType")
+public final class TypeResolver {
+
+    /**
+     * Contextual type in which types are resolved
+     */
+    private final Type contextType;
+
+    /**
+     * Immutable map of all type variables bound by the context type; See {@link Types#resolveTypeVariables(Type)}
+     */
+    private final Map<TypeVariable<? extends Class<?>>, Type> typeVariables;
+
+    /**
+     * @param contextType
+     *     Contextual type in which types will be resolved; If this is {@code null}, then type variables are only reduced to their bounds
+     */
+    public TypeResolver(Type contextType) {
+        this.contextType = contextType;
+        this.typeVariables = Types.resolveTypeVariables(contextType);
+    }
+
+    /**
+     * Reifies all type variables in a type using the bindings of the context type; See {@link Types#reifyType(Type, Map)}
+     *
+     * @param type
+     *     Type to reify
+     *
+     * @return {@code type}, but with all type variables replaced with actual types; If {@code type} is {@code null}, then {@code null} is
+     * returned
+     */
+    public Type reify(Type type) {
+        return Types.reifyType(type, typeVariables);
+    }
+
+    /**
+     * Reifies a type in the context type, and then resolves one of the type variables of its supertype {@code targetClass}; This is
+     * equivalent to {@link Types#resolveReifiedType(Type, Type, Class, int)} with the context type of this resolver.
+     *
+     * @param boundType
+     *     Type that should be reified and resolved
+     * @param targetClass
+     *     Class to resolve from {@code boundType}
+     * @param targetTypeVariableIndex
+     *     Index of the type variable from {@code targetClass} to resolve
+     *
+     * @return A fully resolved type, or {@code null} if {@code targetClass} is not a supertype of {@code boundType}
+     *
+     * @throws NullPointerException
+     *     If {@code targetClass} is {@code null}
+     * @throws IllegalArgumentException
+     *     If {@code targetClass} is not generic
+     * @throws IndexOutOfBoundsException
+     *     If {@code targetTypeVariableIndex} is less than 0 or more than the number of type variables in {@code targetClass}
+     */
+    public Type resolve(Type boundType, @NonNull Class<?> targetClass, int targetTypeVariableIndex) {
+        return Types.resolveTypeVariable(reify(boundType), targetClass, targetTypeVariableIndex);
+    }
+
+    /**
+     * Reduces a type to its raw type, using the bindings of the context type for any type variables; This is equivalent to {@code
+     * Types.rawType(reify(type))}, but does not need to construct the reified type.
+     *
+     * @param type
+     *     The type to process
+     *
+     * @return The raw type for {@code type}
+     */
+    public Class<?> rawType(Type type) {
+        return rawType(type, null);
+    }
+
+    /**
+     * Implements {@link #rawType(Type)}; {@code expanding} holds the type variables whose bindings are being reduced, so that a variable
+     * bound to itself, such as {@code T} in {@code class Outer<T> { class Inner extends Outer<T> {} }}, is erased rather than expanded
+     * forever, just as {@link Types#reifyType(Type, Map)} does. It is only allocated once a binding could lead back to a variable.
+     */
+    private Class<?> rawType(Type type, Set<TypeVariable<?>> expanding) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type == null) {
+            return Object.class;
+        }
+        switch (TypeKind.of(type)) {
+            case TYPE_VARIABLE:
+                TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+                Type boundType = typeVariables.get(typeVariable);
+                Type nextType = boundType != null ? boundType : Types.firstBound(typeVariable.getBounds());
+                if (nextType == null || nextType instanceof Class || nextType instanceof ParameterizedType) {
+                    return rawType(nextType, expanding);
+                }
+                if (expanding == null) {
+                    expanding = new HashSet<>();
+                }
+                if (!expanding.add(typeVariable)) {
+                    return Types.erase(typeVariable);
+                }
+                return rawType(nextType, expanding);
+            case WILDCARD:
+                return rawType(Types.firstBound(Types.sharedUpperBounds((WildcardType) type)), expanding);
+            case GENERIC_ARRAY:
+                return Types.arrayClass(rawType(((GenericArrayType) type).getGenericComponentType(), expanding));
+            default:
+                return Types.erase(type);
+        }
+    }
+}
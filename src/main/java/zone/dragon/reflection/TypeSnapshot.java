@@ -0,0 +1,623 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.io.IOException;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A persistent snapshot of the resolved supertypes of a set of classes, which lets a new JVM skip walking and substituting the generic
+ * hierarchies of those classes; Snapshots are {@link #write(Collection, Path) written} ahead of time, for example as part of a build, and
+ * then {@link #load(Path, ClassLoader) loaded} and {@link #install() installed} during startup. Once installed, the first resolution of
+ * each class in the snapshot decodes its entry instead of reflecting over its supertypes.
+ * <p>
+ * The file is memory-mapped when it is loaded, and each entry is only decoded when its class is first resolved. Entries are validated
+ * against the classes that are actually loaded: An entry is ignored, and the hierarchy is resolved from reflection instead, if the class
+ * was loaded by a different class loader than the snapshot was loaded for, if its direct superclass or interfaces have changed, or if any
+ * class it refers to can no longer be loaded or no longer has the recorded shape. Changes to the type arguments of a supertype that leave
+ * the raw hierarchy intact can't be detected, so a snapshot should be regenerated whenever the classes in it are rebuilt.
+ *
+ * @author Bryan Harclerode
+ */
+public final class TypeSnapshot {
+
+    /**
+     * Identifies a snapshot file; This is the ASCII string {@code "RTSS"}.
+     */
+    private static final int MAGIC = 0x52545353;
+
+    private static final int VERSION = 1;
+
+    private static final int CLASS_TAG = 0;
+
+    private static final int PARAMETERIZED_TAG = 1;
+
+    private static final int WILDCARD_TAG = 2;
+
+    private static final int GENERIC_ARRAY_TAG = 3;
+
+    private static final int TYPE_VARIABLE_TAG = 4;
+
+    /**
+     * Snapshots that are consulted when a class is first resolved
+     */
+    private static final List<TypeSnapshot> INSTALLED = new CopyOnWriteArrayList<>();
+
+    /**
+     * Looks up a class in every installed snapshot
+     *
+     * @param type
+     *     Class to look up
+     *
+     * @return The decoded index of {@code type}, or {@code null} if no installed snapshot has a valid entry for it
+     */
+    static SupertypeIndex lookup(Class<?> type) {
+        for (TypeSnapshot snapshot : INSTALLED) {
+            SupertypeIndex index = snapshot.decode(type);
+            if (index != null) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the supertypes of a set of classes and writes them to a snapshot file; Classes whose supertypes refer to type variables
+     * declared by methods or constructors, or to unrecognized implementations of {@link Type}, are left out of the snapshot.
+     *
+     * @param classes
+     *     Classes to include in the snapshot
+     * @param file
+     *     File to write; Any existing file is replaced.
+     *
+     * @return The number of classes that were written to the snapshot
+     *
+     * @throws IOException
+     *     If the file could not be written
+     * @throws NullPointerException
+     *     If {@code classes} or {@code file} is {@code null}
+     */
+    public static int write(@NonNull Collection<? extends Class<?>> classes, @NonNull Path file) throws IOException {
+        Encoder encoder = new Encoder();
+        for (Class<?> type : classes) {
+            encoder.addEntry(type);
+        }
+        Files.write(file, encoder.toByteArray());
+        return encoder.entries.size();
+    }
+
+    /**
+     * Memory-maps a snapshot file; Only the header is read by this method, and entries are decoded as they are needed.
+     *
+     * @param file
+     *     Snapshot file to load
+     * @param classLoader
+     *     Class loader whose classes are described by the snapshot; Entries are ignored for classes loaded by any other class loader.
+     *
+     * @return The loaded snapshot, which is not yet installed
+     *
+     * @throws IOException
+     *     If the file could not be read, or is not a snapshot written by a compatible version of this class
+     * @throws NullPointerException
+     *     If {@code file} or {@code classLoader} is {@code null}
+     */
+    public static TypeSnapshot load(@NonNull Path file, @NonNull ClassLoader classLoader) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new TypeSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), classLoader);
+        }
+    }
+
+    /**
+     * Class loader whose classes are described by this snapshot
+     */
+    @Getter
+    private final ClassLoader classLoader;
+
+    private final ByteBuffer buffer;
+
+    private final int stringOffsets;
+
+    private final int typeOffsets;
+
+    private final int slots;
+
+    private final int slotCount;
+
+    private final String[] strings;
+
+    private final Type[] types;
+
+    private TypeSnapshot(ByteBuffer buffer, ClassLoader classLoader) throws IOException {
+        this.buffer = buffer;
+        this.classLoader = classLoader;
+        try {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a type snapshot, or written by an incompatible version");
+            }
+            int stringCount = buffer.getInt(8);
+            stringOffsets = 12;
+            if (stringCount < 0 || stringCount > (buffer.limit() - stringOffsets) / 4) {
+                throw new IOException("Corrupt type snapshot");
+            }
+            int typeCount = buffer.getInt(stringOffsets + stringCount * 4);
+            typeOffsets = stringOffsets + stringCount * 4 + 4;
+            if (typeCount < 0 || typeCount > (buffer.limit() - typeOffsets) / 4) {
+                throw new IOException("Corrupt type snapshot");
+            }
+            slotCount = buffer.getInt(typeOffsets + typeCount * 4);
+            slots = typeOffsets + typeCount * 4 + 4;
+            if (slotCount < 0 || Integer.bitCount(slotCount) > 1 || slotCount > (buffer.limit() - slots) / 4) {
+                throw new IOException("Corrupt type snapshot");
+            }
+            strings = new String[stringCount];
+            types = new Type[typeCount];
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IOException("Truncated type snapshot", e);
+        }
+    }
+
+    /**
+     * Makes this snapshot available to the resolution of classes that have not been resolved yet; Classes that were already resolved are
+     * not affected. Installing a snapshot that is already installed has no effect.
+     */
+    public void install() {
+        if (!INSTALLED.contains(this)) {
+            INSTALLED.add(this);
+        }
+    }
+
+    /**
+     * Stops consulting this snapshot for classes that have not been resolved yet
+     */
+    public void uninstall() {
+        INSTALLED.remove(this);
+    }
+
+    /**
+     * @return The number of classes in this snapshot
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < slotCount; i++) {
+            if (buffer.getInt(slots + i * 4) != 0) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Decodes the entry for a class, bypassing the installed snapshots and the cache of indexes
+     *
+     * @param type
+     *     Class to decode
+     *
+     * @return The index of {@code type}, or {@code null} if there is no entry for {@code type} or its entry is stale or corrupt
+     */
+    SupertypeIndex decode(Class<?> type) {
+        if (type.getClassLoader() != classLoader || slotCount == 0) {
+            return null;
+        }
+        try {
+            int entry = findEntry(type.getName());
+            if (entry == 0 || buffer.getInt(entry + 4) != fingerprint(type)) {
+                return null;
+            }
+            int supertypeCount = buffer.getInt(entry + 8);
+            Map<Class<?>, Type[]> typeArguments = new HashMap<>(supertypeCount * 4 / 3 + 1);
+            int position = entry + 12;
+            for (int i = 0; i < supertypeCount; i++) {
+                Type supertype = type(buffer.getInt(position));
+                int argumentCount = buffer.getInt(position + 4);
+                position += 8;
+                if (!(supertype instanceof Class) || supertype == type || !((Class<?>) supertype).isAssignableFrom(type)
+                    || ((Class<?>) supertype).getTypeParameters().length != argumentCount) {
+                    return null;
+                }
+                Type[] arguments = new Type[argumentCount];
+                for (int j = 0; j < argumentCount; j++) {
+                    arguments[j] = type(buffer.getInt(position));
+                    position += 4;
+                    if (arguments[j] == null) {
+                        return null;
+                    }
+                }
+                typeArguments.put((Class<?>) supertype, arguments);
+            }
+            return SupertypeIndex.of(typeArguments, classLoader);
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException | BufferUnderflowException | IllegalArgumentException e) {
+            // A truncated or corrupt snapshot must not fail the resolution of the class, so its entry is treated as missing
+            return null;
+        }
+    }
+
+    /**
+     * Finds the offset of the entry for a class name in the open-addressed table of entries
+     *
+     * @return The offset of the entry, or 0 if there is none
+     */
+    private int findEntry(String name) {
+        int mask = slotCount - 1;
+        for (int i = name.hashCode() & mask, probes = 0; probes < slotCount; i = (i + 1) & mask, probes++) {
+            int entry = buffer.getInt(slots + i * 4);
+            if (entry == 0) {
+                return 0;
+            } else if (string(buffer.getInt(entry)).equals(name)) {
+                return entry;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Decodes a string from the string table; Decoded strings are kept, so each string is only decoded once.
+     */
+    private String string(int index) {
+        String string = strings[index];
+        if (string == null) {
+            int offset = buffer.getInt(stringOffsets + index * 4);
+            int length = buffer.getInt(offset);
+            if (length < 0 || length > buffer.limit() - offset - 4) {
+                throw new IndexOutOfBoundsException("Corrupt string " + index);
+            }
+            byte[] bytes = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset + 4);
+            view.get(bytes);
+            string = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = string;
+        }
+        return string;
+    }
+
+    /**
+     * Decodes a type from the type table; Decoded types are kept, so each type is only decoded once.
+     *
+     * @return The decoded type, or {@code null} if it refers to a class or type variable that no longer exists
+     */
+    private Type type(int index) {
+        if (index < 0) {
+            return null;
+        }
+        Type type = types[index];
+        if (type == null) {
+            type = decodeType(index, buffer.getInt(typeOffsets + index * 4));
+            types[index] = type;
+        }
+        return type;
+    }
+
+    /**
+     * Decodes a type that is a component of the type at {@code index}; Components are always written before the types that refer to
+     * them, so a reference to any later type is corrupt, and rejecting it keeps a corrupt snapshot from decoding a cycle forever.
+     */
+    private Type component(int componentIndex, int index) {
+        return componentIndex < index ? type(componentIndex) : null;
+    }
+
+    private Type decodeType(int index, int offset) {
+        switch (buffer.getInt(offset)) {
+            case CLASS_TAG:
+                try {
+                    return Class.forName(string(buffer.getInt(offset + 4)), false, classLoader);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    return null;
+                }
+            case PARAMETERIZED_TAG:
+                int ownerIndex = buffer.getInt(offset + 4);
+                Type ownerType = ownerIndex >= 0 ? component(ownerIndex, index) : null;
+                Type rawType = component(buffer.getInt(offset + 8), index);
+                Type[] arguments = types(offset + 12, index);
+                if ((ownerIndex >= 0 && ownerType == null) || !(rawType instanceof Class) || arguments == null) {
+                    return null;
+                }
+                return Types.parameterized(ownerType, rawType, arguments);
+            case WILDCARD_TAG:
+                Type[] upperBounds = types(offset + 4, index);
+                Type[] lowerBounds = upperBounds != null ? types(offset + 8 + upperBounds.length * 4, index) : null;
+                if (upperBounds == null || lowerBounds == null) {
+                    return null;
+                }
+                return Types.wildcard(upperBounds, lowerBounds);
+            case GENERIC_ARRAY_TAG:
+                Type componentType = component(buffer.getInt(offset + 4), index);
+                return componentType != null ? Types.arrayOf(componentType) : null;
+            case TYPE_VARIABLE_TAG:
+                Type declaringClass = component(buffer.getInt(offset + 4), index);
+                int variableIndex = buffer.getInt(offset + 8);
+                if (!(declaringClass instanceof Class)) {
+                    return null;
+                }
+                TypeVariable<?>[] typeParameters = ((Class<?>) declaringClass).getTypeParameters();
+                return variableIndex >= 0 && variableIndex < typeParameters.length ? typeParameters[variableIndex] : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Decodes a count-prefixed list of the components of the type at {@code index}
+     *
+     * @return The decoded types, or {@code null} if any of them could not be decoded
+     */
+    private Type[] types(int offset, int index) {
+        int count = buffer.getInt(offset);
+        if (count < 0 || count > (buffer.limit() - offset - 4) / 4) {
+            return null;
+        }
+        Type[] types = new Type[count];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = component(buffer.getInt(offset + 4 + i * 4), index);
+            if (types[i] == null) {
+                return null;
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Summarizes the raw direct supertypes of a class, so that entries for classes whose declaration has changed can be ignored
+     */
+    private static int fingerprint(Class<?> type) {
+        int hash = type.getName().hashCode();
+        Class<?> superclass = type.getSuperclass();
+        hash = 31 * hash + (superclass != null ? superclass.getName().hashCode() : 0);
+        for (Class<?> anInterface : type.getInterfaces()) {
+            hash = 31 * hash + anInterface.getName().hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * Builds the string table, type table, and entries of a snapshot in memory
+     */
+    private static final class Encoder {
+
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+
+        private final List<String> strings = new ArrayList<>();
+
+        private final Map<Type, Integer> typeIndexes = new HashMap<>();
+
+        private final List<int[]> types = new ArrayList<>();
+
+        private final List<int[]> entries = new ArrayList<>();
+
+        private final List<String> entryNames = new ArrayList<>();
+
+        /**
+         * Same names as {@link #entryNames}, so that checking for a duplicate entry doesn't scan the list
+         */
+        private final Set<String> entryNameSet = new HashSet<>();
+
+        void addEntry(Class<?> type) {
+            if (type.isPrimitive() || type.isArray() || entryNameSet.contains(type.getName())) {
+                return;
+            }
+            Map<Class<?>, Type[]> typeArguments = SupertypeIndex.of(type).typeArguments();
+            for (Type[] arguments : typeArguments.values()) {
+                for (Type argument : arguments) {
+                    if (!isEncodable(argument)) {
+                        return;
+                    }
+                }
+            }
+            int[] entry = new int[3];
+            int length = 3;
+            entry[0] = string(type.getName());
+            entry[1] = fingerprint(type);
+            entry[2] = typeArguments.size();
+            for (Map.Entry<Class<?>, Type[]> supertype : typeArguments.entrySet()) {
+                Type[] arguments = supertype.getValue();
+                entry = Arrays.copyOf(entry, length + 2 + arguments.length);
+                entry[length++] = type(supertype.getKey());
+                entry[length++] = arguments.length;
+                for (Type argument : arguments) {
+                    entry[length++] = type(argument);
+                }
+            }
+            entries.add(entry);
+            entryNames.add(type.getName());
+            entryNameSet.add(type.getName());
+        }
+
+        private static boolean isEncodable(Type type) {
+            switch (TypeKind.of(type)) {
+                case CLASS:
+                    return true;
+                case PARAMETERIZED:
+                    ParameterizedType parameterizedType = (ParameterizedType) type;
+                    Type ownerType = parameterizedType.getOwnerType();
+                    return (ownerType == null || isEncodable(ownerType)) && isEncodable(parameterizedType.getActualTypeArguments());
+                case WILDCARD:
+                    WildcardType wildcardType = (WildcardType) type;
+                    return isEncodable(wildcardType.getUpperBounds()) && isEncodable(wildcardType.getLowerBounds());
+                case GENERIC_ARRAY:
+                    return isEncodable(((GenericArrayType) type).getGenericComponentType());
+                case TYPE_VARIABLE:
+                    return ((TypeVariable<?>) type).getGenericDeclaration() instanceof Class;
+                default:
+                    return false;
+            }
+        }
+
+        private static boolean isEncodable(Type[] types) {
+            for (Type type : types) {
+                if (!isEncodable(type)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int string(String string) {
+            Integer index = stringIndexes.get(string);
+            if (index == null) {
+                index = strings.size();
+                strings.add(string);
+                stringIndexes.put(string, index);
+            }
+            return index;
+        }
+
+        private int type(Type type) {
+            Integer index = typeIndexes.get(type);
+            if (index != null) {
+                return index;
+            }
+            int[] encoded;
+            switch (TypeKind.of(type)) {
+                case CLASS:
+                    encoded = new int[]{CLASS_TAG, string(((Class<?>) type).getName())};
+                    break;
+                case PARAMETERIZED:
+                    ParameterizedType parameterizedType = (ParameterizedType) type;
+                    Type ownerType = parameterizedType.getOwnerType();
+                    encoded = concat(
+                        new int[]{PARAMETERIZED_TAG, ownerType != null ? type(ownerType) : -1, type(parameterizedType.getRawType())},
+                        types(parameterizedType.getActualTypeArguments())
+                    );
+                    break;
+                case WILDCARD:
+                    WildcardType wildcardType = (WildcardType) type;
+                    encoded = concat(
+                        new int[]{WILDCARD_TAG},
+                        concat(types(wildcardType.getUpperBounds()), types(wildcardType.getLowerBounds()))
+                    );
+                    break;
+                case GENERIC_ARRAY:
+                    encoded = new int[]{GENERIC_ARRAY_TAG, type(((GenericArrayType) type).getGenericComponentType())};
+                    break;
+                default:
+                    TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+                    GenericDeclaration declaringClass = typeVariable.getGenericDeclaration();
+                    int variableIndex = Arrays.asList(declaringClass.getTypeParameters()).indexOf(typeVariable);
+                    encoded = new int[]{TYPE_VARIABLE_TAG, type((Class<?>) declaringClass), variableIndex};
+                    break;
+            }
+            index = types.size();
+            types.add(encoded);
+            typeIndexes.put(type, index);
+            return index;
+        }
+
+        /**
+         * Encodes a count-prefixed list of types
+         */
+        private int[] types(Type[] types) {
+            int[] encoded = new int[types.length + 1];
+            encoded[0] = types.length;
+            for (int i = 0; i < types.length; i++) {
+                encoded[i + 1] = type(types[i]);
+            }
+            return encoded;
+        }
+
+        private static int[] concat(int[] first, int[] second) {
+            int[] result = Arrays.copyOf(first, first.length + second.length);
+            System.arraycopy(second, 0, result, first.length, second.length);
+            return result;
+        }
+
+        /**
+         * Lays out the snapshot file; The header holds the offsets of every string and type and the table of entries, followed by the
+         * strings, the types, and the entries themselves.
+         */
+        byte[] toByteArray() {
+            byte[][] encodedStrings = new byte[strings.size()][];
+            int stringBytes = 0;
+            for (int i = 0; i < encodedStrings.length; i++) {
+                encodedStrings[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+                stringBytes += 4 + encodedStrings[i].length;
+            }
+            int slotCount = entries.isEmpty() ? 0 : Integer.highestOneBit(entries.size() * 2 - 1) << 1;
+            int headerBytes = 4 * (5 + strings.size() + types.size() + slotCount);
+            int typeBytes = 0;
+            for (int[] type : types) {
+                typeBytes += type.length * 4;
+            }
+            int entryBytes = 0;
+            for (int[] entry : entries) {
+                entryBytes += entry.length * 4;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(headerBytes + stringBytes + typeBytes + entryBytes);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(strings.size());
+            int offset = headerBytes;
+            for (byte[] encodedString : encodedStrings) {
+                buffer.putInt(offset);
+                offset += 4 + encodedString.length;
+            }
+            buffer.putInt(types.size());
+            for (int[] type : types) {
+                buffer.putInt(offset);
+                offset += type.length * 4;
+            }
+            int[] slots = new int[slotCount];
+            for (int i = 0; i < entries.size(); i++) {
+                int slot = entryNames.get(i).hashCode() & (slotCount - 1);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & (slotCount - 1);
+                }
+                slots[slot] = offset;
+                offset += entries.get(i).length * 4;
+            }
+            buffer.putInt(slotCount);
+            for (int slot : slots) {
+                buffer.putInt(slot);
+            }
+            for (byte[] encodedString : encodedStrings) {
+                buffer.putInt(encodedString.length).put(encodedString);
+            }
+            for (int[] type : types) {
+                for (int value : type) {
+                    buffer.putInt(value);
+                }
+            }
+            for (int[] entry : entries) {
+                for (int value : entry) {
+                    buffer.putInt(value);
+                }
+            }
+            return buffer.array();
+        }
+    }
+}
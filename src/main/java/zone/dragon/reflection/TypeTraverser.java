@@ -0,0 +1,310 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Walks a type for a {@link TypeVisitor} with an explicit stack, so that the depth of the type is limited only by the heap; Each type
+ * with components gets a frame on the stack holding its components and the results of the ones visited so far, and is visited once the
+ * last of them is done. The stack is only allocated once the first such type is reached.
+ *
+ * @author Bryan Harclerode
+ */
+final class TypeTraverser {
+
+    /**
+     * Number of frames the stack initially has room for
+     */
+    private static final int INITIAL_FRAMES = 4;
+
+    /**
+     * Number of slots in {@code frames} used by each frame: The type, its components, and the results of its components
+     */
+    private static final int OBJECT_SLOTS = 3;
+
+    /**
+     * Number of slots in {@code positions} used by each frame: The next component to visit, the index of the first lower bound of a
+     * wildcard, and the number of type variables that were being substituted before the type was reached
+     */
+    private static final int INT_SLOTS = 3;
+
+    private static final Type[] NO_COMPONENTS = new Type[0];
+
+    private TypeTraverser() {}
+
+    /**
+     * Visits a type; See {@link Types#visit(Type, TypeVisitor)}
+     * <p>
+     * This only handles types that have no components once substituted, and is kept small enough to be inlined into its callers, so that
+     * the calls to each visitor are resolved statically; Any other type is handed off to {@link #walk(Type, TypeVisitor, boolean)}.
+     *
+     * @param root
+     *     Type to visit
+     * @param visitor
+     *     Visitor to compute the result with
+     * @param <R>
+     *     Type of the result
+     *
+     * @return The result for {@code root}
+     */
+    static <R> R traverse(Type root, TypeVisitor<R> visitor) {
+        Type type = root;
+        Type substitute = visitor.substitute(type);
+        while (substitute != type) {
+            if (substitute == null || !(substitute instanceof Class) && TypeKind.of(type) == TypeKind.TYPE_VARIABLE) {
+                // The substitute may refer back to the variable, which has to be tracked while visiting it
+                return walk(root, visitor, false);
+            }
+            type = substitute;
+            substitute = visitor.substitute(type);
+        }
+        R result = visitor.preVisit(type);
+        if (result != null) {
+            return result;
+        }
+        switch (TypeKind.of(type)) {
+            case CLASS:
+                return visitor.visitClass((Class<?>) type);
+            case TYPE_VARIABLE:
+                return visitor.visitTypeVariable((TypeVariable<?>) type);
+            case OTHER:
+                return visitor.visitOther(type);
+            default:
+                return walk(type, visitor, true);
+        }
+    }
+
+    /**
+     * Visits a type and all of its components
+     *
+     * @param root
+     *     Type to visit
+     * @param visitor
+     *     Visitor to compute the result with
+     * @param prepared
+     *     Whether {@code root} has already been substituted and passed to {@link TypeVisitor#preVisit(Type)}
+     * @param <R>
+     *     Type of the result
+     *
+     * @return The result for {@code root}
+     */
+    private static <R> R walk(Type root, TypeVisitor<R> visitor, boolean prepared) {
+        Object[] frames = null;
+        int[] positions = null;
+        int depth = 0;
+        Type[] substituting = null;
+        int substitutingCount = 0;
+        Type next = root;
+        visit:
+        while (true) {
+            int substitutingMark = substitutingCount;
+            Type type = next;
+            R result = null;
+            boolean visited = type == null;
+            while (!visited && !prepared) {
+                Type substitute = visitor.substitute(type);
+                if (substitute == type) {
+                    break;
+                } else if (substitute == null) {
+                    throw new NullPointerException("substitute returned null for " + type);
+                } else if (!(substitute instanceof Class) && TypeKind.of(type) == TypeKind.TYPE_VARIABLE) {
+                    if (contains(substituting, substitutingCount, type)) {
+                        result = visitor.visitTypeVariable((TypeVariable<?>) type);
+                        visited = true;
+                        break;
+                    }
+                    if (substituting == null) {
+                        substituting = new Type[INITIAL_FRAMES];
+                    } else if (substitutingCount == substituting.length) {
+                        substituting = Arrays.copyOf(substituting, substitutingCount * 2);
+                    }
+                    substituting[substitutingCount++] = type;
+                }
+                type = substitute;
+            }
+            if (!visited && !prepared) {
+                result = visitor.preVisit(type);
+                visited = result != null;
+            }
+            prepared = false;
+            if (!visited) {
+                TypeKind kind = TypeKind.of(type);
+                Type[] components;
+                int split = 0;
+                switch (kind) {
+                    case CLASS:
+                        result = visitor.visitClass((Class<?>) type);
+                        visited = true;
+                        break;
+                    case TYPE_VARIABLE:
+                        result = visitor.visitTypeVariable((TypeVariable<?>) type);
+                        visited = true;
+                        break;
+                    case OTHER:
+                        result = visitor.visitOther(type);
+                        visited = true;
+                        break;
+                    default:
+                        break;
+                }
+                if (!visited) {
+                    if (kind == TypeKind.PARAMETERIZED) {
+                        ParameterizedType parameterizedType = (ParameterizedType) type;
+                        Type[] typeArguments = Types.sharedTypeArguments(parameterizedType);
+                        components = new Type[typeArguments.length + 2];
+                        components[0] = parameterizedType.getOwnerType();
+                        components[1] = parameterizedType.getRawType();
+                        System.arraycopy(typeArguments, 0, components, 2, typeArguments.length);
+                    } else if (kind == TypeKind.WILDCARD) {
+                        WildcardType wildcardType = (WildcardType) type;
+                        Type[] upperBounds = Types.sharedUpperBounds(wildcardType);
+                        Type[] lowerBounds = Types.sharedLowerBounds(wildcardType);
+                        split = upperBounds.length;
+                        components = upperBounds.length + lowerBounds.length == 0 ? NO_COMPONENTS : new Type[split + lowerBounds.length];
+                        System.arraycopy(upperBounds, 0, components, 0, split);
+                        System.arraycopy(lowerBounds, 0, components, split, lowerBounds.length);
+                    } else {
+                        components = new Type[]{((GenericArrayType) type).getGenericComponentType()};
+                    }
+                    if (components.length == 0) {
+                        result = combine(visitor, type, new Object[0], split);
+                    } else {
+                        if (frames == null) {
+                            frames = new Object[INITIAL_FRAMES * OBJECT_SLOTS];
+                            positions = new int[INITIAL_FRAMES * INT_SLOTS];
+                        } else if (depth * OBJECT_SLOTS == frames.length) {
+                            frames = Arrays.copyOf(frames, frames.length * 2);
+                            positions = Arrays.copyOf(positions, positions.length * 2);
+                        }
+                        frames[depth * OBJECT_SLOTS] = type;
+                        frames[depth * OBJECT_SLOTS + 1] = components;
+                        frames[depth * OBJECT_SLOTS + 2] = new Object[components.length];
+                        positions[depth * INT_SLOTS] = 0;
+                        positions[depth * INT_SLOTS + 1] = split;
+                        positions[depth * INT_SLOTS + 2] = substitutingMark;
+                        depth++;
+                        next = components[0];
+                        continue;
+                    }
+                }
+            }
+            substitutingCount = substitutingMark;
+            // Hand the result to the enclosing frames, visiting each one that has no components left
+            while (depth > 0) {
+                int frame = depth - 1;
+                Type[] components = (Type[]) frames[frame * OBJECT_SLOTS + 1];
+                Object[] results = (Object[]) frames[frame * OBJECT_SLOTS + 2];
+                int position = positions[frame * INT_SLOTS];
+                results[position++] = result;
+                if (position < components.length) {
+                    positions[frame * INT_SLOTS] = position;
+                    next = components[position];
+                    continue visit;
+                }
+                Type visitedType = (Type) frames[frame * OBJECT_SLOTS];
+                frames[frame * OBJECT_SLOTS] = null;
+                frames[frame * OBJECT_SLOTS + 1] = null;
+                frames[frame * OBJECT_SLOTS + 2] = null;
+                depth = frame;
+                substitutingCount = positions[frame * INT_SLOTS + 2];
+                result = combine(visitor, visitedType, results, positions[frame * INT_SLOTS + 1]);
+            }
+            return result;
+        }
+    }
+
+    private static boolean contains(Type[] types, int count, Type type) {
+        for (int i = count - 1; i >= 0; i--) {
+            if (types[i].equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Visits a type once the results of all of its components are known
+     *
+     * @param split
+     *     Index of the first lower bound, if {@code type} is a wildcard
+     */
+    private static <R> R combine(TypeVisitor<R> visitor, Type type, Object[] results, int split) {
+        switch (TypeKind.of(type)) {
+            case PARAMETERIZED:
+                return visitor.visitParameterized(
+                    (ParameterizedType) type,
+                    Results.<R>get(results, 0),
+                    Results.<R>get(results, 1),
+                    new Results<>(results, 2, results.length)
+                );
+            case WILDCARD:
+                return visitor.visitWildcard(
+                    (WildcardType) type,
+                    new Results<>(results, 0, split),
+                    new Results<>(results, split, results.length)
+                );
+            default:
+                return visitor.visitGenericArray((GenericArrayType) type, Results.<R>get(results, 0));
+        }
+    }
+
+    /**
+     * Read-only view of a range of the results of a frame
+     */
+    private static final class Results<R> extends AbstractList<R> implements RandomAccess {
+
+        private final Object[] results;
+
+        private final int from;
+
+        private final int to;
+
+        Results(Object[] results, int from, int to) {
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <R> R get(Object[] results, int index) {
+            return (R) results[index];
+        }
+
+        @Override
+        public R get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            return get(results, from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable map of type variables to their bindings, as returned by {@link Types#resolveTypeVariables(Type)}; Each map also memoizes the
+ * types that have been {@link Types#reifyType(Type, Map) reified} against it, so that reifying the same type in the same context again is
+ * a single lookup.
+ *
+ * @author Bryan Harclerode
+ */
+final class TypeVariableMap extends AbstractMap<TypeVariable<? extends Class<?>>, Type> {
+
+    /**
+     * Maximum number of reified types remembered by each map
+     */
+    private static final int REIFIED_TYPE_CACHE_SIZE = 256;
+
+    private final Map<TypeVariable<? extends Class<?>>, Type> typeVariables;
+
+    private final ClassLoader classLoader;
+
+    private volatile BoundedCache<Type, Type> reifiedTypes;
+
+    /**
+     * @param typeVariables
+     *     Bindings for the map; This map must not be modified after it is passed to this constructor
+     * @param classLoader
+     *     Class loader that the map will be retained by; Reified types are only memoized if they do not refer to any classes that would
+     *     outlive this class loader.
+     */
+    TypeVariableMap(Map<TypeVariable<? extends Class<?>>, Type> typeVariables, ClassLoader classLoader) {
+        this.typeVariables = typeVariables;
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public Type get(Object key) {
+        return typeVariables.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return typeVariables.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return typeVariables.size();
+    }
+
+    @Override
+    public Set<Entry<TypeVariable<? extends Class<?>>, Type>> entrySet() {
+        return Collections.unmodifiableMap(typeVariables).entrySet();
+    }
+
+    /**
+     * Looks up a previously memoized reification
+     *
+     * @param type
+     *     Type that was reified
+     *
+     * @return The reified form of {@code type}, or {@code null} if it has not been memoized
+     */
+    Type getReifiedType(Type type) {
+        BoundedCache<Type, Type> reifiedTypes = this.reifiedTypes;
+        if (reifiedTypes == null) {
+            Types.getMetrics().recordMiss(TypeMetrics.Cache.REIFIED_TYPE);
+            return null;
+        }
+        return reifiedTypes.getIfPresent(type);
+    }
+
+    /**
+     * Memoizes the reified form of a type, if it is safe for this map to retain it
+     *
+     * @param type
+     *     Type that was reified
+     * @param reifiedType
+     *     Reified form of {@code type}
+     */
+    void putReifiedType(Type type, Type reifiedType) {
+        if (!Types.isRetainable(type, classLoader)) {
+            return;
+        }
+        BoundedCache<Type, Type> reifiedTypes = this.reifiedTypes;
+        if (reifiedTypes == null) {
+            synchronized (this) {
+                reifiedTypes = this.reifiedTypes;
+                if (reifiedTypes == null) {
+                    reifiedTypes = new BoundedCache<>(TypeMetrics.Cache.REIFIED_TYPE, REIFIED_TYPE_CACHE_SIZE);
+                    this.reifiedTypes = reifiedTypes;
+                }
+            }
+        }
+        reifiedTypes.put(type, reifiedType);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.List;
+
+/**
+ * Computes a result from the structure of a type, by combining the results of its component types; Types are visited with {@link
+ * Types#visit(Type, TypeVisitor)}, which walks the type with an explicit stack instead of recursion, so that no type is too deeply nested
+ * to visit. Each component is visited before the type that contains it, and its result is passed to that type's {@code visit} method.
+ * <p>
+ * Before a type is visited, it is first passed to {@link #substitute(Type)}, which can replace it with another type to visit in its place,
+ * and then to {@link #preVisit(Type)}, which can produce its result without visiting its components at all.
+ *
+ * @param <R>
+ *     Type of the result of visiting a type
+ *
+ * @author Bryan Harclerode
+ */
+public interface TypeVisitor<R> {
+
+    /**
+     * Replaces a type with another that should be visited in its place, such as a type variable with its binding; The replacement is
+     * itself substituted, until a type is returned unchanged. A type variable that is reached again while the replacement for that same
+     * variable is being visited is not substituted a second time, and is passed to {@link #visitTypeVariable(TypeVariable)} instead.
+     *
+     * @param type
+     *     Type that is about to be visited
+     *
+     * @return The type to visit in place of {@code type}, or {@code type} itself; Must not be {@code null}
+     */
+    default Type substitute(Type type) {
+        return type;
+    }
+
+    /**
+     * Produces the result for a type without visiting its components, such as when the result has already been computed
+     *
+     * @param type
+     *     Type that is about to be visited, after {@link #substitute(Type) substitution}
+     *
+     * @return The result for {@code type}, or {@code null} to visit it and its components normally
+     */
+    default R preVisit(Type type) {
+        return null;
+    }
+
+    /**
+     * @param type
+     *     Class to visit
+     *
+     * @return The result for {@code type}
+     */
+    R visitClass(Class<?> type);
+
+    /**
+     * @param type
+     *     Parameterized type to visit
+     * @param ownerType
+     *     Result for the owner of {@code type}, or {@code null} if it has no owner
+     * @param rawType
+     *     Result for the raw type of {@code type}
+     * @param typeArguments
+     *     Results for each type argument of {@code type}
+     *
+     * @return The result for {@code type}
+     */
+    R visitParameterized(ParameterizedType type, R ownerType, R rawType, List<R> typeArguments);
+
+    /**
+     * @param type
+     *     Wildcard to visit
+     * @param upperBounds
+     *     Results for each upper bound of {@code type}
+     * @param lowerBounds
+     *     Results for each lower bound of {@code type}
+     *
+     * @return The result for {@code type}
+     */
+    R visitWildcard(WildcardType type, List<R> upperBounds, List<R> lowerBounds);
+
+    /**
+     * @param type
+     *     Generic array type to visit
+     * @param componentType
+     *     Result for the component type of {@code type}
+     *
+     * @return The result for {@code type}
+     */
+    R visitGenericArray(GenericArrayType type, R componentType);
+
+    /**
+     * @param type
+     *     Type variable to visit
+     *
+     * @return The result for {@code type}
+     */
+    R visitTypeVariable(TypeVariable<?> type);
+
+    /**
+     * Visits an implementation of {@link Type} that does not implement any of the known subinterfaces
+     *
+     * @param type
+     *     Type to visit
+     *
+     * @return The result for {@code type}
+     *
+     * @throws IllegalArgumentException
+     *     If this visitor does not support unknown types, which is the default
+     */
+    default R visitOther(Type type) {
+        throw new IllegalArgumentException("Unsupported type " + type);
+    }
+}
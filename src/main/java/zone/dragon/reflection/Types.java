@@ -17,20 +17,36 @@
 
 package zone.dragon.reflection;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.Value;
+import lombok.experimental.NonFinal;
 
 /**
  * Utility functions for interacting with the various implementations of {@link Type}, such as {@link ParameterizedType}, {@link
@@ -40,6 +56,57 @@ import lombok.Value;
  */
 public final class Types {
 
+    /**
+     * Canonical instances of {@link ParameterizedType}, {@link WildcardType}, and {@link GenericArrayType}
+     */
+    private static final WeakInterner<Type> CANONICAL_TYPES = new WeakInterner<>();
+
+    /**
+     * Upper bounds of a wildcard that has no explicit upper bound
+     */
+    private static final Type[] OBJECT_BOUNDS = new Type[]{Object.class};
+
+    /**
+     * Receiver of measurements of operations and caches; Operations are not timed while this is {@link TypeMetrics#NONE}.
+     */
+    private static volatile TypeMetrics metrics = TypeMetrics.NONE;
+
+    /**
+     * Indicates whether a class was loaded by a class loader that will live at least as long as this class, and can therefore be
+     * referenced from static caches without preventing its class loader from being unloaded.
+     */
+    private static final ClassValue<Boolean> RETAINABLE_CLASSES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isAncestor(type.getClassLoader(), Types.class.getClassLoader());
+        }
+    };
+
+    /**
+     * Array class for each component class, or {@code null} for {@code void} and {@link Void}, which can't be array components
+     */
+    private static final ClassValue<Class<?>> ARRAY_CLASSES = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(Class<?> componentClass) {
+            if (componentClass == void.class || componentClass == Void.class) {
+                return null;
+            }
+            return Array.newInstance(componentClass, 0).getClass();
+        }
+    };
+
+    /**
+     * Class that declares each member class, or the class itself if it is not a member; {@link Class#getDeclaringClass()} is too slow to
+     * call on every comparison of parameterized types.
+     */
+    private static final ClassValue<Class<?>> DECLARING_CLASSES = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(Class<?> type) {
+            Class<?> declaringClass = type.getDeclaringClass();
+            return declaringClass != null ? declaringClass : type;
+        }
+    };
+
     /**
      * Checks if a given subtype can be assigned to a field or variable of the given class; This is similar to {@link
      * Class#isAssignableFrom(Class)} except that it can handle generic types and wildcards as the subtype.
@@ -55,7 +122,28 @@ public final class Types {
      *     If {@code superType} or {@code subType} is {@code null}
      */
     public static boolean isAssignableFrom(@NonNull Class<?> superType, @NonNull Type subType) {
-        return superType.isAssignableFrom(rawType(subType));
+        return superType.isAssignableFrom(erase(subType));
+    }
+
+    /**
+     * Checks if a given subtype can be assigned to a field or variable of the given type without an unchecked conversion; Unlike {@link
+     * #isAssignableFrom(Class, Type)}, this follows the subtyping rules of the Java language for generic types, so type arguments must be
+     * contained by the corresponding type arguments of {@code superType}, a type variable is assignable to anything its bounds are
+     * assignable to, and generic arrays are covariant in their component types. Answers are memoized, so repeatedly checking the same
+     * types is cheap.
+     *
+     * @param superType
+     *     The assignable type
+     * @param subType
+     *     The type to be assigned
+     *
+     * @return {@code true} if the {@code subType} can be assigned to a field or variable of type {@code superType}
+     *
+     * @throws NullPointerException
+     *     If {@code superType} or {@code subType} is {@code null}
+     */
+    public static boolean isAssignableFrom(@NonNull Type superType, @NonNull Type subType) {
+        return SubtypeChecker.isSubtype(superType, subType);
     }
 
     /**
@@ -74,6 +162,7 @@ public final class Types {
      *     If {@code rawType} or {@code typeArguments} are {@code null}
      */
     public static ParameterizedType parameterized(Type owner, @NonNull Type rawType, @NonNull Type... typeArguments) {
+        typeArguments = typeArguments.clone();
         for (int i = 0; i < typeArguments.length; i++) {
             if (typeArguments[i] == null) {
                 throw new NullPointerException(String.format("typeArguments[%d]", i));
@@ -94,6 +183,7 @@ public final class Types {
      *     If {@code subTypes} is {@code null}
      */
     public static WildcardType anySuper(@NonNull Type... subTypes) {
+        subTypes = subTypes.clone();
         for (int i = 0; i < subTypes.length; i++) {
             if (subTypes[i] == null) {
                 throw new NullPointerException(String.format("subTypes[%d]", i));
@@ -115,6 +205,7 @@ public final class Types {
      *     If {@code superTypes} is {@code null}
      */
     public static WildcardType anyExtends(@NonNull Type... superTypes) {
+        superTypes = superTypes.clone();
         for (int i = 0; i < superTypes.length; i++) {
             if (superTypes[i] == null) {
                 throw new NullPointerException(String.format("superTypes[%d]", i));
@@ -123,6 +214,20 @@ public final class Types {
         return new WildcardTypeImpl(superTypes, new Type[0]);
     }
 
+    /**
+     * Creates a wildcard with exactly the specified bounds, without validating them
+     *
+     * @param upperBounds
+     *     The upper bounds of the wildcard
+     * @param lowerBounds
+     *     The lower bounds of the wildcard
+     *
+     * @return A wildcard type with the specified bounds
+     */
+    static WildcardType wildcard(Type[] upperBounds, Type[] lowerBounds) {
+        return new WildcardTypeImpl(upperBounds, lowerBounds);
+    }
+
     /**
      * Given a type, returns the corresponding array type with that type as the component
      *
@@ -133,33 +238,415 @@ public final class Types {
      *
      * @throws NullPointerException
      *     If {@code componentType} is {@code null}
+     * @throws IllegalArgumentException
+     *     If {@code componentType} is {@code void} or {@link Void}
      */
     public static Type arrayOf(@NonNull Type componentType) {
-        if (componentType == int.class) {
-            return int[].class;
-        } else if (componentType == byte.class) {
-            return byte[].class;
-        } else if (componentType == short.class) {
-            return short[].class;
-        } else if (componentType == long.class) {
-            return long[].class;
-        } else if (componentType == char.class) {
-            return char[].class;
-        } else if (componentType == double.class) {
-            return double[].class;
-        } else if (componentType == float.class) {
-            return float[].class;
-        } else if (componentType == boolean.class) {
-            return boolean[].class;
-        } else if (componentType == void.class) {
-            throw new IllegalArgumentException("Can't create a void[] array");
-        } else if (componentType == Void.class) {
-            throw new IllegalArgumentException("Can't create a Void[] array");
-        } else if (componentType instanceof Class) {
-            return Array.newInstance((Class) componentType, 0).getClass();
+        if (componentType instanceof Class) {
+            return arrayClass((Class<?>) componentType);
+        }
+        return new GenericArrayTypeImpl(componentType);
+    }
+
+    /**
+     * Looks up the array class for a component class; The array class of each component class is only computed once, so repeated lookups
+     * neither allocate nor go through reflection.
+     *
+     * @param componentClass
+     *     Component class of the array
+     *
+     * @return The array class with {@code componentClass} as its component
+     *
+     * @throws IllegalArgumentException
+     *     If {@code componentClass} is {@code void} or {@link Void}
+     */
+    static Class<?> arrayClass(Class<?> componentClass) {
+        Class<?> arrayClass = ARRAY_CLASSES.get(componentClass);
+        if (arrayClass == null) {
+            throw new IllegalArgumentException(String.format("Can't create a %s[] array", componentClass.getSimpleName()));
+        }
+        return arrayClass;
+    }
+
+    /**
+     * Parses a type name using the context class loader of the current thread, or the class loader of this library if there is none; See
+     * {@link #parse(String, ClassLoader)}
+     *
+     * @param typeName
+     *     Type name to parse
+     *
+     * @return The parsed type
+     *
+     * @throws NullPointerException
+     *     If {@code typeName} is {@code null}
+     * @throws IllegalArgumentException
+     *     If {@code typeName} is malformed, or names a class that can't be loaded
+     */
+    public static Type parse(@NonNull String typeName) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return parse(typeName, classLoader != null ? classLoader : Types.class.getClassLoader());
+    }
+
+    /**
+     * Parses a type name, such as {@code java.util.Map<java.lang.String, java.util.List<? extends java.lang.Number>>[]}, in the format
+     * produced by {@link Type#getTypeName()}; The {@code class} and {@code interface} prefixes added by {@link Class#toString()} are
+     * accepted and ignored, and member classes of parameterized types may be named either by their simple name or their binary name.
+     * Type variables can't be parsed, since a name does not identify their declaration.
+     * <p>
+     * Parsed types are cached as long as they only refer to classes that this library can retain, and the classes that names resolve to
+     * are cached separately for each class loader, so repeatedly parsing the same names is cheap. Named classes are loaded, but not
+     * initialized.
+     *
+     * @param typeName
+     *     Type name to parse
+     * @param classLoader
+     *     Class loader used to load the named classes, or {@code null} for the bootstrap class loader
+     *
+     * @return The parsed type
+     *
+     * @throws NullPointerException
+     *     If {@code typeName} is {@code null}
+     * @throws IllegalArgumentException
+     *     If {@code typeName} is malformed, or names a class that can't be loaded
+     */
+    public static Type parse(@NonNull String typeName, ClassLoader classLoader) {
+        return TypeParser.parse(typeName, classLoader);
+    }
+
+    /**
+     * Renders the name of a type into a buffer; See {@link #appendTypeName(Type, Appendable, boolean)}
+     *
+     * @param type
+     *     Type to render
+     * @param buffer
+     *     Buffer to render the name into
+     *
+     * @return {@code buffer}
+     *
+     * @throws NullPointerException
+     *     If {@code type} or {@code buffer} is {@code null}
+     */
+    public static StringBuilder appendTypeName(@NonNull Type type, @NonNull StringBuilder buffer) {
+        return appendTypeName(type, buffer, false);
+    }
+
+    /**
+     * Renders the name of a type into a buffer; See {@link #appendTypeName(Type, Appendable, boolean)}
+     *
+     * @param type
+     *     Type to render
+     * @param buffer
+     *     Buffer to render the name into
+     * @param simpleNames
+     *     {@code true} to render classes by their {@link Class#getSimpleName() simple names}, or {@code false} to render them by their
+     *     fully qualified names
+     *
+     * @return {@code buffer}
+     *
+     * @throws NullPointerException
+     *     If {@code type} or {@code buffer} is {@code null}
+     */
+    public static StringBuilder appendTypeName(@NonNull Type type, @NonNull StringBuilder buffer, boolean simpleNames) {
+        try {
+            TypeNames.append(type, buffer, simpleNames);
+        } catch (IOException e) {
+            // StringBuilder never throws
+            throw new UncheckedIOException(e);
+        }
+        return buffer;
+    }
+
+    /**
+     * Renders the name of a type, in the format produced by {@link Type#getTypeName()}, in a single pass directly into a buffer; Unlike
+     * {@link Type#getTypeName()}, nested types do not each build their own string, so the only allocation is in growing {@code out}. Any
+     * implementation of {@link Type} may be rendered, and implementations other than those of this library and core reflection are
+     * rendered with {@link Object#toString()}. Rendered names can be parsed with {@link #parse(String, ClassLoader)}, unless they contain
+     * type variables or simple names.
+     *
+     * @param type
+     *     Type to render
+     * @param out
+     *     Buffer to render the name into
+     * @param simpleNames
+     *     {@code true} to render classes by their {@link Class#getSimpleName() simple names}, such as {@code Map<String, Integer>}, or
+     *     {@code false} to render them by their fully qualified names
+     * @param <A>
+     *     Type of the buffer
+     *
+     * @return {@code out}
+     *
+     * @throws IOException
+     *     If {@code out} throws an exception
+     * @throws NullPointerException
+     *     If {@code type} or {@code out} is {@code null}
+     */
+    public static <A extends Appendable> A appendTypeName(@NonNull Type type, @NonNull A out, boolean simpleNames) throws IOException {
+        TypeNames.append(type, out, simpleNames);
+        return out;
+    }
+
+    /**
+     * Installs metrics to receive the calls to {@link #rawType(Type)}, {@link #reifyType(Type, Map)}, {@link #resolveTypeVariable(Type,
+     * Class, int)}, and {@link #resolveReifiedType(Type, Type, Class, int)}, together with their latencies, and the hits, misses, and
+     * evictions of this library's caches; Operations are only timed while metrics other than {@link TypeMetrics#NONE} are installed.
+     *
+     * @param metrics
+     *     Metrics to install, replacing any previously installed metrics; Use {@link TypeMetrics#NONE} to stop recording
+     *
+     * @throws NullPointerException
+     *     If {@code metrics} is {@code null}
+     */
+    public static void setMetrics(@NonNull TypeMetrics metrics) {
+        Types.metrics = metrics;
+    }
+
+    /**
+     * @return The installed metrics, which are {@link TypeMetrics#NONE} unless others have been {@link #setMetrics(TypeMetrics) installed}
+     */
+    public static TypeMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns a single canonical instance for each distinct type, so that equal types can be compared by identity and repeated copies of the
+     * same type do not need to be retained; Parameterized, wildcard, and generic array types are rebuilt from their canonical components
+     * and interned, while classes, type variables, and unrecognized implementations of {@link Type} are returned as-is. Owners and upper
+     * bounds are filled in as core reflection does, so types that are equal by {@link #equals(Type, Type)} share a canonical instance.
+     * Canonical instances are only weakly held, and are discarded once they are no longer in use.
+     *
+     * @param type
+     *     Type to canonicalize
+     *
+     * @return The canonical instance that is equal to {@code type}
+     *
+     * @throws NullPointerException
+     *     If {@code type} is {@code null}
+     */
+    public static Type canonicalize(@NonNull Type type) {
+        if (type instanceof Class || type instanceof TypeVariable) {
+            return type;
+        }
+        Type canonical = CANONICAL_TYPES.get(type);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Type ownerType = ownerType(parameterizedType);
+            canonical = new ParameterizedTypeImpl(
+                ownerType != null ? canonicalize(ownerType) : null,
+                canonicalize(parameterizedType.getRawType()),
+                canonicalize(sharedTypeArguments(parameterizedType))
+            );
+        } else if (type instanceof WildcardType) {
+            canonical = new WildcardTypeImpl(
+                canonicalize(upperBounds((WildcardType) type)),
+                canonicalize(sharedLowerBounds((WildcardType) type))
+            );
+        } else if (type instanceof GenericArrayType) {
+            canonical = arrayOf(canonicalize(((GenericArrayType) type).getGenericComponentType()));
+            if (canonical instanceof Class) {
+                return canonical;
+            }
         } else {
-            return new GenericArrayTypeImpl(componentType);
+            return type;
+        }
+        return CANONICAL_TYPES.intern(canonical);
+    }
+
+    private static Type[] canonicalize(Type[] types) {
+        if (types == null) {
+            return new Type[0];
+        }
+        Type[] canonicalTypes = new Type[types.length];
+        for (int i = 0; i < types.length; i++) {
+            canonicalTypes[i] = canonicalize(types[i]);
+        }
+        return canonicalTypes;
+    }
+
+    /**
+     * Compares two types structurally, giving the same answer no matter which implementation of {@link Type} produced either of them;
+     * Unlike {@link Object#equals(Object)} on the core reflection implementations, a type built by this class is equal to a reflected type
+     * with the same structure. A parameterized type without an owner is equal to one owned by the class that declares its raw type, and a
+     * wildcard without upper bounds is equal to one bounded by {@link Object}.
+     *
+     * @param type
+     *     First type to compare, or {@code null}
+     * @param other
+     *     Second type to compare, or {@code null}
+     *
+     * @return {@code true} if both types are {@code null}, or describe the same type
+     *
+     * @see #hashCode(Type)
+     * @see TypeKey
+     */
+    public static boolean equals(Type type, Type other) {
+        if (type == other) {
+            return true;
+        } else if (type == null || other == null) {
+            return false;
+        } else if (type.getClass() == other.getClass() && TypeKind.isCoreImplementation(type)) {
+            return type.equals(other);
+        }
+        TypeKind kind = TypeKind.of(type);
+        if (kind != TypeKind.of(other)) {
+            return false;
+        }
+        switch (kind) {
+            case PARAMETERIZED:
+                return parameterizedEquals((ParameterizedType) type, (ParameterizedType) other);
+            case WILDCARD:
+                return wildcardEquals((WildcardType) type, (WildcardType) other);
+            case GENERIC_ARRAY:
+                return equals(((GenericArrayType) type).getGenericComponentType(), ((GenericArrayType) other).getGenericComponentType());
+            case TYPE_VARIABLE:
+                TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+                TypeVariable<?> otherTypeVariable = (TypeVariable<?>) other;
+                return typeVariable.getName().equals(otherTypeVariable.getName()) && Objects.equals(
+                    typeVariable.getGenericDeclaration(),
+                    otherTypeVariable.getGenericDeclaration()
+                );
+            default:
+                return type.equals(other);
+        }
+    }
+
+    /**
+     * Computes a structural hash code for a type that is consistent with {@link #equals(Type, Type)}; For classes and the core reflection
+     * implementations, this is the same as {@link Object#hashCode()}.
+     *
+     * @param type
+     *     Type to hash, or {@code null}
+     *
+     * @return Hash code of {@code type}, or {@code 0} if it is {@code null}
+     */
+    public static int hashCode(Type type) {
+        if (type == null) {
+            return 0;
+        } else if (TypeKind.isKnownImplementation(type)) {
+            return type.hashCode();
+        }
+        switch (TypeKind.of(type)) {
+            case PARAMETERIZED:
+                return parameterizedHashCode((ParameterizedType) type);
+            case WILDCARD:
+                return wildcardHashCode((WildcardType) type);
+            case GENERIC_ARRAY:
+                return hashCode(((GenericArrayType) type).getGenericComponentType());
+            case TYPE_VARIABLE:
+                TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+                return Objects.hashCode(typeVariable.getGenericDeclaration()) ^ typeVariable.getName().hashCode();
+            default:
+                return type.hashCode();
+        }
+    }
+
+    private static boolean equals(Type[] types, Type[] others) {
+        if (types.length != others.length) {
+            return false;
+        }
+        for (int i = 0; i < types.length; i++) {
+            if (!equals(types[i], others[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hashes an array of types the same way as {@link Arrays#hashCode(Object[])}, but with {@link #hashCode(Type)} for each element
+     */
+    private static int hashCode(Type[] types) {
+        int hashCode = 1;
+        for (Type type : types) {
+            hashCode = 31 * hashCode + hashCode(type);
         }
+        return hashCode;
+    }
+
+    /**
+     * Finds the owner of a parameterized type, defaulting to the class that declares its raw type, as core reflection does
+     */
+    private static Type ownerType(ParameterizedType type) {
+        Type ownerType = type.getOwnerType();
+        Type rawType = type.getRawType();
+        if (ownerType == null && rawType instanceof Class) {
+            Class<?> declaringClass = DECLARING_CLASSES.get((Class<?>) rawType);
+            return declaringClass != rawType ? declaringClass : null;
+        }
+        return ownerType;
+    }
+
+    /**
+     * Finds the upper bounds of a wildcard, defaulting to {@link Object} when there are none, as core reflection does
+     */
+    private static Type[] upperBounds(WildcardType type) {
+        Type[] upperBounds = sharedUpperBounds(type);
+        return upperBounds.length > 0 ? upperBounds : OBJECT_BOUNDS;
+    }
+
+    /**
+     * Reads the type arguments of a parameterized type without copying them when it was created by this class; The returned array must
+     * never be modified, since it may be shared by every user of the type.
+     */
+    static Type[] sharedTypeArguments(ParameterizedType type) {
+        return type instanceof ParameterizedTypeImpl ? ((ParameterizedTypeImpl) type).actualTypeArguments : type.getActualTypeArguments();
+    }
+
+    /**
+     * Reads the upper bounds of a wildcard without copying them when it was created by this class; The returned array must never be
+     * modified.
+     */
+    static Type[] sharedUpperBounds(WildcardType type) {
+        return type instanceof WildcardTypeImpl ? ((WildcardTypeImpl) type).upperBounds : type.getUpperBounds();
+    }
+
+    /**
+     * Reads the lower bounds of a wildcard without copying them when it was created by this class; The returned array must never be
+     * modified.
+     */
+    static Type[] sharedLowerBounds(WildcardType type) {
+        return type instanceof WildcardTypeImpl ? ((WildcardTypeImpl) type).lowerBounds : type.getLowerBounds();
+    }
+
+    private static boolean parameterizedEquals(ParameterizedType type, ParameterizedType other) {
+        return equals(type.getRawType(), other.getRawType()) && equals(ownerType(type), ownerType(other)) && equals(
+            sharedTypeArguments(type),
+            sharedTypeArguments(other)
+        );
+    }
+
+    private static int parameterizedHashCode(ParameterizedType type) {
+        return hashCode(sharedTypeArguments(type)) ^ hashCode(ownerType(type)) ^ hashCode(type.getRawType());
+    }
+
+    private static boolean wildcardEquals(WildcardType type, WildcardType other) {
+        return equals(sharedLowerBounds(type), sharedLowerBounds(other)) && equals(upperBounds(type), upperBounds(other));
+    }
+
+    private static int wildcardHashCode(WildcardType type) {
+        return hashCode(sharedLowerBounds(type)) ^ hashCode(upperBounds(type));
+    }
+
+    /**
+     * Computes a result from the structure of a type with a visitor; The type is walked with an explicit stack rather than by recursion,
+     * so any type that fits in memory can be visited, and each visitor's methods are called from a single place. See {@link TypeVisitor}.
+     *
+     * @param type
+     *     Type to visit
+     * @param visitor
+     *     Visitor that computes the result
+     * @param <R>
+     *     Type of the result
+     *
+     * @return The result of {@code visitor} for {@code type}
+     *
+     * @throws NullPointerException
+     *     If {@code type} or {@code visitor} is {@code null}
+     */
+    public static <R> R visit(@NonNull Type type, @NonNull TypeVisitor<R> visitor) {
+        return TypeTraverser.traverse(type, visitor);
     }
 
     /**
@@ -172,31 +659,100 @@ public final class Types {
      * @return The raw type for {@code type}
      */
     public static Class<?> rawType(Type type) {
+        TypeMetrics metrics = Types.metrics;
+        if (metrics == TypeMetrics.NONE) {
+            return erase(type);
+        }
+        long start = System.nanoTime();
+        Class<?> rawType = erase(type);
+        metrics.recordCall(TypeMetrics.Operation.RAW_TYPE, System.nanoTime() - start);
+        return rawType;
+    }
+
+    /**
+     * Implements {@link #rawType(Type)} for use within this library, without recording a call to the installed metrics
+     */
+    static Class<?> erase(Type type) {
         if (type instanceof Class) {
-            return (Class) type;
-        } else if (type instanceof ParameterizedType) {
-            return rawType(((ParameterizedType) type).getRawType());
-        } else if (type instanceof WildcardType) {
-            Type[] upperBounds = ((WildcardType) type).getUpperBounds();
-            if (upperBounds == null || upperBounds.length == 0) {
-                return Object.class;
-            } else {
-                return rawType(upperBounds[0]);
+            return (Class<?>) type;
+        } else if (type == null) {
+            return Object.class;
+        } else if (TypeKind.of(type) == TypeKind.PARAMETERIZED) {
+            Type rawType = ((ParameterizedType) type).getRawType();
+            if (rawType instanceof Class) {
+                return (Class<?>) rawType;
             }
-        } else if (type instanceof GenericArrayType) {
-            return (Class) arrayOf(rawType(((GenericArrayType) type).getGenericComponentType()));
-        } else if (type instanceof TypeVariable) {
-            Type[] upperBounds = ((TypeVariable) type).getBounds();
-            if (upperBounds == null || upperBounds.length == 0) {
-                return Object.class;
-            } else {
-                return rawType(upperBounds[0]);
+        }
+        return TypeTraverser.traverse(type, Eraser.INSTANCE);
+    }
+
+    /**
+     * Computes the raw type of a type; Parameterized types, wildcards, and type variables are substituted with their raw type or first
+     * bound until only classes and generic arrays of them are left, so only generic arrays have components to visit.
+     */
+    private static final class Eraser implements TypeVisitor<Class<?>> {
+
+        static final Eraser INSTANCE = new Eraser();
+
+        @Override
+        public Type substitute(Type type) {
+            Type bound;
+            switch (TypeKind.of(type)) {
+                case PARAMETERIZED:
+                    return ((ParameterizedType) type).getRawType();
+                case WILDCARD:
+                    bound = firstBound(sharedUpperBounds((WildcardType) type));
+                    break;
+                case TYPE_VARIABLE:
+                    bound = firstBound(((TypeVariable<?>) type).getBounds());
+                    break;
+                default:
+                    return type;
             }
-        } else {
+            return bound != null ? bound : Object.class;
+        }
+
+        @Override
+        public Class<?> visitClass(Class<?> type) {
+            return type;
+        }
+
+        @Override
+        public Class<?> visitParameterized(ParameterizedType type, Class<?> ownerType, Class<?> rawType, List<Class<?>> typeArguments) {
+            return rawType;
+        }
+
+        @Override
+        public Class<?> visitWildcard(WildcardType type, List<Class<?>> upperBounds, List<Class<?>> lowerBounds) {
+            return upperBounds.isEmpty() ? Object.class : upperBounds.get(0);
+        }
+
+        @Override
+        public Class<?> visitGenericArray(GenericArrayType type, Class<?> componentType) {
+            return arrayClass(componentType);
+        }
+
+        @Override
+        public Class<?> visitTypeVariable(TypeVariable<?> type) {
+            return Object.class;
+        }
+
+        @Override
+        public Class<?> visitOther(Type type) {
             return Object.class;
         }
     }
 
+    /**
+     * @param bounds
+     *     Upper bounds of a wildcard or type variable
+     *
+     * @return The first of {@code bounds}, or {@code null} if there are none
+     */
+    static Type firstBound(Type[] bounds) {
+        return bounds == null || bounds.length == 0 ? null : bounds[0];
+    }
+
     /**
      * @param contextType
      *     Contextual type in which {@code boundType} is encountered; This will be used to reify {@code boundType} before {@code
@@ -218,14 +774,49 @@ public final class Types {
      *     If {@code targetTypeVariableIndex} is less than 0 or more than the number of type variables in {@code targetClass}
      */
     public static Type resolveReifiedType(Type contextType, Type boundType, @NonNull Class<?> targetClass, int targetTypeVariableIndex) {
+        TypeMetrics metrics = Types.metrics;
+        long start = metrics != TypeMetrics.NONE ? System.nanoTime() : 0;
         Map<TypeVariable<? extends Class<?>>, Type> typeVariableTypeMap = resolveTypeVariables(contextType);
-        Type reifiedType = reifyType(boundType, typeVariableTypeMap);
-        return resolveTypeVariable(reifiedType, targetClass, targetTypeVariableIndex);
+        Type reifiedType = reifyMemoized(boundType, typeVariableTypeMap);
+        Type resolvedType = typeArgument(reifiedType, targetClass, targetTypeVariableIndex);
+        if (metrics != TypeMetrics.NONE) {
+            metrics.recordCall(TypeMetrics.Operation.RESOLVE_REIFIED_TYPE, System.nanoTime() - start);
+        }
+        return resolvedType;
+    }
+
+    /**
+     * Reifies a type in a context, and then resolves all of the type variables of one of its supertypes at once; This is equivalent to
+     * calling {@link #resolveReifiedType(Type, Type, Class, int)} for each type variable of {@code targetClass}, but only reifies {@code
+     * boundType} once.
+     *
+     * @param contextType
+     *     Contextual type in which {@code boundType} is encountered; This will be used to reify {@code boundType} before {@code
+     *     targetClass} is resolved.
+     * @param boundType
+     *     Type that should be reified and resolved
+     * @param targetClass
+     *     Class to resolve from {@code boundType}
+     *
+     * @return A new array with a fully resolved type for each type variable of {@code targetClass}, or {@code null} if {@code targetClass}
+     * is not a supertype of {@code boundType}
+     *
+     * @throws NullPointerException
+     *     If {@code targetClass} is {@code null}
+     * @throws IllegalArgumentException
+     *     If {@code targetClass} is not generic
+     */
+    public static Type[] resolveReifiedTypeArguments(Type contextType, Type boundType, @NonNull Class<?> targetClass) {
+        Map<TypeVariable<? extends Class<?>>, Type> typeVariableTypeMap = resolveTypeVariables(contextType);
+        Type reifiedType = reifyMemoized(boundType, typeVariableTypeMap);
+        return resolveTypeArguments(reifiedType, targetClass);
     }
 
     /**
      * Reifies all type variables in a given type; Type variables are first looked up in {@code typeVariables}, or reduced to their first
-     * upper bound if there is no variable binding in the map. If {@code type} is {@code null}, then {@code null} is returned.
+     * upper bound if there is no variable binding in the map. If {@code type} is {@code null}, then {@code null} is returned. Any part of
+     * {@code type} that contains no type variables or wildcards is reused rather than copied, and if {@code typeVariables} was returned by
+     * {@link #resolveTypeVariables(Type)}, the result is memoized so that reifying the same type against it again is a single lookup.
      *
      * @param type
      *     Type to reify
@@ -239,71 +830,358 @@ public final class Types {
      *     If {@code typeVariables} is {@code null}
      */
     public static Type reifyType(Type type, @NonNull Map<? extends TypeVariable<?>, Type> typeVariables) {
-        if (type instanceof Class) {
+        TypeMetrics metrics = Types.metrics;
+        if (metrics == TypeMetrics.NONE) {
+            return reifyMemoized(type, typeVariables);
+        }
+        long start = System.nanoTime();
+        Type reifiedType = reifyMemoized(type, typeVariables);
+        metrics.recordCall(TypeMetrics.Operation.REIFY_TYPE, System.nanoTime() - start);
+        return reifiedType;
+    }
+
+    /**
+     * Implements {@link #reifyType(Type, Map)} for use within this library, without recording a call to the installed metrics
+     */
+    private static Type reifyMemoized(Type type, Map<? extends TypeVariable<?>, Type> typeVariables) {
+        if (isReified(type)) {
             return type;
-        } else if (type instanceof ParameterizedType) {
-            Type[] boundTypes = ((ParameterizedType) type).getActualTypeArguments();
-            Type[] newBoundTypes = new Type[boundTypes.length];
-            for (int i = 0; i < boundTypes.length; i++) {
-                newBoundTypes[i] = reifyType(boundTypes[i], typeVariables);
-            }
-            return parameterized(
-                reifyType(((ParameterizedType) type).getOwnerType(), typeVariables),
-                reifyType(((ParameterizedType) type).getRawType(), typeVariables),
-                newBoundTypes
-            );
-        } else if (type instanceof TypeVariable) {
-            Type resolvedType = typeVariables.get(type);
-            if (resolvedType != null) {
-                return reifyType(resolvedType, typeVariables);
-            } else {
-                return reifyType(((TypeVariable) type).getBounds()[0], typeVariables);
+        } else if (typeVariables instanceof TypeVariableMap) {
+            TypeVariableMap typeVariableMap = (TypeVariableMap) typeVariables;
+            Type reifiedType = typeVariableMap.getReifiedType(type);
+            if (reifiedType == null) {
+                Object event = TypeEvents.beginReification();
+                reifiedType = reify(type, typeVariables);
+                typeVariableMap.putReifiedType(type, reifiedType);
+                TypeEvents.commitReification(event, type, reifiedType, typeVariables.size());
             }
-        } else if (type instanceof GenericArrayType) {
-            Type componentType = ((GenericArrayType) type).getGenericComponentType();
-            Type newComponentType = reifyType(componentType, typeVariables);
-            return arrayOf(newComponentType);
-        } else if (type instanceof WildcardType) {
-            Type[] upperBounds = ((WildcardType) type).getUpperBounds();
-            if (upperBounds != null && upperBounds.length > 0) {
-                return reifyType(upperBounds[0], typeVariables);
-            } else {
-                return Object.class;
+            return reifiedType;
+        }
+        Object event = TypeEvents.beginReification();
+        Type reifiedType = reify(type, typeVariables);
+        TypeEvents.commitReification(event, type, reifiedType, typeVariables.size());
+        return reifiedType;
+    }
+
+    /**
+     * Reifies a type without consulting any memoized results; Any part of {@code type} that is already reified is reused as-is rather than
+     * being copied. Unbound type variables are replaced with their reified first bound, and any reference back to a variable from within
+     * its own binding or bound, such as in {@code T extends Comparable<T>}, is replaced with the variable's raw type.
+     */
+    private static Type reify(Type type, Map<? extends TypeVariable<?>, Type> typeVariables) {
+        if (type == null) {
+            return null;
+        }
+        return TypeTraverser.traverse(type, new Reifier(typeVariables));
+    }
+
+    /**
+     * Replaces the type variables and wildcards of a type; Type variables are substituted with their bindings and wildcards with their
+     * first upper bound, and a variable is only reached by {@link #visitTypeVariable(TypeVariable)} when it refers back to itself. A type
+     * whose components are all unchanged is returned as-is, so only the parts of the type that contained variables or wildcards are
+     * copied.
+     */
+    private static final class Reifier implements TypeVisitor<Type> {
+
+        private final Map<? extends TypeVariable<?>, Type> typeVariables;
+
+        Reifier(Map<? extends TypeVariable<?>, Type> typeVariables) {
+            this.typeVariables = typeVariables;
+        }
+
+        @Override
+        public Type substitute(Type type) {
+            switch (TypeKind.of(type)) {
+                case TYPE_VARIABLE:
+                    Type resolvedType = typeVariables.get(type);
+                    return resolvedType != null ? resolvedType : ((TypeVariable<?>) type).getBounds()[0];
+                case WILDCARD:
+                    Type[] upperBounds = sharedUpperBounds((WildcardType) type);
+                    return upperBounds != null && upperBounds.length > 0 ? upperBounds[0] : Object.class;
+                default:
+                    return type;
+            }
+        }
+
+        @Override
+        public Type preVisit(Type type) {
+            // Only the cached results are used, since computing them would walk the type once more for each level it is nested
+            if (type instanceof ParameterizedTypeImpl) {
+                return ((ParameterizedTypeImpl) type).reified > 0 ? type : null;
+            } else if (type instanceof GenericArrayTypeImpl) {
+                return ((GenericArrayTypeImpl) type).reified > 0 ? type : null;
+            }
+            return null;
+        }
+
+        @Override
+        public Type visitClass(Class<?> type) {
+            return type;
+        }
+
+        @Override
+        public Type visitParameterized(ParameterizedType type, Type ownerType, Type rawType, List<Type> typeArguments) {
+            Type[] oldTypeArguments = sharedTypeArguments(type);
+            Type[] newTypeArguments = oldTypeArguments;
+            for (int i = 0; i < oldTypeArguments.length; i++) {
+                Type typeArgument = typeArguments.get(i);
+                if (typeArgument != oldTypeArguments[i]) {
+                    if (newTypeArguments == oldTypeArguments) {
+                        newTypeArguments = oldTypeArguments.clone();
+                    }
+                    newTypeArguments[i] = typeArgument;
+                }
+            }
+            if (newTypeArguments == oldTypeArguments && ownerType == type.getOwnerType() && rawType == type.getRawType()) {
+                return type;
             }
+            return parameterized(ownerType, rawType, newTypeArguments);
+        }
+
+        @Override
+        public Type visitWildcard(WildcardType type, List<Type> upperBounds, List<Type> lowerBounds) {
+            return upperBounds.isEmpty() ? Object.class : upperBounds.get(0);
+        }
+
+        @Override
+        public Type visitGenericArray(GenericArrayType type, Type componentType) {
+            if (componentType == type.getGenericComponentType() && !(componentType instanceof Class)) {
+                return type;
+            }
+            return arrayOf(componentType);
+        }
+
+        @Override
+        public Type visitTypeVariable(TypeVariable<?> type) {
+            return erase(type.getBounds()[0]);
+        }
+
+        @Override
+        public Type visitOther(Type type) {
+            return type;
         }
-        return type;
     }
 
     /**
-     * Generates a map of all bound type variables for {@code type}, its supertypes, and implemented interfaces
+     * Checks if a type is already in the form produced by {@link #reifyType(Type, Map)}, meaning that it contains no type variables or
+     * wildcards, and reifying it would return it unchanged; The result is cached by the library's own type implementations.
      *
      * @param type
-     *     The type for which a type variable map should be built
+     *     Type to check
      *
-     * @return A map of all discovered type variables that have bindings, or the empty map if no type bindings were found
+     * @return {@code true} if {@code type} is already reified
      */
-    public static Map<TypeVariable<? extends Class<?>>, Type> resolveTypeVariables(Type type) {
-        Map<TypeVariable<? extends Class<?>>, Type> resolvedTypeVariables = new HashMap<>();
-        resolveTypeVariables(type, resolvedTypeVariables);
-        return resolvedTypeVariables;
-    }
-
-    private static void resolveTypeVariables(Type rootType, @NonNull Map<TypeVariable<? extends Class<?>>, Type> resolvedTypeVariables) {
-        List<Type> remainingTypes = new ArrayList<>();
-        remainingTypes.add(rootType);
-        while (!remainingTypes.isEmpty()) {
-            Type type = remainingTypes.remove(0);
-            if (type instanceof ParameterizedType) {
-                Class<?> rawClass = rawType(type);
-                TypeVariable<? extends Class<?>>[] boundVariables = rawClass.getTypeParameters();
-                for (int i = 0; i < boundVariables.length; i++) {
-                    resolvedTypeVariables.putIfAbsent(boundVariables[i], ((ParameterizedType) type).getActualTypeArguments()[i]);
-                }
-            } else if (type instanceof Class) {
-                remainingTypes.addAll(Arrays.asList(((Class) type).getGenericInterfaces()));
-                remainingTypes.add(((Class) type).getGenericSuperclass());
+    static boolean isReified(Type type) {
+        if (type == null || type instanceof Class) {
+            return true;
+        } else if (type instanceof ParameterizedTypeImpl) {
+            return ((ParameterizedTypeImpl) type).isReified();
+        } else if (type instanceof GenericArrayTypeImpl) {
+            return ((GenericArrayTypeImpl) type).isReified();
+        }
+        return computeReified(type);
+    }
+
+    /**
+     * Checks each component of a type in turn with an explicit stack, stopping at the first one that is not reified; The results cached by
+     * the library's own type implementations are reused instead of checking their components again.
+     */
+    private static boolean computeReified(Type type) {
+        Type[] pending = null;
+        int pendingCount = 0;
+        Type next = type;
+        while (true) {
+            byte reified = 0;
+            switch (TypeKind.of(next)) {
+                case WILDCARD:
+                case TYPE_VARIABLE:
+                    return false;
+                case PARAMETERIZED:
+                    if (next != type && next instanceof ParameterizedTypeImpl) {
+                        reified = ((ParameterizedTypeImpl) next).reified;
+                    }
+                    if (reified < 0) {
+                        return false;
+                    } else if (reified == 0) {
+                        ParameterizedType parameterizedType = (ParameterizedType) next;
+                        Type[] typeArguments = sharedTypeArguments(parameterizedType);
+                        // Type arguments that are classes, variables, or wildcards are checked right away, so that a type can be rejected
+                        // without pushing anything
+                        for (Type typeArgument : typeArguments) {
+                            if (typeArgument instanceof Class) {
+                                continue;
+                            }
+                            TypeKind kind = TypeKind.of(typeArgument);
+                            if (kind == TypeKind.WILDCARD || kind == TypeKind.TYPE_VARIABLE) {
+                                return false;
+                            } else if (kind != TypeKind.OTHER) {
+                                pending = push(pending, pendingCount++, typeArgument);
+                            }
+                        }
+                        Type ownerType = parameterizedType.getOwnerType();
+                        if (ownerType != null && !(ownerType instanceof Class)) {
+                            pending = push(pending, pendingCount++, ownerType);
+                        }
+                        Type rawType = parameterizedType.getRawType();
+                        if (!(rawType instanceof Class)) {
+                            pending = push(pending, pendingCount++, rawType);
+                        }
+                    }
+                    break;
+                case GENERIC_ARRAY:
+                    if (next != type && next instanceof GenericArrayTypeImpl) {
+                        reified = ((GenericArrayTypeImpl) next).reified;
+                    }
+                    if (reified < 0) {
+                        return false;
+                    } else if (reified == 0) {
+                        Type componentType = ((GenericArrayType) next).getGenericComponentType();
+                        if (componentType instanceof Class) {
+                            return false;
+                        }
+                        pending = push(pending, pendingCount++, componentType);
+                    }
+                    break;
+                default:
+                    break;
             }
+            if (pendingCount == 0) {
+                return true;
+            }
+            next = pending[--pendingCount];
+        }
+    }
+
+    /**
+     * Pushes a type onto a stack, growing it if it is full or has not been allocated yet
+     *
+     * @param stack
+     *     Stack to push onto, or {@code null} if there is none yet
+     * @param size
+     *     Number of types on {@code stack}
+     * @param type
+     *     Type to push
+     *
+     * @return {@code stack}, or a larger copy of it
+     */
+    private static Type[] push(Type[] stack, int size, Type type) {
+        if (stack == null) {
+            stack = new Type[4];
+        } else if (size == stack.length) {
+            stack = Arrays.copyOf(stack, size * 2);
         }
+        stack[size] = type;
+        return stack;
+    }
+
+    /**
+     * Resolves the type hierarchies and member types of many types in parallel on the common {@link ForkJoinPool}, so that later calls for
+     * them are served from the library's caches; See {@link #preResolve(Collection, Executor)}.
+     *
+     * @param types
+     *     Types to resolve
+     *
+     * @return A future that completes once every type has been resolved
+     *
+     * @throws NullPointerException
+     *     If {@code types} is {@code null}
+     */
+    public static CompletableFuture<Void> preResolve(@NonNull Collection<? extends Type> types) {
+        return preResolve(types, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Resolves the type hierarchies and member types of many types in parallel, so that later calls for them are served from the library's
+     * caches; This is intended to move the cost of first resolution out of the request path, for example by resolving every handler class
+     * of an application during startup. For each type, the supertype index of the type and each of its supertypes is built, and the
+     * generic types of all fields, methods, and constructors declared by the type and its supertypes are {@link #reifyType(Type, Map)
+     * reified} in the context of the type. Types are resolved independently of each other, so the work scales with the parallelism of
+     * {@code executor}.
+     *
+     * @param types
+     *     Types to resolve; The collection is copied before this method returns.
+     * @param executor
+     *     Executor on which to resolve the types
+     *
+     * @return A future that completes once every type has been resolved; If any type fails to resolve, for example because its generic
+     * signature refers to a missing class, the future completes exceptionally after all other types have been resolved.
+     *
+     * @throws NullPointerException
+     *     If {@code types} or {@code executor} is {@code null}
+     */
+    public static CompletableFuture<Void> preResolve(@NonNull Collection<? extends Type> types, @NonNull Executor executor) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[types.size()];
+        int i = 0;
+        for (Type type : types) {
+            futures[i++] = CompletableFuture.runAsync(() -> preResolve(type), executor);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    private static void preResolve(Type type) {
+        Map<TypeVariable<? extends Class<?>>, Type> typeVariables = resolveTypeVariables(type);
+        preResolveMembers(erase(type), typeVariables);
+        supertypes(type).forEach(supertype -> {
+            Class<?> rawClass = erase(supertype);
+            resolveTypeVariables(rawClass);
+            preResolveMembers(rawClass, typeVariables);
+        });
+    }
+
+    private static void preResolveMembers(Class<?> type, Map<TypeVariable<? extends Class<?>>, Type> typeVariables) {
+        if (type == Object.class) {
+            return;
+        }
+        for (Field field : type.getDeclaredFields()) {
+            reifyMemoized(field.getGenericType(), typeVariables);
+        }
+        for (Method method : type.getDeclaredMethods()) {
+            reifyMemoized(method.getGenericReturnType(), typeVariables);
+            for (Type parameterType : method.getGenericParameterTypes()) {
+                reifyMemoized(parameterType, typeVariables);
+            }
+        }
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            for (Type parameterType : constructor.getGenericParameterTypes()) {
+                reifyMemoized(parameterType, typeVariables);
+            }
+        }
+    }
+
+    /**
+     * Lazily lists the supertypes of a type in breadth-first order, starting with its direct superclass and interfaces; Each distinct class
+     * appears once, as a {@link ParameterizedType} with the type arguments of {@code type} and all intermediate supertypes substituted if
+     * it is generic, or as a {@link Class} otherwise. Supertypes are only discovered as the stream is consumed, so short-circuiting
+     * operations such as {@link Stream#filter(java.util.function.Predicate) filter} followed by {@link Stream#findFirst() findFirst} stop
+     * walking the hierarchy as soon as a match is found.
+     *
+     * @param type
+     *     The type whose supertypes should be listed
+     *
+     * @return A sequential stream of the supertypes of {@code type}; If {@code type} is not a class or parameterized type, the stream is
+     * empty.
+     *
+     * @throws NullPointerException
+     *     If {@code type} is {@code null}
+     */
+    public static Stream<Type> supertypes(@NonNull Type type) {
+        int characteristics = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new SupertypeIterator(type), characteristics), false);
+    }
+
+    /**
+     * Generates a map of all bound type variables for {@code type}, its supertypes, and implemented interfaces; The bindings of every
+     * generic ancestor are expressed in terms of {@code type} itself, with the type variables of intermediate supertypes already
+     * substituted. If {@code type} is a {@link ParameterizedType}, its actual type arguments are substituted throughout the hierarchy as
+     * well. Results are cached, so repeated calls for the same type are inexpensive.
+     *
+     * @param type
+     *     The type for which a type variable map should be built
+     *
+     * @return An immutable map of all discovered type variables that have bindings, or the empty map if no type bindings were found
+     */
+    public static Map<TypeVariable<? extends Class<?>>, Type> resolveTypeVariables(Type type) {
+        return SupertypeIndex.of(type).typeVariables();
     }
 
     /**
@@ -329,50 +1207,197 @@ public final class Types {
      *     If {@code targetTypeVariableIndex} is less than 0 or more than the number of type variables in {@code targetClass}
      */
     public static Type resolveTypeVariable(Type boundType, @NonNull Class<?> targetClass, int targetTypeVariableIndex) {
+        TypeMetrics metrics = Types.metrics;
+        if (metrics == TypeMetrics.NONE) {
+            return typeArgument(boundType, targetClass, targetTypeVariableIndex);
+        }
+        long start = System.nanoTime();
+        Type resolvedType = typeArgument(boundType, targetClass, targetTypeVariableIndex);
+        metrics.recordCall(TypeMetrics.Operation.RESOLVE_TYPE_VARIABLE, System.nanoTime() - start);
+        return resolvedType;
+    }
+
+    /**
+     * Implements {@link #resolveTypeVariable(Type, Class, int)} for use within this library, without recording a call to the installed
+     * metrics
+     */
+    private static Type typeArgument(Type boundType, Class<?> targetClass, int targetTypeVariableIndex) {
         TypeVariable<? extends Class<?>>[] typeParameters = targetClass.getTypeParameters();
         if (typeParameters == null || typeParameters.length == 0) {
             throw new IllegalArgumentException(targetClass.getName() + " is not a generic class.");
-        } else if (targetTypeVariableIndex >= typeParameters.length) {
+        } else if (targetTypeVariableIndex < 0 || targetTypeVariableIndex >= typeParameters.length) {
             throw new IndexOutOfBoundsException("Generic parameter index " + targetTypeVariableIndex + " is invalid for class " + targetClass
                 .getName());
         }
-        return resolveTypeVariables(boundType).get(typeParameters[targetTypeVariableIndex]);
+        Type[] typeArguments = SupertypeIndex.of(boundType).typeArguments(targetClass);
+        return typeArguments != null ? typeArguments[targetTypeVariableIndex] : null;
+    }
+
+    /**
+     * Resolves all of the bound type variables of a supertype at once; This is equivalent to calling {@link #resolveTypeVariable(Type,
+     * Class, int)} for each type variable of {@code targetClass}, but only searches {@code boundType}'s supertypes once.
+     *
+     * @param boundType
+     *     Fully bound type
+     * @param targetClass
+     *     Generic class whose type bindings should be resolved
+     *
+     * @return A new array with the type bound to each type variable of {@code targetClass} in the context of {@code boundType}, in
+     * declaration order; If {@code targetClass} is not a supertype of {@code boundType}, then {@code null} is returned.
+     *
+     * @throws NullPointerException
+     *     If {@code targetClass} is {@code null}
+     * @throws IllegalArgumentException
+     *     If {@code targetClass} is not generic
+     */
+    public static Type[] resolveTypeArguments(Type boundType, @NonNull Class<?> targetClass) {
+        if (targetClass.getTypeParameters().length == 0) {
+            throw new IllegalArgumentException(targetClass.getName() + " is not a generic class.");
+        }
+        Type[] typeArguments = SupertypeIndex.of(boundType).typeArguments(targetClass);
+        return typeArguments != null ? typeArguments.clone() : null;
+    }
+
+    /**
+     * Checks if a type only refers to classes whose class loaders will outlive this class, so that the type may be held in a static cache
+     * without pinning any other class loaders in memory.
+     *
+     * @param type
+     *     Type to check
+     *
+     * @return {@code true} if {@code type} can safely be retained in a static cache
+     */
+    static boolean isRetainable(Type type) {
+        return isRetainable(type, Types.class.getClassLoader());
+    }
+
+    /**
+     * Checks if a type only refers to classes loaded by {@code classLoader} or one of its ancestors, so that the type may be retained by
+     * {@code classLoader} without pinning any other class loaders in memory.
+     *
+     * @param type
+     *     Type to check
+     * @param classLoader
+     *     Class loader that would retain the type, or {@code null} for the bootstrap class loader
+     *
+     * @return {@code true} if {@code type} can safely be retained by {@code classLoader}
+     */
+    static boolean isRetainable(Type type, ClassLoader classLoader) {
+        if (type instanceof Class) {
+            if (classLoader == Types.class.getClassLoader()) {
+                return RETAINABLE_CLASSES.get((Class<?>) type);
+            }
+            return isAncestor(((Class<?>) type).getClassLoader(), classLoader);
+        } else if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            if (parameterizedType.getOwnerType() != null && !isRetainable(parameterizedType.getOwnerType(), classLoader)) {
+                return false;
+            }
+            return isRetainable(parameterizedType.getRawType(), classLoader) && isRetainable(
+                sharedTypeArguments(parameterizedType),
+                classLoader
+            );
+        } else if (type instanceof WildcardType) {
+            return isRetainable(sharedUpperBounds((WildcardType) type), classLoader) && isRetainable(
+                sharedLowerBounds((WildcardType) type),
+                classLoader
+            );
+        } else if (type instanceof GenericArrayType) {
+            return isRetainable(((GenericArrayType) type).getGenericComponentType(), classLoader);
+        } else if (type instanceof TypeVariable) {
+            Object declaration = ((TypeVariable<?>) type).getGenericDeclaration();
+            if (declaration instanceof Class) {
+                return isRetainable((Class<?>) declaration, classLoader);
+            } else if (declaration instanceof Member) {
+                return isRetainable(((Member) declaration).getDeclaringClass(), classLoader);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRetainable(Type[] types, ClassLoader classLoader) {
+        if (types == null) {
+            return true;
+        }
+        for (Type type : types) {
+            if (!isRetainable(type, classLoader)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAncestor(ClassLoader ancestor, ClassLoader classLoader) {
+        if (ancestor == null) {
+            return true;
+        }
+        for (ClassLoader parent = classLoader; parent != null; parent = parent.getParent()) {
+            if (parent == ancestor) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Value
     private static class WildcardTypeImpl implements WildcardType {
 
-        @NonNull
         Type[] upperBounds;
 
-        @NonNull
         Type[] lowerBounds;
 
+        @NonFinal
+        @Getter(AccessLevel.NONE)
+        transient int hashCode;
+
+        @NonFinal
+        @Getter(AccessLevel.NONE)
+        transient String typeName;
+
+        WildcardTypeImpl(@NonNull Type[] upperBounds, @NonNull Type[] lowerBounds) {
+            this.upperBounds = upperBounds;
+            this.lowerBounds = lowerBounds;
+        }
+
         @Override
-        public String toString() {
-            if (upperBounds.length == 0 && lowerBounds.length == 0) {
-                return "?";
-            }
-            StringBuilder buf = new StringBuilder("?");
-            if (upperBounds.length > 0) {
-                buf.append(" extends ");
-                for (int i = 0; i < upperBounds.length; i++) {
-                    buf.append(upperBounds[i].toString());
-                    if (i < upperBounds.length - 1) {
-                        buf.append(" & ");
-                    }
-                }
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (!(o instanceof WildcardType) || o instanceof WildcardTypeImpl && hashCode() != o.hashCode()) {
+                return false;
             }
-            if (lowerBounds.length > 0) {
-                buf.append(" super ");
-                for (int i = 0; i < lowerBounds.length; i++) {
-                    buf.append(lowerBounds[i].toString());
-                    if (i < lowerBounds.length - 1) {
-                        buf.append(" & ");
-                    }
-                }
+            WildcardType other = (WildcardType) o;
+            return Arrays.equals(upperBounds, sharedUpperBounds(other)) && Arrays.equals(lowerBounds, sharedLowerBounds(other));
+        }
+
+        @Override
+        public Type[] getUpperBounds() {
+            return upperBounds.clone();
+        }
+
+        @Override
+        public Type[] getLowerBounds() {
+            return lowerBounds.clone();
+        }
+
+        @Override
+        public int hashCode() {
+            int hashCode = this.hashCode;
+            if (hashCode == 0) {
+                hashCode = wildcardHashCode(this);
+                this.hashCode = hashCode;
+            }
+            return hashCode;
+        }
+
+        @Override
+        public String toString() {
+            String typeName = this.typeName;
+            if (typeName == null) {
+                typeName = appendTypeName(this, new StringBuilder()).toString();
+                this.typeName = typeName;
             }
-            return buf.toString();
+            return typeName;
         }
     }
 
@@ -382,42 +1407,132 @@ public final class Types {
 
         Type ownerType;
 
-        @NonNull
         Type rawType;
 
-        @NonNull
         Type[] actualTypeArguments;
 
+        @NonFinal
+        @Getter(AccessLevel.NONE)
+        transient int hashCode;
+
+        @NonFinal
+        @Getter(AccessLevel.NONE)
+        transient String typeName;
+
+        /**
+         * Cached result of {@link Types#isReified(Type)}; {@code 0} if not yet computed, positive if reified, or negative otherwise
+         */
+        @NonFinal
+        @Getter(AccessLevel.NONE)
+        transient byte reified;
+
+        ParameterizedTypeImpl(Type ownerType, @NonNull Type rawType, @NonNull Type[] actualTypeArguments) {
+            this.ownerType = ownerType;
+            this.rawType = rawType;
+            this.actualTypeArguments = actualTypeArguments;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (!(o instanceof ParameterizedType) || o instanceof ParameterizedTypeImpl && hashCode() != o.hashCode()) {
+                return false;
+            }
+            ParameterizedType other = (ParameterizedType) o;
+            return rawType.equals(other.getRawType()) && Objects.equals(ownerType, other.getOwnerType()) && Arrays.equals(
+                actualTypeArguments,
+                sharedTypeArguments(other)
+            );
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return actualTypeArguments.clone();
+        }
+
+        @Override
+        public int hashCode() {
+            int hashCode = this.hashCode;
+            if (hashCode == 0) {
+                hashCode = parameterizedHashCode(this);
+                this.hashCode = hashCode;
+            }
+            return hashCode;
+        }
+
         @Override
         public String toString() {
-            StringBuilder buf = new StringBuilder();
-            if (ownerType != null) {
-                buf.append(ownerType.toString()).append('.');
-            }
-            buf.append(rawType);
-            if (actualTypeArguments.length > 0) {
-                buf.append('<');
-                for (int i = 0; i < actualTypeArguments.length; i++) {
-                    buf.append(actualTypeArguments[i].toString());
-                    if (i < actualTypeArguments.length - 1) {
-                        buf.append(',');
-                    }
-                }
-                buf.append('>');
+            String typeName = this.typeName;
+            if (typeName == null) {
+                typeName = appendTypeName(this, new StringBuilder()).toString();
+                this.typeName = typeName;
+            }
+            return typeName;
+        }
+
+        boolean isReified() {
+            byte reified = this.reified;
+            if (reified == 0) {
+                reified = computeReified(this) ? (byte) 1 : (byte) -1;
+                this.reified = reified;
             }
-            return buf.toString();
+            return reified > 0;
         }
     }
 
     @Value
     private static class GenericArrayTypeImpl implements GenericArrayType {
 
-        @NonNull
         Type genericComponentType;
 
+        @NonFinal
+        @Getter(AccessLevel.NONE)
+        transient String typeName;
+
+        /**
+         * Cached result of {@link Types#isReified(Type)}; {@code 0} if not yet computed, positive if reified, or negative otherwise
+         */
+        @NonFinal
+        @Getter(AccessLevel.NONE)
+        transient byte reified;
+
+        GenericArrayTypeImpl(@NonNull Type genericComponentType) {
+            this.genericComponentType = genericComponentType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            } else if (!(o instanceof GenericArrayType)) {
+                return false;
+            }
+            return genericComponentType.equals(((GenericArrayType) o).getGenericComponentType());
+        }
+
+        @Override
+        public int hashCode() {
+            return Types.hashCode(genericComponentType);
+        }
+
         @Override
         public String toString() {
-            return getGenericComponentType().toString() + "[]";
+            String typeName = this.typeName;
+            if (typeName == null) {
+                typeName = appendTypeName(this, new StringBuilder()).toString();
+                this.typeName = typeName;
+            }
+            return typeName;
+        }
+
+        boolean isReified() {
+            byte reified = this.reified;
+            if (reified == 0) {
+                reified = computeReified(this) ? (byte) 1 : (byte) -1;
+                this.reified = reified;
+            }
+            return reified > 0;
         }
     }
 
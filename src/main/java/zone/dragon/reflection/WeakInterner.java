@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import lombok.NonNull;
+
+/**
+ * Maps equal instances to a single canonical instance, similar to {@link String#intern()}; Canonical instances are only weakly held, so
+ * they are discarded once nothing else refers to them. Access is striped over several locks to reduce contention.
+ *
+ * @param <T>
+ *     Type of the interned instances
+ *
+ * @author Bryan Harclerode
+ */
+final class WeakInterner<T> {
+
+    private static final int STRIPES = 16;
+
+    private final Map<T, WeakReference<T>>[] stripes = newStripes();
+
+    @SuppressWarnings("unchecked")
+    private static <T> Map<T, WeakReference<T>>[] newStripes() {
+        Map<T, WeakReference<T>>[] stripes = (Map<T, WeakReference<T>>[]) new Map<?, ?>[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new WeakHashMap<>();
+        }
+        return stripes;
+    }
+
+    /**
+     * Looks up the canonical instance that is equal to {@code instance}
+     *
+     * @param instance
+     *     Instance to look up
+     *
+     * @return The canonical instance equal to {@code instance}, or {@code null} if there is none
+     *
+     * @throws NullPointerException
+     *     If {@code instance} is {@code null}
+     */
+    T get(@NonNull T instance) {
+        Map<T, WeakReference<T>> stripe = stripe(instance);
+        synchronized (stripe) {
+            WeakReference<T> reference = stripe.get(instance);
+            return reference != null ? reference.get() : null;
+        }
+    }
+
+    /**
+     * Returns the canonical instance that is equal to {@code instance}, making {@code instance} canonical if there is none
+     *
+     * @param instance
+     *     Instance to intern
+     *
+     * @return The canonical instance equal to {@code instance}
+     *
+     * @throws NullPointerException
+     *     If {@code instance} is {@code null}
+     */
+    T intern(@NonNull T instance) {
+        Map<T, WeakReference<T>> stripe = stripe(instance);
+        synchronized (stripe) {
+            WeakReference<T> reference = stripe.get(instance);
+            T canonical = reference != null ? reference.get() : null;
+            if (canonical == null) {
+                stripe.put(instance, new WeakReference<>(instance));
+                canonical = instance;
+            }
+            return canonical;
+        }
+    }
+
+    private Map<T, WeakReference<T>> stripe(T instance) {
+        int hash = instance.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+}
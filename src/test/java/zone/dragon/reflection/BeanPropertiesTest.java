@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Bryan Harclerode
+ */
+@DisplayName("BeanProperties")
+public class BeanPropertiesTest {
+
+    private static class GenericBean<T> {
+
+        private T item;
+
+        private List<T> items;
+
+        private transient int hash;
+
+        private int version;
+
+        public final String id = "fixed";
+
+        public T getItem() {
+            return item;
+        }
+
+        public void setItem(T item) {
+            this.item = item;
+        }
+
+        public List<T> getItems() {
+            return items;
+        }
+
+        public boolean isEmpty() {
+            return items == null || items.isEmpty();
+        }
+
+        public String getURL() {
+            return "url";
+        }
+
+        public void setCount(int count) {
+            this.hash = count;
+        }
+
+        public void setSize(int size) {
+            this.hash = size;
+        }
+
+        public void setSize(String size) {
+            this.hash = size.length();
+        }
+    }
+
+    private static class StringBean extends GenericBean<String> {}
+
+    private static class ValueBean {
+
+        private Object value;
+
+        public Object getValue() {
+            return value;
+        }
+
+        public void setValue(Object value) {
+            this.value = value;
+        }
+    }
+
+    private static class StringValueBean extends ValueBean {
+
+        @Override
+        public String getValue() {
+            return (String) super.getValue();
+        }
+
+        public void setValue(CharSequence value) {
+            super.setValue(value.toString());
+        }
+    }
+
+    @Nested
+    @DisplayName("of(Type)")
+    class Of {
+        @Test
+        @DisplayName("with a class")
+        void withClass() {
+            BeanProperties properties = BeanProperties.of(StringBean.class);
+            //
+            assertThat(properties).isSameAs(BeanProperties.of(StringBean.class));
+            assertThat(properties.getProperties())
+                .extracting(BeanProperties.Property::getName)
+                .containsExactly("URL", "count", "empty", "id", "item", "items");
+            assertThat(properties.property("item").getType()).isEqualTo(String.class);
+            assertThat(properties.property("items").getType()).isEqualTo(Types.parameterized(null, List.class, String.class));
+            assertThat(properties.property("count").getType()).isEqualTo(int.class);
+            assertThat(properties.property("hash")).isNull();
+            assertThat(properties.property("version")).isNull();
+        }
+
+        @Test
+        @DisplayName("with overloaded setters and no getter")
+        void withOverloadedSetters() {
+            assertThat(BeanProperties.of(StringBean.class).property("size")).isNull();
+        }
+
+        @Test
+        @DisplayName("with a parameterized type")
+        void withParameterizedType() {
+            BeanProperties properties = BeanProperties.of(Types.parameterized(null, GenericBean.class, Integer.class));
+            //
+            assertThat(properties).isSameAs(BeanProperties.of(Types.parameterized(null, GenericBean.class, Integer.class)));
+            assertThat(properties.property("item").getType()).isEqualTo(Integer.class);
+            assertThat(properties.property("items").getType()).isEqualTo(Types.parameterized(null, List.class, Integer.class));
+        }
+
+        @Test
+        @DisplayName("with metrics")
+        void withMetrics() {
+            InMemoryTypeMetrics metrics = new InMemoryTypeMetrics();
+            Types.setMetrics(metrics);
+            try {
+                BeanProperties.of(StringBean.class);
+                BeanProperties.of(Types.parameterized(null, GenericBean.class, Long.class));
+                BeanProperties.of(Types.parameterized(null, GenericBean.class, Long.class));
+                //
+                InMemoryTypeMetrics.CacheStats stats = metrics.snapshot().getCache(TypeMetrics.Cache.BEAN_PROPERTIES);
+                assertThat(stats.getHits()).isEqualTo(1);
+                assertThat(stats.getMisses()).isEqualTo(1);
+            } finally {
+                Types.setMetrics(TypeMetrics.NONE);
+            }
+        }
+
+        @Test
+        @DisplayName("with a type variable")
+        void withTypeVariable() {
+            assertThatThrownBy(() -> BeanProperties.of(GenericBean.class.getTypeParameters()[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            assertThatThrownBy(() -> BeanProperties.of(null)).isInstanceOf(NullPointerException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Property")
+    class Property {
+        @Test
+        @DisplayName("with a getter and setter")
+        void withGetterAndSetter() {
+            BeanProperties.Property item = BeanProperties.of(StringBean.class).property("item");
+            StringBean bean = new StringBean();
+            //
+            item.set(bean, "value");
+            //
+            assertThat(item.getGetter()).isNotNull();
+            assertThat(item.getSetter()).isNotNull();
+            assertThat(item.getField()).isNotNull();
+            assertThat(item.get(bean)).isEqualTo("value");
+        }
+
+        @Test
+        @DisplayName("with only a getter and field")
+        void withGetterAndField() {
+            BeanProperties.Property items = BeanProperties.of(StringBean.class).property("items");
+            StringBean bean = new StringBean();
+            //
+            items.set(bean, null);
+            //
+            assertThat(items.isReadable()).isTrue();
+            assertThat(items.isWritable()).isTrue();
+            assertThat(items.getSetter()).isNull();
+            assertThat(items.get(bean)).isNull();
+        }
+
+        @Test
+        @DisplayName("with a final field")
+        void withFinalField() {
+            BeanProperties.Property id = BeanProperties.of(StringBean.class).property("id");
+            //
+            assertThat(id.isReadable()).isTrue();
+            assertThat(id.isWritable()).isFalse();
+            assertThat(id.get(new StringBean())).isEqualTo("fixed");
+            assertThatThrownBy(() -> id.set(new StringBean(), "other")).isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        @DisplayName("with a covariant getter")
+        void withCovariantGetter() throws NoSuchMethodException {
+            BeanProperties.Property value = BeanProperties.of(StringValueBean.class).property("value");
+            StringValueBean bean = new StringValueBean();
+            //
+            value.set(bean, new StringBuilder("value"));
+            //
+            assertThat(value.getType()).isEqualTo(String.class);
+            assertThat(value.getSetter().getMethod()).isEqualTo(StringValueBean.class.getMethod("setValue", CharSequence.class));
+            assertThat(value.get(bean)).isEqualTo("value");
+        }
+
+        @Test
+        @DisplayName("with only a setter")
+        void withSetter() {
+            BeanProperties.Property count = BeanProperties.of(StringBean.class).property("count");
+            //
+            assertThat(count.isReadable()).isFalse();
+            assertThat(count.isWritable()).isTrue();
+            assertThatThrownBy(() -> count.get(new StringBean())).isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+}
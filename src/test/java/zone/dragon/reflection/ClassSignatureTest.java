@@ -0,0 +1,223 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Bryan Harclerode
+ */
+@DisplayName("ClassSignature")
+public class ClassSignatureTest {
+
+    private static class BoundsFixture<A extends B, B extends Comparable<? super B> & Serializable> extends ArrayList<String[]>
+        implements Function<List<?>[], int[][]> {
+        @Override
+        public int[][] apply(List<?>[] lists) {
+            return null;
+        }
+    }
+
+    private static class OuterFixture<O> {
+        private class InnerFixture<I> extends HashMap<O, I[]> implements Comparable<OuterFixture<O>.InnerFixture<I>> {
+            @Override
+            public int compareTo(OuterFixture<O>.InnerFixture<I> o) {
+                return 0;
+            }
+        }
+    }
+
+    private static class ChainFixture extends BoundsFixture<Integer, Integer> {}
+
+    @SuppressWarnings("rawtypes")
+    private static class RawFixture extends BoundsFixture {}
+
+    private static class PlainFixture implements Serializable {}
+
+    private interface InterfaceFixture<T> extends Comparable<T> {}
+
+    private static ClassSignature read(Class<?> type) throws IOException {
+        return ClassSignature.read(type.getName(), type.getClassLoader());
+    }
+
+    @Nested
+    @DisplayName("read(String,ClassLoader)")
+    class ReadByName {
+        @Test
+        @DisplayName("with bounded type parameters")
+        void withBoundedTypeParameters() throws IOException {
+            ClassSignature signature = read(BoundsFixture.class);
+            //
+            assertThat(signature.getName()).isEqualTo(BoundsFixture.class.getName());
+            assertThat(signature.isInterface()).isFalse();
+            assertThat(ClassSignature.load(signature.getGenericSuperclass())).isEqualTo(BoundsFixture.class.getGenericSuperclass());
+            assertThat(Arrays.stream(signature.getGenericInterfaces()).map(ClassSignature::load)).containsExactly(
+                BoundsFixture.class.getGenericInterfaces());
+            assertThat(Arrays.stream(signature.getTypeParameters()).map(ClassSignature::load)).containsExactly(
+                BoundsFixture.class.getTypeParameters());
+        }
+
+        @Test
+        @DisplayName("with type parameter bounds")
+        void withTypeParameterBounds() throws IOException {
+            TypeVariable<?>[] typeParameters = read(BoundsFixture.class).getTypeParameters();
+            //
+            assertThat(typeParameters[0].getName()).isEqualTo("A");
+            assertThat(typeParameters[0].getBounds()).containsExactly(typeParameters[1]);
+            assertThat(Arrays.stream(typeParameters[1].getBounds()).map(ClassSignature::load)).containsExactly(
+                BoundsFixture.class.getTypeParameters()[1].getBounds());
+            assertThat(typeParameters[1].getGenericDeclaration()).isEqualTo(BoundsFixture.class);
+        }
+
+        @Test
+        @DisplayName("with an inner class of a generic class")
+        void withInnerClass() throws IOException {
+            ClassSignature signature = read(OuterFixture.InnerFixture.class);
+            //
+            assertThat(ClassSignature.load(signature.getGenericSuperclass())).isEqualTo(
+                OuterFixture.InnerFixture.class.getGenericSuperclass());
+            assertThat(ClassSignature.load(signature.getGenericInterfaces()[0])).isEqualTo(
+                OuterFixture.InnerFixture.class.getGenericInterfaces()[0]);
+            ParameterizedType superclass = (ParameterizedType) signature.getGenericSuperclass();
+            TypeVariable<?> outerVariable = (TypeVariable<?>) superclass.getActualTypeArguments()[0];
+            assertThat(outerVariable.getBounds()).containsExactly(Object.class);
+            assertThat(outerVariable.getGenericDeclaration()).isEqualTo(OuterFixture.class);
+        }
+
+        @Test
+        @DisplayName("with a class without a signature")
+        void withoutSignature() throws IOException {
+            ClassSignature signature = read(PlainFixture.class);
+            //
+            assertThat(signature.getTypeParameters()).isEmpty();
+            assertThat(ClassSignature.load(signature.getGenericSuperclass())).isEqualTo(Object.class);
+            assertThat(signature.getGenericInterfaces()).extracting(Type::getTypeName).containsExactly(Serializable.class.getName());
+            assertThat(signature.toString()).isEqualTo("class " + PlainFixture.class.getName() + " extends java.lang.Object implements java.io.Serializable");
+        }
+
+        @Test
+        @DisplayName("with an interface")
+        void withInterface() throws IOException {
+            ClassSignature signature = read(InterfaceFixture.class);
+            //
+            assertThat(signature.isInterface()).isTrue();
+            assertThat(signature.getGenericSuperclass()).isNull();
+            assertThat(ClassSignature.load(signature.getGenericInterfaces()[0])).isEqualTo(
+                InterfaceFixture.class.getGenericInterfaces()[0]);
+        }
+
+        @Test
+        @DisplayName("with a core class")
+        void withCoreClass() throws IOException {
+            ClassSignature signature = ClassSignature.read(ArrayList.class.getName(), null);
+            //
+            assertThat(ClassSignature.load(signature.getGenericSuperclass())).isEqualTo(ArrayList.class.getGenericSuperclass());
+            assertThat(Arrays.stream(signature.getGenericInterfaces()).map(ClassSignature::load)).containsExactly(
+                ArrayList.class.getGenericInterfaces());
+        }
+
+        @Test
+        @DisplayName("with a missing class")
+        void withMissingClass() {
+            ClassLoader classLoader = getClass().getClassLoader();
+            //
+            assertThatThrownBy(() -> ClassSignature.read("zone.dragon.reflection.MissingFixture", classLoader)).isInstanceOf(
+                IOException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("read(ByteBuffer,ClassLoader)")
+    class ReadBuffer {
+        @Test
+        @DisplayName("with a file that isn't a class file")
+        void withOtherFile() {
+            assertThatThrownBy(() -> ClassSignature.read(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}), null)).isInstanceOf(
+                IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("with a truncated class file")
+        void withTruncatedFile() {
+            ByteBuffer classFile = ByteBuffer.wrap(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 52, 0, 10, 1});
+            //
+            assertThatThrownBy(() -> ClassSignature.read(classFile, null)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("resolveTypeArguments(String)")
+    class ResolveTypeArguments {
+        @Test
+        @DisplayName("with a bound supertype")
+        void withBoundSupertype() throws IOException {
+            Type[] typeArguments = read(ChainFixture.class).resolveTypeArguments(List.class.getName());
+            //
+            assertThat(Arrays.stream(typeArguments).map(ClassSignature::load)).containsExactly(String[].class);
+        }
+
+        @Test
+        @DisplayName("with a supertype bound to type variables")
+        void withTypeVariables() throws IOException {
+            ClassSignature signature = read(OuterFixture.InnerFixture.class);
+            //
+            Type[] typeArguments = signature.resolveTypeArguments("java.util.Map");
+            assertThat(typeArguments[0].getTypeName()).isEqualTo("O");
+            assertThat(ClassSignature.load(typeArguments[1])).isEqualTo(
+                Types.arrayOf(OuterFixture.InnerFixture.class.getTypeParameters()[0]));
+        }
+
+        @Test
+        @DisplayName("with a supertype of a raw supertype")
+        void withRawSupertype() throws IOException {
+            assertThat(read(RawFixture.class).resolveTypeArguments(AbstractList.class.getName())).isEmpty();
+        }
+
+        @Test
+        @DisplayName("with the class itself")
+        void withSelf() throws IOException {
+            ClassSignature signature = read(BoundsFixture.class);
+            //
+            assertThat(signature.resolveTypeArguments(BoundsFixture.class.getName())).containsExactly(signature.getTypeParameters());
+        }
+
+        @Test
+        @DisplayName("with an unrelated class")
+        void withUnrelatedClass() throws IOException {
+            assertThat(read(ChainFixture.class).resolveTypeArguments(Comparable.class.getName())).isNull();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+import java.util.AbstractMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * @author Bryan Harclerode
+ */
+@DisplayName("ConcurrentTypeMap")
+public class ConcurrentTypeMapTest {
+
+    private static class Fixture {
+        public List<? super Integer> list;
+    }
+
+    private Type reflectedType;
+
+    private Type constructedType;
+
+    private ConcurrentTypeMap<String> map;
+
+    @BeforeEach
+    void setup() throws NoSuchFieldException {
+        reflectedType = Fixture.class.getField("list").getGenericType();
+        constructedType = Types.parameterized(null, List.class, Types.anySuper(Integer.class));
+        map = new ConcurrentTypeMap<>();
+    }
+
+    @Nested
+    @DisplayName("get(Object)")
+    class Get {
+        @Test
+        @DisplayName("with equal type from another implementation")
+        void withEqualType() {
+            map.put(constructedType, "value");
+            //
+            assertThat(map.get(reflectedType)).isEqualTo("value");
+            assertThat(map.containsKey(reflectedType)).isTrue();
+            assertThat(map).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("with missing type")
+        void withMissingType() {
+            map.put(constructedType, "value");
+            //
+            assertThat(map.get(Types.parameterized(null, List.class, Integer.class))).isNull();
+            assertThat(map.get("java.util.List")).isNull();
+            assertThat(map.containsKey("java.util.List")).isFalse();
+        }
+
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            assertThatThrownBy(() -> map.get(null)).isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> map.put(null, "value")).isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> map.put(reflectedType, null)).isInstanceOf(NullPointerException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("put(Type,Object)")
+    class Put {
+        @Test
+        @DisplayName("with equal types")
+        void withEqualTypes() {
+            map.put(reflectedType, "first");
+            //
+            assertThat(map.put(constructedType, "second")).isEqualTo("first");
+            assertThat(map.putIfAbsent(constructedType, "third")).isEqualTo("second");
+            assertThat(map).containsExactly(entry(reflectedType, "second"));
+        }
+
+        @Test
+        @DisplayName("computeIfAbsent")
+        void computeIfAbsent() {
+            map.put(reflectedType, "first");
+            //
+            assertThat(map.computeIfAbsent(constructedType, Type::getTypeName)).isEqualTo("first");
+            assertThat(map.computeIfAbsent(Map.class, Type::getTypeName)).isEqualTo("java.util.Map");
+            assertThat(map).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("remove and replace")
+        void removeAndReplace() {
+            map.put(reflectedType, "first");
+            //
+            assertThat(map.replace(constructedType, "first", "second")).isTrue();
+            assertThat(map.remove(constructedType, "first")).isFalse();
+            assertThat(map.remove(constructedType)).isEqualTo("second");
+            assertThat(map).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("entrySet()")
+    class EntrySet {
+        @Test
+        @DisplayName("setValue")
+        void setValue() {
+            map.put(reflectedType, "first");
+            //
+            Map.Entry<Type, String> entry = map.entrySet().iterator().next();
+            entry.setValue("second");
+            //
+            assertThat(entry.getKey()).isSameAs(reflectedType);
+            assertThat(map.get(constructedType)).isEqualTo("second");
+        }
+
+        @Test
+        @DisplayName("equals and hashCode")
+        void equalsAndHashCode() {
+            map.put(Map.class, "first");
+            //
+            Map.Entry<Type, String> entry = map.entrySet().iterator().next();
+            Map.Entry<Type, String> expected = new AbstractMap.SimpleEntry<>(Map.class, "first");
+            //
+            assertThat(entry).isEqualTo(expected).hasSameHashCodeAs(expected).hasToString(expected.toString());
+            assertThat(expected).isEqualTo(entry);
+        }
+
+        @Test
+        @DisplayName("remove")
+        void remove() {
+            map.put(reflectedType, "first");
+            map.put(Map.class, "second");
+            //
+            map.entrySet().removeIf(entry -> entry.getValue().equals("first"));
+            //
+            assertThat(map).containsOnlyKeys(Map.class);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import zone.dragon.reflection.InMemoryTypeMetrics.CacheStats;
+import zone.dragon.reflection.InMemoryTypeMetrics.OperationStats;
+import zone.dragon.reflection.InMemoryTypeMetrics.Snapshot;
+import zone.dragon.reflection.TypeMetrics.Cache;
+import zone.dragon.reflection.TypeMetrics.Operation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Bryan Harclerode
+ */
+@DisplayName("InMemoryTypeMetrics")
+public class InMemoryTypeMetricsTest {
+
+    private static class GenericFixture<T> {
+        public List<T> value;
+    }
+
+    private static class BoundFixture extends GenericFixture<String> {}
+
+    private InMemoryTypeMetrics metrics;
+
+    @BeforeEach
+    void install() {
+        metrics = new InMemoryTypeMetrics();
+        Types.setMetrics(metrics);
+    }
+
+    @AfterEach
+    void uninstall() {
+        Types.setMetrics(TypeMetrics.NONE);
+    }
+
+    @Nested
+    @DisplayName("recordCall(Operation,long)")
+    class RecordCall {
+        @Test
+        @DisplayName("with Types operations")
+        void withTypesOperations() throws NoSuchFieldException {
+            Type memberType = GenericFixture.class.getField("value").getGenericType();
+            //
+            Types.rawType(memberType);
+            Types.resolveTypeVariable(BoundFixture.class, GenericFixture.class, 0);
+            Types.resolveReifiedType(BoundFixture.class, memberType, List.class, 0);
+            Types.resolveReifiedType(BoundFixture.class, memberType, List.class, 0);
+            //
+            Snapshot snapshot = metrics.snapshot();
+            assertThat(snapshot.getOperation(Operation.RAW_TYPE).getCalls()).isEqualTo(1);
+            assertThat(snapshot.getOperation(Operation.RESOLVE_TYPE_VARIABLE).getCalls()).isEqualTo(1);
+            assertThat(snapshot.getOperation(Operation.RESOLVE_REIFIED_TYPE).getCalls()).isEqualTo(2);
+            assertThat(snapshot.getOperation(Operation.REIFY_TYPE).getCalls()).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("with latencies")
+        void withLatencies() {
+            metrics.recordCall(Operation.REIFY_TYPE, 0);
+            metrics.recordCall(Operation.REIFY_TYPE, 100);
+            metrics.recordCall(Operation.REIFY_TYPE, 1000);
+            metrics.recordCall(Operation.REIFY_TYPE, Long.MAX_VALUE / 2);
+            //
+            OperationStats stats = metrics.snapshot().getOperation(Operation.REIFY_TYPE);
+            //
+            assertThat(stats.getCalls()).isEqualTo(4);
+            assertThat(stats.getBuckets()[0]).isEqualTo(1);
+            assertThat(stats.getBuckets()[7]).isEqualTo(1);
+            assertThat(stats.getBuckets()[10]).isEqualTo(1);
+            assertThat(stats.getBuckets()[InMemoryTypeMetrics.BUCKETS - 1]).isEqualTo(1);
+            assertThat(stats.percentileNanos(50)).isEqualTo(128);
+            assertThat(stats.percentileNanos(75)).isEqualTo(1024);
+            assertThat(stats.percentileNanos(100)).isEqualTo(Long.MAX_VALUE);
+            assertThatThrownBy(() -> stats.percentileNanos(101)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("recordHit(Cache)")
+    class RecordHit {
+        @Test
+        @DisplayName("with reified types")
+        void withReifiedTypes() throws NoSuchFieldException {
+            class LocalFixture extends GenericFixture<Integer> {}
+            Type memberType = GenericFixture.class.getField("value").getGenericType();
+            Map<TypeVariable<? extends Class<?>>, Type> typeVariables = Types.resolveTypeVariables(LocalFixture.class);
+            //
+            Types.reifyType(memberType, typeVariables);
+            Types.reifyType(memberType, typeVariables);
+            Types.reifyType(memberType, typeVariables);
+            //
+            Snapshot snapshot = metrics.snapshot();
+            CacheStats stats = snapshot.getCache(Cache.REIFIED_TYPE);
+            assertThat(stats.getHits()).isEqualTo(2);
+            assertThat(stats.getMisses()).isEqualTo(1);
+            assertThat(stats.getHitRate()).isEqualTo(2 / 3.0);
+            assertThat(snapshot.getCache(Cache.SUPERTYPE_INDEX).getMisses()).isEqualTo(1);
+            assertThat(snapshot.getOperation(Operation.REIFY_TYPE).getCalls()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("with supertype indexes")
+        void withSupertypeIndexes() {
+            class LocalFixture extends GenericFixture<Integer> {}
+            //
+            Types.resolveTypeVariables(LocalFixture.class);
+            Types.resolveTypeVariables(LocalFixture.class);
+            Types.resolveTypeVariables(LocalFixture.class);
+            //
+            CacheStats stats = metrics.snapshot().getCache(Cache.SUPERTYPE_INDEX);
+            assertThat(stats.getHits()).isEqualTo(2);
+            assertThat(stats.getMisses()).isEqualTo(1);
+            assertThat(stats.getHitRate()).isEqualTo(2 / 3.0);
+        }
+
+        @Test
+        @DisplayName("with evictions")
+        void withEvictions() {
+            metrics.recordEviction(Cache.SUBTYPE);
+            metrics.recordEviction(Cache.SUBTYPE);
+            //
+            assertThat(metrics.snapshot().getCache(Cache.SUBTYPE).getEvictions()).isEqualTo(2);
+            assertThat(metrics.snapshot().getCache(Cache.SUBTYPE).getHitRate()).isEqualTo(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("reset()")
+    class Reset {
+        @Test
+        @DisplayName("with recorded metrics")
+        void withRecordedMetrics() {
+            Types.rawType(new ArrayList<String>() {}.getClass().getGenericSuperclass());
+            metrics.recordHit(Cache.PARSED_TYPE);
+            //
+            metrics.reset();
+            //
+            Snapshot snapshot = metrics.snapshot();
+            assertThat(snapshot.getOperation(Operation.RAW_TYPE).getCalls()).isEqualTo(0);
+            assertThat(snapshot.getOperation(Operation.RAW_TYPE).getTotalNanos()).isEqualTo(0);
+            assertThat(snapshot.getCache(Cache.PARSED_TYPE).getHits()).isEqualTo(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Types.setMetrics(TypeMetrics)")
+    class SetMetrics {
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            assertThatThrownBy(() -> Types.setMetrics(null)).isInstanceOf(NullPointerException.class);
+            assertThat(Types.getMetrics()).isSameAs(metrics);
+        }
+
+        @Test
+        @DisplayName("with no metrics")
+        void withNoMetrics() {
+            Types.setMetrics(TypeMetrics.NONE);
+            //
+            Types.rawType(String.class);
+            //
+            assertThat(metrics.snapshot().getOperation(Operation.RAW_TYPE).getCalls()).isEqualTo(0);
+        }
+    }
+}
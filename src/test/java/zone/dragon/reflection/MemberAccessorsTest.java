@@ -0,0 +1,234 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.io.IOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Bryan Harclerode
+ */
+@DisplayName("MemberAccessors")
+public class MemberAccessorsTest {
+
+    private static class GenericFixture<T> {
+
+        T value;
+
+        List<T> values;
+
+        final int count;
+
+        GenericFixture(int count) {
+            this.count = count;
+        }
+
+        T getValue() {
+            return value;
+        }
+
+        static String describe(Object value) {
+            return "value " + value;
+        }
+
+        void fail() throws IOException {
+            throw new IOException("failed");
+        }
+    }
+
+    private static class BoundFixture extends GenericFixture<String> {
+
+        String value;
+
+        BoundFixture() {
+            super(3);
+        }
+
+        @Override
+        String getValue() {
+            return "bound";
+        }
+    }
+
+    private interface InterfaceFixture {
+        int size();
+    }
+
+    @Nested
+    @DisplayName("of(Type)")
+    class Of {
+        @Test
+        @DisplayName("with a class")
+        void withClass() {
+            MemberAccessors accessors = MemberAccessors.of(BoundFixture.class);
+            //
+            assertThat(accessors).isSameAs(MemberAccessors.of(BoundFixture.class));
+            assertThat(accessors.getType()).isEqualTo(BoundFixture.class);
+            assertThat(accessors.getFields())
+                .extracting(field -> field.getField().getName())
+                .containsExactly("value", "value", "values", "count");
+            assertThat(accessors.getFields().get(1).getType()).isEqualTo(String.class);
+            assertThat(accessors.getFields().get(2).getType()).isEqualTo(Types.parameterized(null, List.class, String.class));
+            assertThat(accessors.getConstructors()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("with a parameterized type")
+        void withParameterizedType() {
+            MemberAccessors accessors = MemberAccessors.of(Types.parameterized(null, GenericFixture.class, Integer.class));
+            //
+            assertThat(accessors).isSameAs(MemberAccessors.of(Types.parameterized(null, GenericFixture.class, Integer.class)));
+            assertThat(accessors.field("value").getType()).isEqualTo(Integer.class);
+            assertThat(accessors.field("value").getGetter()).isSameAs(MemberAccessors.of(GenericFixture.class).field("value").getGetter());
+            assertThat(accessors.method("getValue").getReturnType()).isEqualTo(Integer.class);
+            assertThat(accessors.constructor(int.class).getParameterTypes()).containsExactly(int.class);
+        }
+
+        @Test
+        @DisplayName("with an interface")
+        void withInterface() {
+            MemberAccessors accessors = MemberAccessors.of(InterfaceFixture.class);
+            //
+            assertThat(accessors.getFields()).isEmpty();
+            assertThat(accessors.getConstructors()).isEmpty();
+            assertThat(accessors.method("size").invoke((InterfaceFixture) () -> 7)).isEqualTo(7);
+        }
+
+        @Test
+        @DisplayName("with metrics")
+        void withMetrics() {
+            InMemoryTypeMetrics metrics = new InMemoryTypeMetrics();
+            Types.setMetrics(metrics);
+            try {
+                MemberAccessors.of(InterfaceFixture.class);
+                MemberAccessors.of(Types.parameterized(null, GenericFixture.class, Long.class));
+                MemberAccessors.of(Types.parameterized(null, GenericFixture.class, Long.class));
+                //
+                InMemoryTypeMetrics.CacheStats stats = metrics.snapshot().getCache(TypeMetrics.Cache.MEMBER_ACCESSORS);
+                assertThat(stats.getHits()).isEqualTo(1);
+                assertThat(stats.getMisses()).isEqualTo(1);
+            } finally {
+                Types.setMetrics(TypeMetrics.NONE);
+            }
+        }
+
+        @Test
+        @DisplayName("with a type variable")
+        void withTypeVariable() {
+            assertThatThrownBy(() -> MemberAccessors.of(GenericFixture.class.getTypeParameters()[0]))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            assertThatThrownBy(() -> MemberAccessors.of(null)).isInstanceOf(NullPointerException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("FieldAccessor")
+    class FieldAccessor {
+        @Test
+        @DisplayName("with a hidden field")
+        void withHiddenField() {
+            MemberAccessors accessors = MemberAccessors.of(BoundFixture.class);
+            BoundFixture fixture = new BoundFixture();
+            //
+            accessors.field("value").set(fixture, "hiding");
+            accessors.getFields().get(1).set(fixture, "hidden");
+            //
+            assertThat(fixture.value).isEqualTo("hiding");
+            assertThat(((GenericFixture<String>) fixture).value).isEqualTo("hidden");
+            assertThat(accessors.field("value").get(fixture)).isEqualTo("hiding");
+        }
+
+        @Test
+        @DisplayName("with a final field")
+        void withFinalField() {
+            MemberAccessors.FieldAccessor count = MemberAccessors.of(BoundFixture.class).field("count");
+            //
+            assertThat(count.isWritable()).isFalse();
+            assertThat(count.get(new BoundFixture())).isEqualTo(3);
+            assertThatThrownBy(() -> count.set(new BoundFixture(), 4)).isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        @DisplayName("with the wrong target")
+        void withWrongTarget() {
+            MemberAccessors.FieldAccessor value = MemberAccessors.of(BoundFixture.class).field("value");
+            //
+            assertThatThrownBy(() -> value.get("target")).isInstanceOf(ClassCastException.class);
+            assertThatThrownBy(() -> value.get(null)).isInstanceOf(NullPointerException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("MethodAccessor")
+    class MethodAccessor {
+        @Test
+        @DisplayName("with an overridden method")
+        void withOverriddenMethod() {
+            MemberAccessors accessors = MemberAccessors.of(BoundFixture.class);
+            //
+            assertThat(accessors.getMethods()).filteredOn(method -> method.getMethod().getName().equals("getValue")).hasSize(1);
+            assertThat(accessors.method("getValue").getMethod().getDeclaringClass()).isEqualTo(BoundFixture.class);
+            assertThat(accessors.method("getValue").invoke(new BoundFixture())).isEqualTo("bound");
+        }
+
+        @Test
+        @DisplayName("with a static method")
+        void withStaticMethod() {
+            MemberAccessors.MethodAccessor describe = MemberAccessors.of(BoundFixture.class).method("describe", Object.class);
+            //
+            assertThat(describe.invoke(null, 5)).isEqualTo("value 5");
+            assertThatThrownBy(() -> describe.invoke(null)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("with a checked exception")
+        void withCheckedException() {
+            MemberAccessors.MethodAccessor fail = MemberAccessors.of(BoundFixture.class).method("fail");
+            //
+            assertThatThrownBy(() -> fail.invoke(new BoundFixture()))
+                .isInstanceOf(UndeclaredThrowableException.class)
+                .hasCauseInstanceOf(IOException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("ConstructorAccessor")
+    class ConstructorAccessor {
+        @Test
+        @DisplayName("with arguments")
+        void withArguments() {
+            Object fixture = MemberAccessors.of(GenericFixture.class).constructor(int.class).newInstance(5);
+            //
+            assertThat(fixture).isInstanceOf(GenericFixture.class);
+            assertThat(((GenericFixture<?>) fixture).count).isEqualTo(5);
+        }
+    }
+}
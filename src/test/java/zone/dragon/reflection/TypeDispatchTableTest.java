@@ -0,0 +1,219 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Bryan Harclerode
+ */
+@DisplayName("TypeDispatchTable")
+public class TypeDispatchTableTest {
+
+    private static final Type LIST_OF_ANY = Types.parameterized(null, List.class, Types.anyExtends());
+
+    private static final Type LIST_OF_STRING = Types.parameterized(null, List.class, String.class);
+
+    private static final Type LIST_OF_NUMBERS = Types.parameterized(null, List.class, Types.anyExtends(Number.class));
+
+    private static class StringListFixture extends ArrayList<String> {}
+
+    private static class IntegerListFixture extends ArrayList<Integer> {}
+
+    private interface RandomAccessFixture {}
+
+    private static class RandomAccessListFixture extends ArrayList<String> implements RandomAccessFixture {}
+
+    @Nested
+    @DisplayName("register(Type,Object)")
+    class Register {
+        @Test
+        @DisplayName("with a new type")
+        void withNewType() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            //
+            assertThat(table.register(LIST_OF_STRING, "strings")).isNull();
+            assertThat(table.size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("with an already registered type")
+        void withRegisteredType() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            table.register(LIST_OF_STRING, "strings");
+            //
+            assertThat(table.register(Types.parameterized(null, List.class, String.class), "other")).isEqualTo("strings");
+            assertThat(table.size()).isEqualTo(1);
+            assertThat(table.lookup(StringListFixture.class)).isEqualTo("other");
+        }
+
+        @Test
+        @DisplayName("after a lookup")
+        void afterLookup() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            table.register(LIST_OF_ANY, "lists");
+            assertThat(table.lookup(StringListFixture.class)).isEqualTo("lists");
+            //
+            table.register(LIST_OF_STRING, "strings");
+            //
+            assertThat(table.lookup(StringListFixture.class)).isEqualTo("strings");
+        }
+
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            //
+            assertThatThrownBy(() -> table.register(null, "value")).isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> table.register(LIST_OF_STRING, null)).isInstanceOf(NullPointerException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("unregister(Type)")
+    class Unregister {
+        @Test
+        @DisplayName("with a registered type")
+        void withRegisteredType() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            table.register(LIST_OF_ANY, "lists");
+            table.register(LIST_OF_STRING, "strings");
+            assertThat(table.lookup(StringListFixture.class)).isEqualTo("strings");
+            //
+            assertThat(table.unregister(LIST_OF_STRING)).isEqualTo("strings");
+            //
+            assertThat(table.size()).isEqualTo(1);
+            assertThat(table.lookup(StringListFixture.class)).isEqualTo("lists");
+        }
+
+        @Test
+        @DisplayName("with an unregistered type")
+        void withUnregisteredType() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            table.register(LIST_OF_ANY, "lists");
+            //
+            assertThat(table.unregister(LIST_OF_STRING)).isNull();
+            assertThat(table.size()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("lookup(Class)")
+    class LookupClass {
+        @Test
+        @DisplayName("with the most specific match")
+        void withMostSpecificMatch() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            table.register(Object.class, "objects");
+            table.register(LIST_OF_ANY, "lists");
+            table.register(LIST_OF_STRING, "strings");
+            table.register(LIST_OF_NUMBERS, "numbers");
+            //
+            assertThat(table.lookup(StringListFixture.class)).isEqualTo("strings");
+            assertThat(table.lookup(IntegerListFixture.class)).isEqualTo("numbers");
+            assertThat(table.lookup(ArrayList.class)).isEqualTo("lists");
+            assertThat(table.lookup(String.class)).isEqualTo("objects");
+        }
+
+        @Test
+        @DisplayName("with ambiguous matches")
+        void withAmbiguousMatches() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            table.register(Collection.class, "collections");
+            table.register(RandomAccessFixture.class, "random access");
+            //
+            assertThat(table.lookup(RandomAccessListFixture.class)).isEqualTo("collections");
+        }
+
+        @Test
+        @DisplayName("with an earlier match that is less specific than a later one")
+        void withEarlierLessSpecificMatch() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            table.register(Collection.class, "collections");
+            table.register(RandomAccessFixture.class, "random access");
+            table.register(List.class, "lists");
+            //
+            assertThat(table.lookup(RandomAccessListFixture.class)).isEqualTo("random access");
+            assertThat(table.lookup(StringListFixture.class)).isEqualTo("lists");
+        }
+
+        @Test
+        @DisplayName("with repeated changes between lookups")
+        void withRepeatedChanges() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            table.register(Collection.class, "collections");
+            //
+            for (int i = 0; i < 3; i++) {
+                table.register(List.class, "lists");
+                assertThat(table.lookup(StringListFixture.class)).isEqualTo("lists");
+                table.unregister(List.class);
+                assertThat(table.lookup(StringListFixture.class)).isEqualTo("collections");
+            }
+        }
+
+        @Test
+        @DisplayName("without a match")
+        void withoutMatch() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            table.register(LIST_OF_STRING, "strings");
+            //
+            assertThat(table.lookup(IntegerListFixture.class)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("lookup(Type)")
+    class LookupType {
+        @Test
+        @DisplayName("with a parameterized type")
+        void withParameterizedType() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            table.register(LIST_OF_ANY, "lists");
+            table.register(LIST_OF_NUMBERS, "numbers");
+            //
+            assertThat(table.lookup(Types.parameterized(null, ArrayList.class, Integer.class))).isEqualTo("numbers");
+            assertThat(table.lookup(Types.parameterized(null, ArrayList.class, String.class))).isEqualTo("lists");
+        }
+
+        @Test
+        @DisplayName("with a class")
+        void withClass() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            table.register(LIST_OF_NUMBERS, "numbers");
+            //
+            assertThat(table.lookup((Type) IntegerListFixture.class)).isEqualTo("numbers");
+        }
+
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            TypeDispatchTable<String> table = new TypeDispatchTable<>();
+            //
+            assertThatThrownBy(() -> table.lookup((Type) null)).isInstanceOf(NullPointerException.class);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Bryan Harclerode
+ */
+@DisplayName("TypeKey")
+public class TypeKeyTest {
+
+    private static class Fixture {
+        public Map.Entry<String, ? super Integer> entry;
+    }
+
+    private static Type reflectedType() throws NoSuchFieldException {
+        return Fixture.class.getField("entry").getGenericType();
+    }
+
+    @Nested
+    @DisplayName("of(Type)")
+    class Of {
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            assertThatThrownBy(() -> TypeKey.of(null)).isInstanceOf(NullPointerException.class);
+        }
+
+        @Test
+        @DisplayName("with reflected and constructed types")
+        void withReflectedAndConstructedTypes() throws NoSuchFieldException {
+            Type constructed = Types.parameterized(null, Map.Entry.class, String.class, Types.anySuper(Integer.class));
+            //
+            TypeKey reflectedKey = TypeKey.of(reflectedType());
+            TypeKey constructedKey = TypeKey.of(constructed);
+            //
+            assertThat(reflectedKey).isEqualTo(constructedKey).hasSameHashCodeAs(constructedKey);
+            assertThat(constructedKey).isEqualTo(reflectedKey);
+            assertThat(constructedKey.getType()).isSameAs(constructed);
+        }
+
+        @Test
+        @DisplayName("with different types")
+        void withDifferentTypes() throws NoSuchFieldException {
+            Type constructed = Types.parameterized(null, Map.Entry.class, String.class, Types.anySuper(Number.class));
+            //
+            assertThat(TypeKey.of(reflectedType())).isNotEqualTo(TypeKey.of(constructed)).isNotEqualTo(reflectedType());
+        }
+
+        @Test
+        @DisplayName("toString")
+        void testToString() throws NoSuchFieldException {
+            assertThat(TypeKey.of(reflectedType())).hasToString("java.util.Map$Entry<java.lang.String, ? super java.lang.Integer>");
+        }
+    }
+}
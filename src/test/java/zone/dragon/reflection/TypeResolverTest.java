@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Bryan Harclerode
+ */
+@DisplayName("TypeResolver")
+public class TypeResolverTest {
+
+    private static class GenericFixture<K, V extends Number> {
+
+        public static final Type KEY_TYPE;
+
+        public static final Type VALUE_TYPE;
+
+        public static final Type MAP_TYPE;
+
+        public static final Type ARRAY_TYPE;
+
+        static {
+            try {
+                KEY_TYPE = GenericFixture.class.getDeclaredField("key").getGenericType();
+                VALUE_TYPE = GenericFixture.class.getDeclaredField("value").getGenericType();
+                MAP_TYPE = GenericFixture.class.getDeclaredField("map").getGenericType();
+                ARRAY_TYPE = GenericFixture.class.getDeclaredField("array").getGenericType();
+            } catch (NoSuchFieldException e) {
+                throw new RuntimeException("Failed to init test fixture", e);
+            }
+        }
+
+        K key;
+
+        V value;
+
+        Map<K, List<V>> map;
+
+        K[] array;
+    }
+
+    private static class BoundFixture extends GenericFixture<String, Integer> {}
+
+    private static class EnclosingFixture<E> {
+
+        E value;
+
+        class Inner extends EnclosingFixture<E> {}
+    }
+
+    @Nested
+    @DisplayName("reify(Type)")
+    class Reify {
+        @Test
+        @DisplayName("with a bound type variable")
+        void withBoundTypeVariable() {
+            TypeResolver resolver = new TypeResolver(BoundFixture.class);
+            //
+            assertThat(resolver.reify(GenericFixture.KEY_TYPE)).isEqualTo(String.class);
+        }
+
+        @Test
+        @DisplayName("with a nested type")
+        void withNestedType() {
+            TypeResolver resolver = new TypeResolver(BoundFixture.class);
+            //
+            assertThat(resolver.reify(GenericFixture.MAP_TYPE)).isEqualTo(Types.parameterized(
+                null,
+                Map.class,
+                String.class,
+                Types.parameterized(null, List.class, Integer.class)
+            ));
+        }
+
+        @Test
+        @DisplayName("with a null context")
+        void withNullContext() {
+            TypeResolver resolver = new TypeResolver(null);
+            //
+            assertThat(resolver.reify(GenericFixture.VALUE_TYPE)).isEqualTo(Number.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("resolve(Type,Class,int)")
+    class Resolve {
+        @Test
+        @DisplayName("with a bound type")
+        void withBoundType() {
+            TypeResolver resolver = new TypeResolver(BoundFixture.class);
+            //
+            assertThat(resolver.resolve(GenericFixture.MAP_TYPE, Map.class, 1)).isEqualTo(Types.parameterized(
+                null,
+                List.class,
+                Integer.class
+            ));
+        }
+
+        @Test
+        @DisplayName("with null targetClass")
+        void withNullTargetClass() {
+            TypeResolver resolver = new TypeResolver(BoundFixture.class);
+            //
+            assertThatThrownBy(() -> resolver.resolve(GenericFixture.MAP_TYPE, null, 0)).isInstanceOf(NullPointerException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("rawType(Type)")
+    class RawType {
+        @Test
+        @DisplayName("with a bound type variable")
+        void withBoundTypeVariable() {
+            TypeResolver resolver = new TypeResolver(BoundFixture.class);
+            //
+            assertThat(resolver.rawType(GenericFixture.VALUE_TYPE)).isEqualTo(Integer.class);
+        }
+
+        @Test
+        @DisplayName("with a generic array of a bound type variable")
+        void withGenericArray() {
+            TypeResolver resolver = new TypeResolver(BoundFixture.class);
+            //
+            assertThat(resolver.rawType(GenericFixture.ARRAY_TYPE)).isEqualTo(String[].class);
+        }
+
+        @Test
+        @DisplayName("with an unbound type variable")
+        void withUnboundTypeVariable() {
+            TypeResolver resolver = new TypeResolver(String.class);
+            //
+            assertThat(resolver.rawType(GenericFixture.VALUE_TYPE)).isEqualTo(Number.class);
+        }
+
+        @Test
+        @DisplayName("with a parameterized type")
+        void withParameterizedType() {
+            TypeResolver resolver = new TypeResolver(BoundFixture.class);
+            //
+            assertThat(resolver.rawType(GenericFixture.MAP_TYPE)).isEqualTo(Map.class);
+        }
+
+        @Test
+        @DisplayName("with a variable bound to itself by an enclosing class")
+        void withSelfBinding() throws NoSuchFieldException {
+            TypeResolver resolver = new TypeResolver(EnclosingFixture.Inner.class);
+            Type type = EnclosingFixture.class.getDeclaredField("value").getGenericType();
+            //
+            assertThat(resolver.rawType(type)).isEqualTo(Object.class).isEqualTo(Types.erase(resolver.reify(type)));
+            assertThat(resolver.rawType(Types.arrayOf(type))).isEqualTo(Object[].class);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package zone.dragon.reflection;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Bryan Harclerode
+ */
+@DisplayName("TypeSnapshot")
+public class TypeSnapshotTest {
+
+    private static class GenericFixture<K, V> extends ArrayList<Map<K, List<? super V>[]>> {}
+
+    private static class StringFixture extends GenericFixture<String, Integer> implements Comparable<StringFixture> {
+        @Override
+        public int compareTo(StringFixture o) {
+            return 0;
+        }
+    }
+
+    private static class PlainFixture {}
+
+    private static class InstalledFixture extends ArrayList<String> {}
+
+    private Path file;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        file = Files.createTempFile("types", ".snapshot");
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private TypeSnapshot snapshot(Class<?>... classes) throws IOException {
+        TypeSnapshot.write(Arrays.asList(classes), file);
+        return TypeSnapshot.load(file, TypeSnapshotTest.class.getClassLoader());
+    }
+
+    @Nested
+    @DisplayName("write(Collection,Path)")
+    class Write {
+        @Test
+        @DisplayName("with generic classes")
+        void withGenericClasses() throws IOException {
+            assertThat(TypeSnapshot.write(Arrays.asList(StringFixture.class, GenericFixture.class, PlainFixture.class), file)).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("with duplicate and array classes")
+        void withDuplicateClasses() throws IOException {
+            assertThat(TypeSnapshot.write(Arrays.asList(StringFixture.class, StringFixture.class, String[].class, int.class), file))
+                .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("with no classes")
+        void withNoClasses() throws IOException {
+            TypeSnapshot.write(Collections.emptyList(), file);
+            //
+            TypeSnapshot snapshot = TypeSnapshot.load(file, TypeSnapshotTest.class.getClassLoader());
+            assertThat(snapshot.size()).isEqualTo(0);
+            assertThat(snapshot.decode(StringFixture.class)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("load(Path,ClassLoader)")
+    class Load {
+        @Test
+        @DisplayName("with a snapshot file")
+        void withSnapshot() throws IOException {
+            TypeSnapshot snapshot = snapshot(StringFixture.class, GenericFixture.class);
+            //
+            assertThat(snapshot.size()).isEqualTo(2);
+            assertThat(snapshot.getClassLoader()).isSameAs(TypeSnapshotTest.class.getClassLoader());
+        }
+
+        @Test
+        @DisplayName("with a file that isn't a snapshot")
+        void withOtherFile() throws IOException {
+            Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+            //
+            assertThatThrownBy(() -> TypeSnapshot.load(file, TypeSnapshotTest.class.getClassLoader())).isInstanceOf(IOException.class);
+        }
+
+        @Test
+        @DisplayName("with a truncated snapshot")
+        void withTruncatedSnapshot() throws IOException {
+            TypeSnapshot.write(Collections.singletonList(StringFixture.class), file);
+            Files.write(file, Arrays.copyOf(Files.readAllBytes(file), 16));
+            //
+            assertThatThrownBy(() -> TypeSnapshot.load(file, TypeSnapshotTest.class.getClassLoader())).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("decode(Class)")
+    class Decode {
+        @Test
+        @DisplayName("with a class in the snapshot")
+        void withClass() throws IOException {
+            TypeSnapshot snapshot = snapshot(StringFixture.class, GenericFixture.class);
+            //
+            SupertypeIndex index = snapshot.decode(StringFixture.class);
+            assertThat(index).isNotNull();
+            Map<Class<?>, java.lang.reflect.Type[]> expected = SupertypeIndex.build(StringFixture.class).typeArguments();
+            assertThat(index.typeArguments()).containsOnlyKeys(expected.keySet());
+            expected.forEach((supertype, arguments) -> assertThat(index.typeArguments(supertype)).containsExactly(arguments));
+        }
+
+        @Test
+        @DisplayName("with a generic class in the snapshot")
+        void withGenericClass() throws IOException {
+            TypeSnapshot snapshot = snapshot(StringFixture.class, GenericFixture.class);
+            //
+            assertThat(snapshot.decode(GenericFixture.class).typeArguments(ArrayList.class)).containsExactly(
+                SupertypeIndex.build(GenericFixture.class).typeArguments(ArrayList.class));
+        }
+
+        @Test
+        @DisplayName("with a class that has no generic supertypes")
+        void withPlainClass() throws IOException {
+            TypeSnapshot snapshot = snapshot(PlainFixture.class);
+            //
+            assertThat(snapshot.decode(PlainFixture.class).typeArguments()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("with a class that isn't in the snapshot")
+        void withMissingClass() throws IOException {
+            TypeSnapshot snapshot = snapshot(StringFixture.class);
+            //
+            assertThat(snapshot.decode(GenericFixture.class)).isNull();
+        }
+
+        @Test
+        @DisplayName("with a class from another class loader")
+        void withOtherClassLoader() throws IOException {
+            TypeSnapshot.write(Collections.singletonList(StringFixture.class), file);
+            try (URLClassLoader classLoader = new URLClassLoader(new URL[0])) {
+                TypeSnapshot snapshot = TypeSnapshot.load(file, classLoader);
+                //
+                assertThat(snapshot.decode(StringFixture.class)).isNull();
+            }
+        }
+
+        @Test
+        @DisplayName("with a stale entry")
+        void withStaleEntry() throws IOException {
+            TypeSnapshot.write(Collections.singletonList(PlainFixture.class), file);
+            byte[] bytes = Files.readAllBytes(file);
+            // The entry of a class without generic supertypes is its name, fingerprint, and a zero count
+            bytes[bytes.length - 8] ^= 1;
+            Files.write(file, bytes);
+            //
+            assertThat(TypeSnapshot.load(file, TypeSnapshotTest.class.getClassLoader()).decode(PlainFixture.class)).isNull();
+        }
+
+        @Test
+        @DisplayName("with a corrupt snapshot")
+        void withCorruptSnapshot() throws IOException {
+            TypeSnapshot.write(Arrays.asList(StringFixture.class, GenericFixture.class), file);
+            byte[] bytes = Files.readAllBytes(file);
+            int[] values = {-1, 0, 1, 2, 3, 0x3FFFFFFF, Integer.MAX_VALUE, Integer.MIN_VALUE};
+            // Every count, length, offset, and reference after the version is replaced in turn, which must never fail the decoding
+            for (int position = 8; position + 4 <= bytes.length; position += 4) {
+                for (int value : values) {
+                    byte[] corrupt = bytes.clone();
+                    ByteBuffer.wrap(corrupt).putInt(position, value);
+                    Files.write(file, corrupt);
+                    TypeSnapshot snapshot;
+                    try {
+                        snapshot = TypeSnapshot.load(file, TypeSnapshotTest.class.getClassLoader());
+                    } catch (IOException e) {
+                        continue;
+                    }
+                    //
+                    assertThatCode(() -> {
+                        snapshot.decode(StringFixture.class);
+                        snapshot.decode(GenericFixture.class);
+                    }).as("%d at offset %d", value, position).doesNotThrowAnyException();
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("install()")
+    class Install {
+        @Test
+        @DisplayName("with a class in the snapshot")
+        void withClass() throws IOException {
+            TypeSnapshot snapshot = snapshot(InstalledFixture.class);
+            snapshot.install();
+            try {
+                //
+                assertThat(TypeSnapshot.lookup(InstalledFixture.class).typeArguments(ArrayList.class)).containsExactly(String.class);
+                assertThat(Types.resolveTypeVariable(InstalledFixture.class, List.class, 0)).isEqualTo(String.class);
+            } finally {
+                snapshot.uninstall();
+            }
+        }
+
+        @Test
+        @DisplayName("after uninstalling")
+        void afterUninstall() throws IOException {
+            TypeSnapshot snapshot = snapshot(InstalledFixture.class);
+            snapshot.install();
+            snapshot.uninstall();
+            //
+            assertThat(TypeSnapshot.lookup(InstalledFixture.class)).isNull();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Bryan Harclerode
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ * documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ * the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and
+ * to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING
+ * BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+
+package zone.dragon.reflection;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Bryan Harclerode
+ */
+@DisplayName("TypeVisitor")
+public class TypeVisitorTest {
+
+    /**
+     * Counts the types it visits
+     */
+    private static class Counter implements TypeVisitor<Integer> {
+        @Override
+        public Integer visitClass(Class<?> type) {
+            return 1;
+        }
+
+        @Override
+        public Integer visitParameterized(ParameterizedType type, Integer ownerType, Integer rawType, List<Integer> typeArguments) {
+            return 1 + (ownerType != null ? ownerType : 0) + rawType + typeArguments.stream().mapToInt(Integer::intValue).sum();
+        }
+
+        @Override
+        public Integer visitWildcard(WildcardType type, List<Integer> upperBounds, List<Integer> lowerBounds) {
+            return 1 + upperBounds.stream().mapToInt(Integer::intValue).sum() + lowerBounds.stream().mapToInt(Integer::intValue).sum();
+        }
+
+        @Override
+        public Integer visitGenericArray(GenericArrayType type, Integer componentType) {
+            return 1 + componentType;
+        }
+
+        @Override
+        public Integer visitTypeVariable(TypeVariable<?> type) {
+            return 1;
+        }
+    }
+
+    private static class Fixture<T> {}
+
+    @Nested
+    @DisplayName("default methods")
+    class DefaultMethods {
+        @Test
+        @DisplayName("substitute(Type)")
+        void substitute() {
+            assertThat(new Counter().substitute(String.class)).isEqualTo(String.class);
+        }
+
+        @Test
+        @DisplayName("preVisit(Type)")
+        void preVisit() {
+            assertThat(new Counter().preVisit(String.class)).isNull();
+        }
+
+        @Test
+        @DisplayName("visitOther(Type)")
+        void visitOther() {
+            Type type = new Type() {};
+            //
+            assertThatThrownBy(() -> Types.visit(type, new Counter())).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> Types.visit(Types.arrayOf(type), new Counter())).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Types.visit(Type,TypeVisitor)")
+    class Visit {
+        @Test
+        @DisplayName("with each kind of type")
+        void withEachKind() {
+            TypeVariable<?> variable = Fixture.class.getTypeParameters()[0];
+            Type type = Types.arrayOf(Types.parameterized(null, List.class, Types.anySuper(variable)));
+            //
+            int count = Types.visit(type, new Counter());
+            //
+            assertThat(count).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("with a substitution")
+        void withSubstitution() {
+            Counter visitor = new Counter() {
+                @Override
+                public Type substitute(Type type) {
+                    return type instanceof WildcardType ? Types.parameterized(null, List.class, String.class) : type;
+                }
+            };
+            //
+            int count = Types.visit(Types.parameterized(null, List.class, Types.anyExtends(Number.class)), visitor);
+            //
+            assertThat(count).isEqualTo(5);
+        }
+    }
+}
@@ -17,14 +17,32 @@
 
 package zone.dragon.reflection;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -124,6 +142,60 @@ public class TypesTest {
         public GenericTypeFixture<GenericTypeFixture<T>> inheritedNestedBoundType;
     }
 
+    private static class ReifyTypeFixture<T> {
+
+        public static final Type CONCRETE_TYPE;
+
+        public static final Type PARTIALLY_BOUND_TYPE;
+
+        static {
+            try {
+                CONCRETE_TYPE = ReifyTypeFixture.class.getDeclaredField("concrete").getGenericType();
+                PARTIALLY_BOUND_TYPE = ReifyTypeFixture.class.getDeclaredField("partiallyBound").getGenericType();
+            } catch (NoSuchFieldException e) {
+                throw new RuntimeException("Failed to init test fixture", e);
+            }
+        }
+
+        Map<String, List<Integer>> concrete;
+
+        Map<List<String>, T> partiallyBound;
+    }
+
+    private static class IntermediateTypeFixture<X> extends GenericTypeFixture<List<X>> {}
+
+    private static class LeafTypeFixture extends IntermediateTypeFixture<String> {}
+
+    private static class StringListFixture extends ArrayList<String> {}
+
+    private interface DiamondRootFixture<T> {}
+
+    private interface DiamondLeftFixture<L> extends DiamondRootFixture<L> {}
+
+    private interface DiamondRightFixture<R> extends DiamondRootFixture<R> {}
+
+    private static class DiamondFixture implements DiamondLeftFixture<String>, DiamondRightFixture<String> {}
+
+    private static class SelfBoundFixture<T extends Comparable<T>> {
+        public T value;
+    }
+
+    private static class EnclosingFixture<E> {
+        public E value;
+
+        class Inner extends EnclosingFixture<E> {}
+    }
+
+    private static class ParseFixture<T> {
+        public Map<String, List<? extends Number>>[] array;
+
+        public Map.Entry<String, ? super Integer> entry;
+
+        public ParseFixture<String>.Member<int[]> member;
+
+        class Member<M> {}
+    }
+
     @Nested
     @DisplayName("resolveType(Type,Class,int)")
     class ResolveReifiedType {
@@ -163,6 +235,90 @@ public class TypesTest {
 
     }
 
+    @Nested
+    @DisplayName("reifyType(Type,Map)")
+    class ReifyType {
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            assertThat(Types.reifyType(null, new HashMap<>())).isNull();
+        }
+
+        @Test
+        @DisplayName("with a concrete type")
+        void withConcreteType() {
+            Type result = Types.reifyType(ReifyTypeFixture.CONCRETE_TYPE, new HashMap<>());
+            //
+            assertThat(result).isSameAs(ReifyTypeFixture.CONCRETE_TYPE);
+        }
+
+        @Test
+        @DisplayName("with a partially bound type")
+        void withPartiallyBoundType() {
+            Map<TypeVariable<?>, Type> typeVariables = new HashMap<>();
+            typeVariables.put(ReifyTypeFixture.class.getTypeParameters()[0], Integer.class);
+            //
+            Type result = Types.reifyType(ReifyTypeFixture.PARTIALLY_BOUND_TYPE, typeVariables);
+            //
+            assertThat(result).isEqualTo(Types.parameterized(
+                null,
+                Map.class,
+                Types.parameterized(null, List.class, String.class),
+                Integer.class
+            ));
+            Type concreteArgument = ((ParameterizedType) ReifyTypeFixture.PARTIALLY_BOUND_TYPE).getActualTypeArguments()[0];
+            assertThat(((ParameterizedType) result).getActualTypeArguments()[0]).isSameAs(concreteArgument);
+        }
+
+        @Test
+        @DisplayName("with a self-referential bound")
+        void withSelfReferentialBound() throws NoSuchFieldException {
+            Type type = SelfBoundFixture.class.getField("value").getGenericType();
+            //
+            Type result = Types.reifyType(type, new HashMap<>());
+            //
+            assertThat(result).isEqualTo(Types.parameterized(null, Comparable.class, Comparable.class));
+        }
+
+        @Test
+        @DisplayName("with a variable bound to itself by an enclosing class")
+        void withSelfBinding() throws NoSuchFieldException {
+            Type type = EnclosingFixture.class.getField("value").getGenericType();
+            //
+            Type result = Types.reifyType(type, Types.resolveTypeVariables(EnclosingFixture.Inner.class));
+            //
+            assertThat(result).isEqualTo(Object.class);
+        }
+
+        @Test
+        @DisplayName("with resolved type variables")
+        void withResolvedTypeVariables() {
+            Map<TypeVariable<? extends Class<?>>, Type> typeVariables = Types.resolveTypeVariables(BoundTypeFixture.class);
+            //
+            Type first = Types.reifyType(BoundTypeFixture.INHERITED_NESTED_TYPE, typeVariables);
+            Type second = Types.reifyType(BoundTypeFixture.INHERITED_NESTED_TYPE, typeVariables);
+            //
+            assertThat(first).isEqualTo(Types.parameterized(
+                TypesTest.class,
+                GenericTypeFixture.class,
+                Types.parameterized(TypesTest.class, GenericTypeFixture.class, Long.class)
+            ));
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("with a wildcard")
+        void withWildcard() {
+            assertThat(Types.reifyType(RawTypeFixture.UPPER_BOUND_WILDCARD_TYPE, new HashMap<>())).isEqualTo(String.class);
+        }
+
+        @Test
+        @DisplayName("with an unbound type variable")
+        void withUnboundTypeVariable() {
+            assertThat(Types.reifyType(RawTypeFixture.TYPE_VARIABLE, new HashMap<>())).isEqualTo(Number.class);
+        }
+    }
+
     @Nested
     @DisplayName("resolveTypeVariable(Type,Class,int)")
     class ResolveTypeVariable {
@@ -206,6 +362,26 @@ public class TypesTest {
             assertThat(result).isEqualTo(String.class);
         }
 
+        @Test
+        @DisplayName("with a parameterized subtype")
+        void withParameterizedSubtype() {
+            Type result = Types.resolveTypeVariable(Types.parameterized(null, ArrayList.class, String.class), Iterable.class, 0);
+            //
+            assertThat(result).isEqualTo(String.class);
+        }
+
+        @Test
+        @DisplayName("with a parameterized subtype that binds an intermediate supertype")
+        void withParameterizedIntermediateBinding() {
+            Type result = Types.resolveTypeVariable(
+                Types.parameterized(TypesTest.class, IntermediateTypeFixture.class, Integer.class),
+                GenericTypeFixture.class,
+                0
+            );
+            //
+            assertThat(result).isEqualTo(Types.parameterized(null, List.class, Integer.class));
+        }
+
         @Test
         @DisplayName("with a bound subclass")
         void withBoundSubclass() {
@@ -213,6 +389,214 @@ public class TypesTest {
             //
             assertThat(result).isEqualTo(Long.class);
         }
+
+        @Test
+        @DisplayName("with an indirect generic interface")
+        void withIndirectGenericInterface() {
+            Type result = Types.resolveTypeVariable(StringListFixture.class, Iterable.class, 0);
+            //
+            assertThat(result).isEqualTo(String.class);
+        }
+
+        @Test
+        @DisplayName("with a variable bound by an intermediate supertype")
+        void withIntermediateBinding() {
+            Type result = Types.resolveTypeVariable(LeafTypeFixture.class, GenericTypeFixture.class, 0);
+            //
+            assertThat(result).isEqualTo(Types.parameterized(null, List.class, String.class));
+        }
+
+        @Test
+        @DisplayName("with a supertype reachable through several paths")
+        void withDiamondHierarchy() {
+            Type result = Types.resolveTypeVariable(DiamondFixture.class, DiamondRootFixture.class, 0);
+            //
+            assertThat(result).isEqualTo(String.class);
+        }
+
+        @Test
+        @DisplayName("with an unrelated targetType")
+        void withUnrelatedTargetType() {
+            Type result = Types.resolveTypeVariable(StringListFixture.class, Map.class, 0);
+            //
+            assertThat(result).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("resolveTypeArguments(Type,Class)")
+    class ResolveTypeArguments {
+        @Test
+        @DisplayName("with null boundType")
+        void withNullBoundType() {
+            assertThat(Types.resolveTypeArguments(null, Map.class)).isNull();
+        }
+
+        @Test
+        @DisplayName("with null targetType")
+        void withNullTargetType() {
+            assertThatThrownBy(() -> Types.resolveTypeArguments(String.class, null)).isInstanceOf(NullPointerException.class);
+        }
+
+        @Test
+        @DisplayName("with non-generic targetType")
+        void withNonGenericTargetType() {
+            assertThatThrownBy(() -> Types.resolveTypeArguments(String.class, String.class)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("with a parameterized subtype")
+        void withParameterizedSubtype() {
+            Type[] result = Types.resolveTypeArguments(Types.parameterized(null, HashMap.class, String.class, Integer.class), Map.class);
+            //
+            assertThat(result).containsExactly(String.class, Integer.class);
+        }
+
+        @Test
+        @DisplayName("with a bound subclass")
+        void withBoundSubclass() {
+            Type[] result = Types.resolveTypeArguments(LeafTypeFixture.class, GenericTypeFixture.class);
+            //
+            assertThat(result).containsExactly(Types.parameterized(null, List.class, String.class));
+        }
+
+        @Test
+        @DisplayName("with an unrelated targetType")
+        void withUnrelatedTargetType() {
+            assertThat(Types.resolveTypeArguments(StringListFixture.class, Map.class)).isNull();
+        }
+
+        @Test
+        @DisplayName("returns a copy")
+        void returnsCopy() {
+            Types.resolveTypeArguments(StringListFixture.class, List.class)[0] = Integer.class;
+            //
+            assertThat(Types.resolveTypeArguments(StringListFixture.class, List.class)).containsExactly(String.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("resolveReifiedTypeArguments(Type,Type,Class)")
+    class ResolveReifiedTypeArguments {
+        @Test
+        @DisplayName("with a partially bound type")
+        void withPartiallyBoundType() {
+            Type[] result = Types.resolveReifiedTypeArguments(
+                Types.parameterized(TypesTest.class, ReifyTypeFixture.class, Long.class),
+                ReifyTypeFixture.PARTIALLY_BOUND_TYPE,
+                Map.class
+            );
+            //
+            assertThat(result).containsExactly(Types.parameterized(null, List.class, String.class), Long.class);
+        }
+
+        @Test
+        @DisplayName("with an unrelated targetType")
+        void withUnrelatedTargetType() {
+            assertThat(Types.resolveReifiedTypeArguments(BoundTypeFixture.class, BoundTypeFixture.SIMPLE_BOUND_TYPE, Map.class)).isNull();
+        }
+
+        @Test
+        @DisplayName("with null targetType")
+        void withNullTargetType() {
+            assertThatThrownBy(() -> Types.resolveReifiedTypeArguments(BoundTypeFixture.class, BoundTypeFixture.SIMPLE_BOUND_TYPE, null))
+                .isInstanceOf(NullPointerException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("preResolve(Collection,Executor)")
+    class PreResolve {
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            assertThatThrownBy(() -> Types.preResolve(null, Runnable::run)).isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> Types.preResolve(Collections.emptyList(), null)).isInstanceOf(NullPointerException.class);
+        }
+
+        @Test
+        @DisplayName("with bound types")
+        void withBoundTypes() {
+            Type parameterizedType = Types.parameterized(null, ArrayList.class, Integer.class);
+            //
+            Types.preResolve(Arrays.asList(BoundTypeFixture.class, parameterizedType, SelfBoundFixture.class), Runnable::run).join();
+            //
+            TypeVariableMap typeVariables = (TypeVariableMap) Types.resolveTypeVariables(BoundTypeFixture.class);
+            assertThat(typeVariables.getReifiedType(BoundTypeFixture.INHERITED_NESTED_TYPE)).isEqualTo(Types.parameterized(
+                TypesTest.class,
+                GenericTypeFixture.class,
+                Types.parameterized(TypesTest.class, GenericTypeFixture.class, Long.class)
+            ));
+        }
+
+        @Test
+        @DisplayName("on the common pool")
+        void withCommonPool() {
+            assertThat(Types.preResolve(Arrays.asList(StringListFixture.class, LeafTypeFixture.class))).succeedsWithin(Duration.ofMinutes(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("supertypes(Type)")
+    class Supertypes {
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            assertThatThrownBy(() -> Types.supertypes(null)).isInstanceOf(NullPointerException.class);
+        }
+
+        @Test
+        @DisplayName("with a bound subclass")
+        void withBoundSubclass() {
+            List<Type> result = Types.supertypes(LeafTypeFixture.class).collect(Collectors.toList());
+            //
+            assertThat(result).containsExactly(
+                Types.parameterized(TypesTest.class, IntermediateTypeFixture.class, String.class),
+                Types.parameterized(TypesTest.class, GenericTypeFixture.class, Types.parameterized(null, List.class, String.class)),
+                Object.class
+            );
+        }
+
+        @Test
+        @DisplayName("with a parameterized type")
+        void withParameterizedType() {
+            List<Type> result = Types.supertypes(Types.parameterized(null, ArrayList.class, Integer.class)).collect(Collectors.toList());
+            //
+            assertThat(result)
+                .startsWith(Types.parameterized(null, AbstractList.class, Integer.class))
+                .contains(Types.parameterized(null, Collection.class, Integer.class), Object.class)
+                .doesNotHaveDuplicates();
+        }
+
+        @Test
+        @DisplayName("with a supertype reachable through several paths")
+        void withDiamondHierarchy() {
+            List<Type> result = Types.supertypes(DiamondFixture.class).collect(Collectors.toList());
+            //
+            assertThat(result).containsExactly(
+                Object.class,
+                Types.parameterized(TypesTest.class, DiamondLeftFixture.class, String.class),
+                Types.parameterized(TypesTest.class, DiamondRightFixture.class, String.class),
+                Types.parameterized(TypesTest.class, DiamondRootFixture.class, String.class)
+            );
+        }
+
+        @Test
+        @DisplayName("with a short-circuiting search")
+        void withShortCircuit() {
+            Optional<Type> result = Types
+                .supertypes(StringListFixture.class)
+                .filter(supertype -> Types.rawType(supertype) == Collection.class)
+                .findFirst();
+            //
+            assertThat(result).contains(Types.parameterized(null, Collection.class, String.class));
+        }
+
+        @Test
+        @DisplayName("with a type variable")
+        void withTypeVariable() {
+            assertThat(Types.supertypes(RawTypeFixture.TYPE_VARIABLE)).isEmpty();
+        }
     }
 
     @Nested
@@ -252,6 +636,20 @@ public class TypesTest {
             assertThat(typeVariableTypeMap).containsExactly(entry(typeParameter, Integer.class));
         }
 
+        @Test
+        @DisplayName("with ParameterizedType with generic ancestors")
+        void withParameterizedTypeWithGenericAncestors() {
+            Type type = Types.parameterized(null, ArrayList.class, String.class);
+            Map<TypeVariable<? extends Class<?>>, Type> typeVariableTypeMap = Types.resolveTypeVariables(type);
+            //
+            assertThat(typeVariableTypeMap).contains(
+                entry(ArrayList.class.getTypeParameters()[0], String.class),
+                entry(List.class.getTypeParameters()[0], String.class),
+                entry(Collection.class.getTypeParameters()[0], String.class),
+                entry(Iterable.class.getTypeParameters()[0], String.class)
+            );
+        }
+
         @Test
         @DisplayName("with bound supertype")
         void withBoundSupertype() {
@@ -260,6 +658,53 @@ public class TypesTest {
             TypeVariable<Class<GenericTypeFixture>> typeParameter = GenericTypeFixture.class.getTypeParameters()[0];
             assertThat(typeVariableTypeMap).containsExactly(entry(typeParameter, Long.class));
         }
+
+        @Test
+        @DisplayName("with generic ancestors")
+        void withGenericAncestors() {
+            Map<TypeVariable<? extends Class<?>>, Type> typeVariableTypeMap = Types.resolveTypeVariables(StringListFixture.class);
+            //
+            assertThat(typeVariableTypeMap).contains(
+                entry(ArrayList.class.getTypeParameters()[0], String.class),
+                entry(List.class.getTypeParameters()[0], String.class),
+                entry(Collection.class.getTypeParameters()[0], String.class),
+                entry(Iterable.class.getTypeParameters()[0], String.class)
+            );
+        }
+
+        @Test
+        @DisplayName("with the same class twice")
+        void withSameClassTwice() {
+            Map<TypeVariable<? extends Class<?>>, Type> first = Types.resolveTypeVariables(BoundTypeFixture.class);
+            Map<TypeVariable<? extends Class<?>>, Type> second = Types.resolveTypeVariables(BoundTypeFixture.class);
+            //
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("with equal ParameterizedTypes")
+        void withEqualParameterizedTypes() {
+            Map<TypeVariable<? extends Class<?>>, Type> first = Types.resolveTypeVariables(Types.parameterized(
+                null,
+                RawTypeFixture.class,
+                Integer.class
+            ));
+            Map<TypeVariable<? extends Class<?>>, Type> second = Types.resolveTypeVariables(Types.parameterized(
+                null,
+                RawTypeFixture.class,
+                Integer.class
+            ));
+            //
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("returns an immutable map")
+        void returnsImmutableMap() {
+            Map<TypeVariable<? extends Class<?>>, Type> typeVariableTypeMap = Types.resolveTypeVariables(BoundTypeFixture.class);
+            //
+            assertThatThrownBy(typeVariableTypeMap::clear).isInstanceOf(UnsupportedOperationException.class);
+        }
     }
 
     @Nested
@@ -291,6 +736,15 @@ public class TypesTest {
                             .hasFieldOrPropertyWithValue("actualTypeArguments", typeParameters);
         }
 
+        @Test
+        @DisplayName("compared to a reflected type")
+        void comparedToReflectedType() {
+            ParameterizedType type = Types.parameterized(null, List.class, Integer.class);
+            //
+            assertThat(type).isEqualTo(RawTypeFixture.PARAMETERIZED_TYPE).hasSameHashCodeAs(RawTypeFixture.PARAMETERIZED_TYPE);
+            assertThat(RawTypeFixture.PARAMETERIZED_TYPE).isEqualTo(type);
+        }
+
         @Test
         @DisplayName("with null rawType")
         void withNullRawType() {
@@ -310,6 +764,27 @@ public class TypesTest {
             assertThatThrownBy(() -> Types.parameterized(mock(Type.class), mock(Type.class), new Type[1])).isInstanceOf(
                 NullPointerException.class);
         }
+
+        @Test
+        @DisplayName("with typeParameters changed afterwards")
+        void withChangedTypeParameters() {
+            Type[] typeParameters = new Type[]{String.class};
+            ParameterizedType type = Types.parameterized(null, List.class, typeParameters);
+            //
+            typeParameters[0] = Integer.class;
+            //
+            assertThat(type.getActualTypeArguments()).containsExactly(String.class);
+        }
+
+        @Test
+        @DisplayName("returns a copy")
+        void returnsCopy() {
+            ParameterizedType type = Types.parameterized(null, List.class, String.class);
+            //
+            type.getActualTypeArguments()[0] = Integer.class;
+            //
+            assertThat(type.getActualTypeArguments()).containsExactly(String.class);
+        }
     }
 
     @Nested
@@ -450,6 +925,12 @@ public class TypesTest {
             assertThat(Types.arrayOf(String.class)).isEqualTo(String[].class);
         }
 
+        @Test
+        @DisplayName("with array class")
+        void nestedArray() {
+            assertThat(Types.arrayOf(int[][].class)).isSameAs(int[][][].class);
+        }
+
         @Test
         @DisplayName("with other Type")
         void typeArray() {
@@ -482,32 +963,107 @@ public class TypesTest {
     }
 
     @Nested
-    @DisplayName("anySuper(Type...)")
-    class AnySuper {
+    @DisplayName("canonicalize(Type)")
+    class Canonicalize {
         @Test
-        @DisplayName("with null bounds array")
+        @DisplayName("with null")
         void withNull() {
-            assertThatThrownBy(() -> Types.anySuper((Type[]) null)).isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> Types.canonicalize(null)).isInstanceOf(NullPointerException.class);
         }
 
         @Test
-        @DisplayName("with null bound")
-        void withNullBound() {
-            assertThatThrownBy(() -> Types.anySuper((Type) null)).isInstanceOf(NullPointerException.class);
+        @DisplayName("with a class")
+        void withClass() {
+            assertThat(Types.canonicalize(String.class)).isSameAs(String.class);
         }
 
         @Test
-        @DisplayName("with a subtype")
-        void withSubtype() {
-            Type subType = mock(Type.class);
-            when(subType.toString()).thenReturn("Foo");
-            Type[] subTypes = new Type[]{subType};
-            WildcardType wildcardType = Types.anySuper(subTypes);
-            assertThat(wildcardType).isNotNull();
-            assertThat(wildcardType.getUpperBounds()).isNotNull().isEmpty();
-            assertThat(wildcardType.getLowerBounds()).isEqualTo(subTypes);
+        @DisplayName("with a type variable")
+        void withTypeVariable() {
+            assertThat(Types.canonicalize(RawTypeFixture.TYPE_VARIABLE)).isSameAs(RawTypeFixture.TYPE_VARIABLE);
+        }
+
+        @Test
+        @DisplayName("with equal parameterized types")
+        void withEqualParameterizedTypes() {
+            Type first = Types.canonicalize(Types.parameterized(null, List.class, Types.parameterized(null, List.class, String.class)));
+            Type second = Types.canonicalize(Types.parameterized(null, List.class, Types.parameterized(null, List.class, String.class)));
+            //
+            assertThat(second).isSameAs(first);
+            assertThat(((ParameterizedType) second).getActualTypeArguments()[0]).isSameAs(Types.canonicalize(Types.parameterized(
+                null,
+                List.class,
+                String.class
+            )));
+        }
+
+        @Test
+        @DisplayName("with a reflected parameterized type")
+        void withReflectedParameterizedType() {
+            Type result = Types.canonicalize(RawTypeFixture.PARAMETERIZED_TYPE);
+            //
+            assertThat(result).isEqualTo(Types.parameterized(null, List.class, Integer.class));
+            assertThat(Types.canonicalize(RawTypeFixture.PARAMETERIZED_TYPE)).isSameAs(result);
+        }
+
+        @Test
+        @DisplayName("with equal wildcard types")
+        void withEqualWildcardTypes() {
+            Type first = Types.canonicalize(Types.anyExtends(Number.class));
+            Type second = Types.canonicalize(Types.anyExtends(Number.class));
+            //
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("with a reflected generic array type")
+        void withReflectedGenericArrayType() {
+            Type result = Types.canonicalize(RawTypeFixture.GENERIC_ARRAY_TYPE);
+            //
+            assertThat(result).isEqualTo(Types.arrayOf(Types.parameterized(null, List.class, Integer.class)));
+            assertThat(Types.canonicalize(Types.arrayOf(Types.parameterized(null, List.class, Integer.class)))).isSameAs(result);
+        }
+    }
+
+    @Nested
+    @DisplayName("anySuper(Type...)")
+    class AnySuper {
+        @Test
+        @DisplayName("with null bounds array")
+        void withNull() {
+            assertThatThrownBy(() -> Types.anySuper((Type[]) null)).isInstanceOf(NullPointerException.class);
+        }
+
+        @Test
+        @DisplayName("with null bound")
+        void withNullBound() {
+            assertThatThrownBy(() -> Types.anySuper((Type) null)).isInstanceOf(NullPointerException.class);
+        }
+
+        @Test
+        @DisplayName("with a subtype")
+        void withSubtype() {
+            Type subType = mock(Type.class);
+            when(subType.toString()).thenReturn("Foo");
+            Type[] subTypes = new Type[]{subType};
+            WildcardType wildcardType = Types.anySuper(subTypes);
+            assertThat(wildcardType).isNotNull();
+            assertThat(wildcardType.getUpperBounds()).isNotNull().isEmpty();
+            assertThat(wildcardType.getLowerBounds()).isEqualTo(subTypes);
             assertThat(wildcardType).hasToString("? super Foo");
         }
+
+        @Test
+        @DisplayName("returns a copy")
+        void returnsCopy() {
+            Type[] subTypes = new Type[]{Integer.class};
+            WildcardType wildcardType = Types.anySuper(subTypes);
+            //
+            subTypes[0] = Long.class;
+            wildcardType.getLowerBounds()[0] = Long.class;
+            //
+            assertThat(wildcardType.getLowerBounds()).containsExactly(Integer.class);
+        }
     }
 
     @Nested
@@ -537,6 +1093,681 @@ public class TypesTest {
             assertThat(wildcardType.getUpperBounds()).isEqualTo(superTypes);
             assertThat(wildcardType).hasToString("? extends Foo");
         }
+
+        @Test
+        @DisplayName("returns a copy")
+        void returnsCopy() {
+            Type[] superTypes = new Type[]{Number.class};
+            WildcardType wildcardType = Types.anyExtends(superTypes);
+            //
+            superTypes[0] = Integer.class;
+            wildcardType.getUpperBounds()[0] = Integer.class;
+            //
+            assertThat(wildcardType.getUpperBounds()).containsExactly(Number.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("isAssignableFrom(Type,Type)")
+    class IsAssignableFrom {
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            Type type = List.class;
+            assertThatThrownBy(() -> Types.isAssignableFrom(type, null)).isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> Types.isAssignableFrom(null, type)).isInstanceOf(NullPointerException.class);
+        }
+
+        @Test
+        @DisplayName("with classes")
+        void withClasses() {
+            Type type = List.class;
+            assertThat(Types.isAssignableFrom(type, ArrayList.class)).isTrue();
+            assertThat(Types.isAssignableFrom(type, Map.class)).isFalse();
+        }
+
+        @Test
+        @DisplayName("with a parameterized subtype of a class")
+        void withParameterizedSubtypeOfClass() {
+            Type type = Collection.class;
+            assertThat(Types.isAssignableFrom(type, Types.parameterized(null, ArrayList.class, String.class))).isTrue();
+        }
+
+        @Test
+        @DisplayName("with matching type arguments")
+        void withMatchingTypeArguments() {
+            Type superType = Types.parameterized(null, List.class, String.class);
+            //
+            assertThat(Types.isAssignableFrom(superType, Types.parameterized(null, ArrayList.class, String.class))).isTrue();
+            assertThat(Types.isAssignableFrom(superType, StringListFixture.class)).isTrue();
+        }
+
+        @Test
+        @DisplayName("with mismatched type arguments")
+        void withMismatchedTypeArguments() {
+            Type superType = Types.parameterized(null, List.class, CharSequence.class);
+            //
+            assertThat(Types.isAssignableFrom(superType, Types.parameterized(null, ArrayList.class, String.class))).isFalse();
+            assertThat(Types.isAssignableFrom(superType, StringListFixture.class)).isFalse();
+        }
+
+        @Test
+        @DisplayName("with upper bounded wildcard")
+        void withUpperBoundedWildcard() {
+            Type superType = Types.parameterized(null, List.class, Types.anyExtends(CharSequence.class));
+            //
+            assertThat(Types.isAssignableFrom(superType, StringListFixture.class)).isTrue();
+            assertThat(Types.isAssignableFrom(superType, Types.parameterized(null, List.class, Types.anyExtends(String.class)))).isTrue();
+            assertThat(Types.isAssignableFrom(superType, Types.parameterized(null, List.class, Integer.class))).isFalse();
+            assertThat(Types.isAssignableFrom(superType, Types.parameterized(null, List.class, Types.anySuper(String.class)))).isFalse();
+        }
+
+        @Test
+        @DisplayName("with lower bounded wildcard")
+        void withLowerBoundedWildcard() {
+            Type superType = Types.parameterized(null, List.class, Types.anySuper(String.class));
+            //
+            assertThat(Types.isAssignableFrom(superType, Types.parameterized(null, List.class, CharSequence.class))).isTrue();
+            assertThat(Types.isAssignableFrom(superType, Types.parameterized(null, List.class, Types.anySuper(Object.class)))).isTrue();
+            assertThat(Types.isAssignableFrom(superType, Types.parameterized(null, List.class, Integer.class))).isFalse();
+            assertThat(Types.isAssignableFrom(superType, Types.parameterized(null, List.class, Types.anyExtends(String.class)))).isFalse();
+        }
+
+        @Test
+        @DisplayName("with raw subtype")
+        void withRawSubtype() {
+            assertThat(Types.isAssignableFrom(Types.parameterized(null, List.class, String.class), ArrayList.class)).isFalse();
+            assertThat(Types.isAssignableFrom(Types.parameterized(null, List.class, Types.anyExtends()), ArrayList.class)).isTrue();
+        }
+
+        @Test
+        @DisplayName("with type variable")
+        void withTypeVariable() {
+            Type typeVariable = RawTypeFixture.TYPE_VARIABLE;
+            //
+            assertThat(Types.isAssignableFrom((Type) Number.class, typeVariable)).isTrue();
+            assertThat(Types.isAssignableFrom(Types.anyExtends(Number.class), typeVariable)).isTrue();
+            assertThat(Types.isAssignableFrom(typeVariable, typeVariable)).isTrue();
+            assertThat(Types.isAssignableFrom(typeVariable, Integer.class)).isFalse();
+        }
+
+        @Test
+        @DisplayName("with generic arrays")
+        void withGenericArrays() {
+            Type superType = Types.arrayOf(Types.parameterized(null, Collection.class, Types.anyExtends(Number.class)));
+            //
+            assertThat(Types.isAssignableFrom(superType, RawTypeFixture.GENERIC_ARRAY_TYPE)).isTrue();
+            assertThat(Types.isAssignableFrom((Type) Object[].class, RawTypeFixture.GENERIC_ARRAY_TYPE)).isTrue();
+            assertThat(Types.isAssignableFrom((Type) Object.class, RawTypeFixture.GENERIC_ARRAY_TYPE)).isTrue();
+            assertThat(Types.isAssignableFrom(superType, StringListFixture[].class)).isFalse();
+            assertThat(Types.isAssignableFrom(superType, int[].class)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("parse(String,ClassLoader)")
+    class Parse {
+        private Type fieldType(String name) throws NoSuchFieldException {
+            return ParseFixture.class.getField(name).getGenericType();
+        }
+
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            assertThatThrownBy(() -> Types.parse(null)).isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> Types.parse(null, null)).isInstanceOf(NullPointerException.class);
+        }
+
+        @Test
+        @DisplayName("with classes")
+        void withClasses() {
+            assertThat(Types.parse("java.lang.String")).isEqualTo(String.class);
+            assertThat(Types.parse("int[][]")).isEqualTo(int[][].class);
+            assertThat(Types.parse(ParseFixture.class.getName())).isEqualTo(ParseFixture.class);
+        }
+
+        @Test
+        @DisplayName("with the names of reflected types")
+        void withReflectedTypes() throws NoSuchFieldException {
+            for (String name : new String[]{"array", "entry", "member"}) {
+                Type type = fieldType(name);
+                //
+                assertThat(Types.parse(type.getTypeName())).as(name).isEqualTo(type);
+            }
+        }
+
+        @Test
+        @DisplayName("with the names of constructed types")
+        void withConstructedTypes() {
+            Type type = Types.arrayOf(Types.parameterized(null, Map.class, String.class, Types.anyExtends(Number.class)));
+            //
+            assertThat(Types.parse(type.getTypeName())).isEqualTo(type);
+            assertThat(Types.parse("interface java.util.List<class java.lang.String>")).isEqualTo(
+                Types.parameterized(null, List.class, String.class));
+        }
+
+        @Test
+        @DisplayName("with varying whitespace")
+        void withWhitespace() {
+            Type expected = Types.parameterized(null, Map.class, String.class, Types.anyExtends(Number.class));
+            //
+            assertThat(Types.parse("java.util.Map<java.lang.String,? extends java.lang.Number>")).isEqualTo(expected);
+            assertThat(Types.parse(" java.util.Map < java.lang.String ,  ?  extends  java.lang.Number > ")).isEqualTo(expected);
+        }
+
+        @Test
+        @DisplayName("with a wildcard")
+        void withWildcard() {
+            assertThat(Types.parse("?")).isEqualTo(Types.anyExtends(Object.class));
+            assertThat(Types.parse("? extends java.lang.Number & java.lang.Comparable<?>")).isEqualTo(Types.anyExtends(
+                Number.class,
+                Types.parameterized(null, Comparable.class, Types.anyExtends(Object.class))
+            ));
+        }
+
+        @Test
+        @DisplayName("with a repeated name")
+        void withRepeatedName() {
+            String typeName = "java.util.List<java.util.Map<java.lang.String, java.lang.Integer[]>>";
+            //
+            assertThat(Types.parse(typeName, null)).isSameAs(Types.parse(typeName, null));
+        }
+
+        @Test
+        @DisplayName("with a class loader")
+        void withClassLoader() {
+            Type expected = Types.parameterized(null, List.class, String.class);
+            //
+            assertThat(Types.parse("java.util.List<java.lang.String>", null)).isEqualTo(expected);
+            assertThatThrownBy(() -> Types.parse(ParseFixture.class.getName(), null)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("with an unknown class")
+        void withUnknownClass() {
+            assertThatThrownBy(() -> Types.parse("java.util.List<T>"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown class T");
+        }
+
+        @Test
+        @DisplayName("with a malformed name")
+        void withMalformedName() {
+            for (String typeName : new String[]{"", "java.util.List<java.lang.String", "java.lang.String>", "java.lang.String[", "? foo"}) {
+                assertThatThrownBy(() -> Types.parse(typeName)).as(typeName).isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("appendTypeName(Type,Appendable,boolean)")
+    class AppendTypeName {
+        private Type fieldType(String name) throws NoSuchFieldException {
+            return ParseFixture.class.getField(name).getGenericType();
+        }
+
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            assertThatThrownBy(() -> Types.appendTypeName(null, new StringBuilder())).isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> Types.appendTypeName(String.class, null)).isInstanceOf(NullPointerException.class);
+        }
+
+        @Test
+        @DisplayName("with reflected types")
+        void withReflectedTypes() throws NoSuchFieldException {
+            for (String name : new String[]{"array", "entry", "member"}) {
+                Type type = fieldType(name);
+                //
+                assertThat(Types.appendTypeName(type, new StringBuilder())).as(name).hasToString(type.getTypeName());
+                assertThat(Types.canonicalize(type)).as(name).hasToString(type.getTypeName());
+            }
+        }
+
+        @Test
+        @DisplayName("with classes")
+        void withClasses() {
+            assertThat(Types.appendTypeName(int[][].class, new StringBuilder())).hasToString("int[][]");
+            assertThat(Types.appendTypeName(Map.Entry.class, new StringBuilder())).hasToString("java.util.Map$Entry");
+            assertThat(Types.appendTypeName(Map.Entry[].class, new StringBuilder(), true)).hasToString("Entry[]");
+        }
+
+        @Test
+        @DisplayName("with wildcards")
+        void withWildcards() {
+            assertThat(Types.anyExtends()).hasToString("?");
+            assertThat(Types.anyExtends(Object.class)).hasToString("?");
+            assertThat(Types.anyExtends(Number.class, Comparable.class)).hasToString("? extends java.lang.Number & java.lang.Comparable");
+            assertThat(Types.anySuper(Integer.class)).hasToString("? super java.lang.Integer");
+        }
+
+        @Test
+        @DisplayName("with simple names")
+        void withSimpleNames() throws NoSuchFieldException {
+            assertThat(Types.appendTypeName(fieldType("array"), new StringBuilder(), true)).hasToString(
+                "Map<String, List<? extends Number>>[]");
+            assertThat(Types.appendTypeName(fieldType("entry"), new StringBuilder(), true)).hasToString("Entry<String, ? super Integer>");
+            assertThat(Types.appendTypeName(fieldType("member"), new StringBuilder(), true)).hasToString(
+                "ParseFixture<String>.Member<int[]>");
+        }
+
+        @Test
+        @DisplayName("with an existing buffer")
+        void withExistingBuffer() throws IOException {
+            StringWriter out = new StringWriter().append("type=");
+            //
+            assertThat(Types.appendTypeName(Types.parameterized(null, List.class, String.class), out, true)).isSameAs(out);
+            assertThat(out).hasToString("type=List<String>");
+        }
+
+        @Test
+        @DisplayName("with other Type")
+        void withOtherType() {
+            Type type = mock(Type.class);
+            when(type.toString()).thenReturn("Foo");
+            //
+            assertThat(Types.appendTypeName(Types.parameterized(null, List.class, type), new StringBuilder())).hasToString(
+                "java.util.List<Foo>");
+        }
+    }
+
+    @Nested
+    @DisplayName("equals(Type,Type)")
+    class Equals {
+        private Type fieldType(String name) throws NoSuchFieldException {
+            return ParseFixture.class.getField(name).getGenericType();
+        }
+
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            assertThat(Types.equals(null, null)).isTrue();
+            assertThat(Types.equals(String.class, null)).isFalse();
+            assertThat(Types.equals(null, String.class)).isFalse();
+            assertThat(Types.hashCode(null)).isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("with reflected types")
+        void withReflectedTypes() throws NoSuchFieldException {
+            Type array = Types.arrayOf(Types.parameterized(
+                null,
+                Map.class,
+                String.class,
+                Types.parameterized(null, List.class, Types.anyExtends(Number.class))
+            ));
+            //
+            assertThat(Types.equals(array, fieldType("array"))).isTrue();
+            assertThat(Types.equals(fieldType("array"), array)).isTrue();
+            assertThat(Types.hashCode(array)).isEqualTo(Types.hashCode(fieldType("array"))).isEqualTo(fieldType("array").hashCode());
+        }
+
+        @Test
+        @DisplayName("with implied owner and bounds")
+        void withImpliedOwnerAndBounds() throws NoSuchFieldException {
+            Type entry = Types.parameterized(null, Map.Entry.class, String.class, Types.anySuper(Integer.class));
+            //
+            assertThat(fieldType("entry").equals(entry)).isFalse();
+            assertThat(Types.equals(fieldType("entry"), entry)).isTrue();
+            assertThat(Types.equals(entry, fieldType("entry"))).isTrue();
+            assertThat(entry).isNotEqualTo(fieldType("entry")).hasSameHashCodeAs(fieldType("entry"));
+            assertThat(Types.canonicalize(entry)).isSameAs(Types.canonicalize(fieldType("entry"))).isEqualTo(fieldType("entry"));
+            assertThat(fieldType("entry")).isEqualTo(Types.canonicalize(entry));
+        }
+
+        @Test
+        @DisplayName("with equals on the library's types")
+        void withLibraryEquals() throws NoSuchFieldException {
+            Type entry = Types.parameterized(null, Map.Entry.class, String.class, Types.anySuper(Integer.class));
+            Type ownedEntry = Types.parameterized(Map.class, Map.Entry.class, String.class, Types.anySuper(Integer.class));
+            //
+            assertThat(entry.equals(ownedEntry)).isEqualTo(ownedEntry.equals(entry)).isFalse();
+            assertThat(ownedEntry.equals(fieldType("entry"))).isEqualTo(fieldType("entry").equals(ownedEntry));
+            assertThat(Types.anyExtends().equals(Types.anyExtends(Object.class))).isFalse();
+            assertThat(Types.equals(entry, ownedEntry)).isTrue();
+            assertThat(Types.equals(Types.anyExtends(), Types.anyExtends(Object.class))).isTrue();
+            assertThat(TypeKey.of(entry)).isEqualTo(TypeKey.of(ownedEntry));
+        }
+
+        @Test
+        @DisplayName("with different types")
+        void withDifferentTypes() throws NoSuchFieldException {
+            Type entry = Types.parameterized(null, Map.Entry.class, String.class, Types.anyExtends(Integer.class));
+            //
+            assertThat(Types.equals(fieldType("entry"), entry)).isFalse();
+            assertThat(Types.equals(Types.anyExtends(), Types.anySuper(Object.class))).isFalse();
+            assertThat(Types.equals(Types.arrayOf(fieldType("entry")), fieldType("entry"))).isFalse();
+        }
+
+        @Test
+        @DisplayName("with other ParameterizedType")
+        void withOtherParameterizedType() {
+            ParameterizedType type = mock(ParameterizedType.class);
+            when(type.getRawType()).thenReturn(List.class);
+            when(type.getActualTypeArguments()).thenReturn(new Type[]{String.class});
+            Type list = Types.parameterized(null, List.class, String.class);
+            //
+            assertThat(Types.equals(type, list)).isTrue();
+            assertThat(Types.equals(list, type)).isTrue();
+            assertThat(Types.hashCode(type)).isEqualTo(list.hashCode());
+        }
+
+        @Test
+        @DisplayName("with other TypeVariable")
+        @SuppressWarnings("unchecked")
+        void withOtherTypeVariable() {
+            TypeVariable<?> reflected = ParseFixture.class.getTypeParameters()[0];
+            TypeVariable<GenericDeclaration> variable = mock(TypeVariable.class);
+            when(variable.getName()).thenReturn("T");
+            when(variable.getGenericDeclaration()).thenReturn(ParseFixture.class);
+            //
+            assertThat(Types.equals(variable, reflected)).isTrue();
+            assertThat(Types.hashCode(variable)).isEqualTo(reflected.hashCode());
+        }
     }
 
+    @Nested
+    @DisplayName("type implementations")
+    class TypeImplementations {
+        private Type fieldType(String name) throws NoSuchFieldException {
+            return ParseFixture.class.getField(name).getGenericType();
+        }
+
+        @Test
+        @DisplayName("with a parameterized type")
+        void withParameterizedType() throws NoSuchFieldException {
+            Type componentType = ((GenericArrayType) fieldType("array")).getGenericComponentType();
+            Type reflected = ((ParameterizedType) componentType).getActualTypeArguments()[1];
+            Type list = Types.parameterized(null, List.class, Types.anyExtends(Number.class));
+            //
+            assertThat(list).isEqualTo(reflected).hasSameHashCodeAs(reflected).hasToString(reflected.toString());
+            assertThat(reflected).isEqualTo(list);
+        }
+
+        @Test
+        @DisplayName("with a member type")
+        void withMemberType() throws NoSuchFieldException {
+            Type reflected = fieldType("member");
+            Type member = Types.parameterized(
+                Types.parameterized(TypesTest.class, ParseFixture.class, String.class),
+                ParseFixture.Member.class,
+                int[].class
+            );
+            //
+            assertThat(member).isEqualTo(reflected).hasSameHashCodeAs(reflected).hasToString(reflected.toString());
+            assertThat(reflected).isEqualTo(member);
+        }
+
+        @Test
+        @DisplayName("with a generic array type")
+        void withGenericArrayType() throws NoSuchFieldException {
+            Type reflected = fieldType("array");
+            Type array = Types.arrayOf(Types.parameterized(
+                null,
+                Map.class,
+                String.class,
+                Types.parameterized(null, List.class, Types.anyExtends(Number.class))
+            ));
+            //
+            assertThat(array).isEqualTo(reflected).hasSameHashCodeAs(reflected).hasToString(reflected.toString());
+            assertThat(reflected).isEqualTo(array);
+        }
+
+        @Test
+        @DisplayName("with a wildcard type")
+        void withWildcardType() throws NoSuchFieldException {
+            Type reflectedExtends = ((ParameterizedType) Types.parameterized(null, List.class, Types.anyExtends(Number.class)))
+                .getActualTypeArguments()[0];
+            Type reflectedSuper = ((ParameterizedType) fieldType("entry")).getActualTypeArguments()[1];
+            Type anySuper = Types.canonicalize(Types.anySuper(Integer.class));
+            //
+            assertThat(Types.anyExtends(Number.class)).isEqualTo(reflectedExtends).hasSameHashCodeAs(reflectedExtends);
+            assertThat(anySuper).isEqualTo(reflectedSuper).hasSameHashCodeAs(reflectedSuper).hasToString(reflectedSuper.toString());
+            assertThat(reflectedSuper).isEqualTo(anySuper);
+        }
+
+        @Test
+        @DisplayName("with a cached hash code and type name")
+        void withCachedHashCodeAndTypeName() {
+            Type list = Types.parameterized(null, List.class, Types.anyExtends(Number.class));
+            //
+            assertThat(list.hashCode()).isEqualTo(list.hashCode());
+            assertThat(list.toString()).isSameAs(list.toString());
+        }
+
+        @Test
+        @DisplayName("with returned arrays changed by the caller")
+        void withChangedArrays() {
+            ParameterizedType map = Types.parameterized(null, Map.class, String.class, Types.anySuper(Integer.class));
+            WildcardType wildcard = (WildcardType) map.getActualTypeArguments()[1];
+            ParameterizedType expected = Types.parameterized(null, Map.class, String.class, Types.anySuper(Integer.class));
+            int hashCode = map.hashCode();
+            String typeName = map.getTypeName();
+            //
+            map.getActualTypeArguments()[0] = Long.class;
+            wildcard.getLowerBounds()[0] = Long.class;
+            //
+            assertThat(map).isEqualTo(expected).hasSameHashCodeAs(expected);
+            assertThat(map.hashCode()).isEqualTo(hashCode);
+            assertThat(map.getTypeName()).isEqualTo(typeName).isEqualTo("java.util.Map<java.lang.String, ? super java.lang.Integer>");
+            assertThat(wildcard).isEqualTo(Types.anySuper(Integer.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Flight Recorder events")
+    class FlightRecorderEvents {
+        private static final String RESOLUTION = "zone.dragon.reflection.TypeResolution";
+
+        private static final String REIFICATION = "zone.dragon.reflection.TypeReification";
+
+        private List<RecordedEvent> record(Runnable action, String... enabledEvents) throws IOException {
+            Path file = Files.createTempFile("types", ".jfr");
+            try (Recording recording = new Recording()) {
+                for (String enabledEvent : enabledEvents) {
+                    recording.enable(enabledEvent);
+                }
+                recording.start();
+                action.run();
+                recording.stop();
+                recording.dump(file);
+                return RecordingFile.readAllEvents(file).stream().filter(event -> event.getEventType().getName().startsWith(
+                    "zone.dragon.reflection.")).collect(Collectors.toList());
+            } finally {
+                Files.delete(file);
+            }
+        }
+
+        @Test
+        @DisplayName("with events enabled")
+        void withEventsEnabled() throws IOException {
+            class Fixture<T> extends HashMap<String, List<T>> {}
+            class BoundFixture extends Fixture<Integer> {}
+            Type listType = Fixture.class.getGenericSuperclass();
+            //
+            List<RecordedEvent> events = record(() -> Types.reifyType(listType, Types.resolveTypeVariables(BoundFixture.class)),
+                RESOLUTION,
+                REIFICATION
+            );
+            //
+            assertThat(events).extracting(event -> event.getEventType().getName()).containsExactly(RESOLUTION, REIFICATION);
+            assertThat(events.get(0).getString("type")).isEqualTo(BoundFixture.class.getName());
+            assertThat(events.get(0).getInt("supertypes")).isEqualTo(7);
+            assertThat(events.get(0).getInt("bindings")).isEqualTo(7);
+            assertThat(events.get(1).getString("type")).isEqualTo(listType.getTypeName());
+            assertThat(events.get(1).getString("reifiedType")).isEqualTo(
+                "java.util.HashMap<java.lang.String, java.util.List<java.lang.Integer>>");
+        }
+
+        @Test
+        @DisplayName("with events disabled")
+        void withEventsDisabled() throws IOException {
+            class Fixture<T> extends ArrayList<T> {}
+            class BoundFixture extends Fixture<Integer> {}
+            //
+            List<RecordedEvent> events = record(() -> Types.resolveTypeVariables(BoundFixture.class));
+            //
+            assertThat(events).isEmpty();
+        }
+
+        @Test
+        @DisplayName("without a recording")
+        void withoutRecording() {
+            assertThat(TypeEvents.beginResolution()).isNull();
+            assertThat(TypeEvents.beginReification()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("visit(Type,TypeVisitor)")
+    class Visit {
+        /**
+         * Renders types by their simple names, recording the order in which they were visited
+         */
+        private class SimpleNames implements TypeVisitor<String> {
+            private final List<String> visited = new ArrayList<>();
+
+            private String visited(String name) {
+                visited.add(name);
+                return name;
+            }
+
+            @Override
+            public String visitClass(Class<?> type) {
+                return visited(type.getSimpleName());
+            }
+
+            @Override
+            public String visitParameterized(ParameterizedType type, String ownerType, String rawType, List<String> typeArguments) {
+                return visited(rawType + typeArguments.stream().collect(Collectors.joining(",", "<", ">")));
+            }
+
+            @Override
+            public String visitWildcard(WildcardType type, List<String> upperBounds, List<String> lowerBounds) {
+                return visited("? extends " + String.join("&", upperBounds) + " super " + String.join("&", lowerBounds));
+            }
+
+            @Override
+            public String visitGenericArray(GenericArrayType type, String componentType) {
+                return visited(componentType + "[]");
+            }
+
+            @Override
+            public String visitTypeVariable(TypeVariable<?> type) {
+                return visited(type.getName());
+            }
+        }
+
+        @Test
+        @DisplayName("with null")
+        void withNull() {
+            assertThatThrownBy(() -> Types.visit(null, new SimpleNames())).isInstanceOf(NullPointerException.class);
+            assertThatThrownBy(() -> Types.visit(String.class, null)).isInstanceOf(NullPointerException.class);
+        }
+
+        @Test
+        @DisplayName("visits components before the types containing them")
+        void visitsComponentsFirst() throws NoSuchFieldException {
+            SimpleNames visitor = new SimpleNames();
+            //
+            String result = Types.visit(ParseFixture.class.getField("array").getGenericType(), visitor);
+            //
+            assertThat(result).isEqualTo("Map<String,List<? extends Number super >>[]");
+            assertThat(visitor.visited).containsExactly(
+                "Map",
+                "String",
+                "List",
+                "Number",
+                "? extends Number super ",
+                "List<? extends Number super >",
+                "Map<String,List<? extends Number super >>",
+                "Map<String,List<? extends Number super >>[]"
+            );
+        }
+
+        @Test
+        @DisplayName("visits the owner of a member type")
+        void visitsOwner() throws NoSuchFieldException {
+            List<String> owners = new ArrayList<>();
+            SimpleNames visitor = new SimpleNames() {
+                @Override
+                public String visitParameterized(ParameterizedType type, String ownerType, String rawType, List<String> typeArguments) {
+                    owners.add(ownerType);
+                    return super.visitParameterized(type, ownerType, rawType, typeArguments);
+                }
+            };
+            //
+            String result = Types.visit(ParseFixture.class.getField("member").getGenericType(), visitor);
+            //
+            assertThat(result).isEqualTo("Member<int[]>");
+            assertThat(owners).containsExactly("TypesTest", "ParseFixture<String>");
+        }
+
+        @Test
+        @DisplayName("with a substitution that refers back to the variable")
+        void withRecursiveSubstitution() throws NoSuchFieldException {
+            SimpleNames visitor = new SimpleNames() {
+                @Override
+                public Type substitute(Type type) {
+                    return type instanceof TypeVariable ? ((TypeVariable<?>) type).getBounds()[0] : type;
+                }
+            };
+            //
+            String result = Types.visit(SelfBoundFixture.class.getField("value").getGenericType(), visitor);
+            //
+            assertThat(result).isEqualTo("Comparable<T>");
+        }
+
+        @Test
+        @DisplayName("with a result produced before visiting")
+        void withPreVisit() {
+            SimpleNames visitor = new SimpleNames() {
+                @Override
+                public String preVisit(Type type) {
+                    return type instanceof WildcardType ? "?" : null;
+                }
+            };
+            //
+            String result = Types.visit(Types.parameterized(null, Map.class, String.class, Types.anyExtends(Number.class)), visitor);
+            //
+            assertThat(result).isEqualTo("Map<String,?>");
+            assertThat(visitor.visited).doesNotContain("Number");
+        }
+
+        @Test
+        @DisplayName("rawType(Type) with deeply nested wildcards")
+        void rawTypeOfDeepWildcard() {
+            Type type = Integer.class;
+            for (int i = 0; i < 100_000; i++) {
+                type = Types.anyExtends(type);
+            }
+            //
+            Class<?> rawType = Types.rawType(type);
+            //
+            assertThat(rawType).isEqualTo(Integer.class);
+        }
+
+        @Test
+        @DisplayName("reifyType(Type,Map) with deeply nested parameterized types")
+        void reifyTypeOfDeepParameterizedType() {
+            TypeVariable<?> variable = GenericTypeFixture.class.getTypeParameters()[0];
+            Type type = variable;
+            for (int i = 0; i < 100_000; i++) {
+                type = Types.parameterized(null, List.class, type);
+            }
+            Map<TypeVariable<?>, Type> typeVariables = new HashMap<>();
+            typeVariables.put(variable, String.class);
+            //
+            Type reifiedType = Types.reifyType(type, typeVariables);
+            //
+            int depth = 0;
+            while (reifiedType instanceof ParameterizedType) {
+                assertThat(((ParameterizedType) reifiedType).getRawType()).isEqualTo(List.class);
+                reifiedType = ((ParameterizedType) reifiedType).getActualTypeArguments()[0];
+                depth++;
+            }
+            assertThat(depth).isEqualTo(100_000);
+            assertThat(reifiedType).isEqualTo(String.class);
+        }
+    }
 }